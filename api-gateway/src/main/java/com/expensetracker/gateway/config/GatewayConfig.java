@@ -1,75 +1,101 @@
 package com.expensetracker.gateway.config;
 
 import com.expensetracker.gateway.filter.JwtAuthenticationFilter;
+import com.expensetracker.gateway.filter.RateLimitFilter;
+import com.expensetracker.gateway.filter.ResponseCacheFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Routes of the gateway. Upstreams are addressed as {@code lb://<service>} and resolved per request to one of the
+ * service's configured instances by {@link UpstreamLoadBalancerConfiguration}.
+ */
 @Configuration
+@LoadBalancerClients(defaultConfiguration = UpstreamLoadBalancerConfiguration.class)
 public class GatewayConfig {
     
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+    
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
                 // User Service Routes (Public auth endpoints)
                 .route("user-service-auth", r -> r
                         .path("/api/auth/**")
-                        .uri("http://localhost:8081"))
+                        .filters(f -> f.filter(rateLimitFilter.apply(new RateLimitFilter.Config())))
+                        .uri("lb://user-service"))
                 
                 // User Service Routes (Protected)
                 .route("user-service", r -> r
                         .path("/api/users/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://localhost:8081"))
+                        .filters(f -> f
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                // Rate limiting keys on the verified user, so it runs after authentication
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config()), 1))
+                        .uri("lb://user-service"))
                 
                 // Expense Service Routes (All protected)
                 .route("expense-service", r -> r
                         .path("/api/expenses/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://localhost:8082"))
+                        .filters(f -> f
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config()), 1)
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config()), 2))
+                        .uri("lb://expense-service"))
                 
                 // Budget Service Routes (All protected)
                 .route("budget-service", r -> r
                         .path("/api/budgets/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://localhost:8083"))
+                        .filters(f -> f
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config()), 1)
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config()), 2))
+                        .uri("lb://budget-service"))
                 
                 // Currency Service Routes (Protected)
                 .route("currency-service", r -> r
                         .path("/api/currency/**")
-                        .filters(f -> f.filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config())))
-                        .uri("http://localhost:3000"))
+                        .filters(f -> f
+                                .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitFilter.apply(new RateLimitFilter.Config()), 1))
+                        .uri("lb://currency-service"))
                 
                 // Swagger Documentation Routes (Public)
                 .route("user-service-docs", r -> r
                         .path("/user-service/v3/api-docs/**")
                         .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8081"))
+                        .uri("lb://user-service"))
                 
                 .route("expense-service-docs", r -> r
                         .path("/expense-service/v3/api-docs/**")
                         .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8082"))
+                        .uri("lb://expense-service"))
                 
                 .route("budget-service-docs", r -> r
                         .path("/budget-service/v3/api-docs/**")
                         .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:8083"))
+                        .uri("lb://budget-service"))
                 
                 .route("currency-service-docs", r -> r
                         .path("/currency-service/api-docs/**")
                         .filters(f -> f.stripPrefix(1))
-                        .uri("http://localhost:3000"))
+                        .uri("lb://currency-service"))
                 
                 // Health Check Routes (Public)
                 .route("health-checks", r -> r
                         .path("/health/**", "/actuator/health/**")
-                        .uri("http://localhost:8081"))
+                        .uri("lb://user-service"))
                 
                 .build();
     }
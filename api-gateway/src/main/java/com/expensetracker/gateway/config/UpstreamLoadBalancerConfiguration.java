@@ -0,0 +1,57 @@
+package com.expensetracker.gateway.config;
+
+import com.expensetracker.gateway.loadbalancer.LeastOutstandingRequestsLoadBalancer;
+import com.expensetracker.gateway.loadbalancer.OutstandingRequestsFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer of each upstream service, instantiated in that service's own load balancer context
+ * (see {@link GatewayConfig}); deliberately not a {@code @Configuration} so component scanning does not
+ * register these beans globally.
+ *
+ * <p>Instances are the ones listed under {@code spring.cloud.discovery.client.simple.instances.<service>}, minus
+ * those failing the active health check. The strategy is {@code gateway.upstreams.<service>.load-balancer}, falling
+ * back to {@code gateway.upstreams.default.load-balancer}: {@code round-robin} or {@code least-outstanding}.
+ */
+public class UpstreamLoadBalancerConfiguration {
+    
+    static final String ROUND_ROBIN = "round-robin";
+    static final String LEAST_OUTSTANDING = "least-outstanding";
+    
+    @Bean
+    public ServiceInstanceListSupplier healthCheckedInstanceSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withHealthChecks()
+                .build(context);
+    }
+    
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> upstreamLoadBalancer(Environment environment,
+                                                                     LoadBalancerClientFactory clientFactory,
+                                                                     OutstandingRequestsFilter outstandingRequests) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> instances =
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        String strategy = environment.getProperty("gateway.upstreams." + serviceId + ".load-balancer",
+                environment.getProperty("gateway.upstreams.default.load-balancer", ROUND_ROBIN));
+        
+        switch (strategy) {
+            case ROUND_ROBIN:
+                return new RoundRobinLoadBalancer(instances, serviceId);
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingRequestsLoadBalancer(instances, serviceId, outstandingRequests);
+            default:
+                throw new IllegalArgumentException("Unknown load balancer '" + strategy + "' for " + serviceId
+                        + "; expected " + ROUND_ROBIN + " or " + LEAST_OUTSTANDING);
+        }
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.expensetracker.gateway.filter;
 
-import com.expensetracker.gateway.util.JwtUtils;
+import com.expensetracker.gateway.util.VerifiedToken;
+import com.expensetracker.gateway.util.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -16,8 +17,13 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
     
+    /**
+     * Exchange attribute holding the {@link VerifiedToken} of an authenticated request, for later filters.
+     */
+    public static final String VERIFIED_TOKEN_ATTR = JwtAuthenticationFilter.class.getName() + ".verifiedToken";
+    
     @Autowired
-    private JwtUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokenCache;
     
     public JwtAuthenticationFilter() {
         super(Config.class);
@@ -34,22 +40,30 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             }
             
             String token = extractToken(request);
+            VerifiedToken verifiedToken = token != null ? verifiedTokenCache.verify(token) : null;
             
-            if (token == null || !jwtUtils.validateJwtToken(token)) {
+            if (verifiedToken == null) {
                 ServerHttpResponse response = exchange.getResponse();
                 response.setStatusCode(HttpStatus.UNAUTHORIZED);
                 return response.setComplete();
             }
             
-            // Add user information to headers for downstream services
-            String username = jwtUtils.getUserNameFromJwtToken(token);
+            // Add user information to headers for downstream services, replacing any client-supplied values
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Name", username)
+                    .headers(headers -> {
+                        headers.set("X-User-Name", verifiedToken.getUsername());
+                        if (verifiedToken.getUserId() != null) {
+                            headers.set("X-User-Id", String.valueOf(verifiedToken.getUserId()));
+                        } else {
+                            headers.remove("X-User-Id");
+                        }
+                    })
                     .build();
             
             ServerWebExchange modifiedExchange = exchange.mutate()
                     .request(modifiedRequest)
                     .build();
+            modifiedExchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verifiedToken);
             
             return chain.filter(modifiedExchange);
         };
@@ -0,0 +1,142 @@
+package com.expensetracker.gateway.filter;
+
+import com.expensetracker.gateway.ratelimit.RateLimit;
+import com.expensetracker.gateway.ratelimit.RateLimitDecision;
+import com.expensetracker.gateway.ratelimit.RateLimitStore;
+import com.expensetracker.gateway.util.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token bucket rate limiting per user and route. Every request takes a token from its caller's bucket for the
+ * route and, when the route has one configured, from the route-wide bucket shared by all callers. Requests over
+ * either limit get 429 with Retry-After without reaching the upstream; a request the route-wide bucket rejects
+ * gets its caller's token back.
+ *
+ * <p>Callers are identified by the user of the token checked by {@link JwtAuthenticationFilter}, so it must run
+ * first; requests on public routes are limited per client address. Limits come from
+ * {@code gateway.rate-limit.routes.<route>.user|route.*}, falling back to {@code gateway.rate-limit.user|route.*};
+ * the route-wide limit is off unless configured.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+    
+    @Autowired
+    private RateLimitStore rateLimitStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${gateway.rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    private final ConcurrentMap<String, RouteLimits> routeLimits = new ConcurrentHashMap<>();
+    
+    public RateLimitFilter() {
+        super(Config.class);
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!enabled) {
+                return chain.filter(exchange);
+            }
+            
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            RouteLimits limits = routeLimits.computeIfAbsent(routeId, this::resolveLimits);
+            long now = System.currentTimeMillis();
+            
+            String limitedBy = "user";
+            String userKey = "user:" + routeId + ":" + callerKey(exchange);
+            RateLimitDecision decision = rateLimitStore.tryConsume(userKey, limits.user, now);
+            if (decision.isAllowed() && limits.route != null) {
+                RateLimitDecision routeDecision = rateLimitStore.tryConsume("route:" + routeId, limits.route, now);
+                if (!routeDecision.isAllowed()) {
+                    // The request never reaches the upstream, so it must not count against the caller
+                    rateLimitStore.refund(userKey, limits.user, now);
+                    decision = routeDecision;
+                    limitedBy = "route";
+                }
+            }
+            
+            if (!decision.isAllowed()) {
+                meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "outcome", "rejected", "limit", limitedBy).increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+                return response.setComplete();
+            }
+            
+            meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "outcome", "allowed", "limit", "none").increment();
+            exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+            return chain.filter(exchange);
+        };
+    }
+    
+    private String callerKey(ServerWebExchange exchange) {
+        VerifiedToken verifiedToken = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+        if (verifiedToken != null) {
+            return verifiedToken.getUserId() != null
+                    ? "id:" + verifiedToken.getUserId()
+                    : "name:" + verifiedToken.getUsername();
+        }
+        
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remoteAddress != null ? remoteAddress.getHostString() : "unknown");
+    }
+    
+    private RouteLimits resolveLimits(String routeId) {
+        return new RouteLimits(limit(routeId, "user", 20, 40), limit(routeId, "route", 0, 0));
+    }
+    
+    /**
+     * Limit of the route for the scope, or null when its replenish rate is not positive.
+     */
+    private RateLimit limit(String routeId, String scope, double defaultRate, long defaultCapacity) {
+        String routePrefix = "gateway.rate-limit.routes." + routeId + "." + scope + ".";
+        String defaultPrefix = "gateway.rate-limit." + scope + ".";
+        double rate = environment.getProperty(routePrefix + "replenish-rate", Double.class,
+                environment.getProperty(defaultPrefix + "replenish-rate", Double.class, defaultRate));
+        long capacity = environment.getProperty(routePrefix + "burst-capacity", Long.class,
+                environment.getProperty(defaultPrefix + "burst-capacity", Long.class, defaultCapacity));
+        return rate > 0 ? new RateLimit(rate, capacity) : null;
+    }
+    
+    private static class RouteLimits {
+        
+        private final RateLimit user;
+        private final RateLimit route;
+        
+        RouteLimits(RateLimit user, RateLimit route) {
+            if (user == null) {
+                throw new IllegalArgumentException("Per-user rate limits need a positive replenish rate");
+            }
+            this.user = user;
+            this.route = route;
+        }
+    }
+    
+    public static class Config {
+        // Limits are read from gateway.rate-limit.* per route
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.expensetracker.gateway.filter;
+
+import com.expensetracker.gateway.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of GET responses from the dashboard endpoints, keyed by user, path and query.
+ * A hit is answered at the gateway: 304 with no body when If-None-Match carries the cached ETag, otherwise the
+ * cached body. Only 200 responses are stored.
+ *
+ * <p>Any other request by the user on a cached route (a create, update or delete) moves all of the user's entries,
+ * on every route, to a new cache generation, both before the request is forwarded and again just before its
+ * response is committed. A response loaded before the write is therefore only ever stored under a generation the
+ * user has left by the time they see the write's response, so this gateway instance never serves the user data
+ * older than their own write; changes made through other gateway instances show up within the TTL. Generation
+ * tokens are drawn from one counter and never repeat, so a user whose generation was evicted starts on a fresh one
+ * instead of reviving older entries. Needs {@link JwtAuthenticationFilter} to run first, and passes requests
+ * through without a verified user.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    
+    private static final Set<HttpMethod> MUTATING_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${gateway.response-cache.ttl-seconds:10}")
+    private long ttlSeconds;
+    
+    @Value("${gateway.response-cache.max-entries:10000}")
+    private long maxEntries;
+    
+    @Value("${gateway.response-cache.paths:/api/expenses/summary,/api/budgets/summary,/api/budgets/year/*}")
+    private String[] paths;
+    
+    private Cache<String, CachedResponse> responses;
+    
+    private Cache<String, Long> generations;
+    
+    private final AtomicLong nextGeneration = new AtomicLong();
+    
+    public ResponseCacheFilter() {
+        super(Config.class);
+    }
+    
+    @PostConstruct
+    void createCaches() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        // Tokens never repeat, so an evicted generation only orphans the user's entries until they expire
+        generations = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds * 2))
+                .build();
+    }
+    
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            VerifiedToken verifiedToken = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTR);
+            if (!enabled || verifiedToken == null) {
+                return chain.filter(exchange);
+            }
+            
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            // Per user, not per route: an expense write changes the budget summaries too
+            String userKey = verifiedToken.getUserId() != null
+                    ? "id:" + verifiedToken.getUserId()
+                    : "name:" + verifiedToken.getUsername();
+            
+            if (MUTATING_METHODS.contains(request.getMethod())) {
+                advanceGeneration(userKey);
+                exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> advanceGeneration(userKey)));
+                return chain.filter(exchange);
+            }
+            if (request.getMethod() != HttpMethod.GET || !isCacheable(request.getPath().value())) {
+                return chain.filter(exchange);
+            }
+            
+            String key = userKey + "|" + generation(userKey) + "|" + request.getURI().getRawPath()
+                    + "?" + Objects.toString(request.getURI().getRawQuery(), "");
+            CachedResponse cached = responses.getIfPresent(key);
+            if (cached != null) {
+                meterRegistry.counter("gateway.response-cache.requests", "route", routeId, "result", "hit").increment();
+                return writeCached(exchange, cached);
+            }
+            
+            meterRegistry.counter("gateway.response-cache.requests", "route", routeId, "result", "miss").increment();
+            ServerHttpResponse capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (!HttpStatus.OK.equals(getStatusCode())) {
+                        return super.writeWith(body);
+                    }
+                    return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        responses.put(key, new CachedResponse(getHeaders(), bytes));
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+            return chain.filter(exchange.mutate().response(capturing).build());
+        };
+    }
+    
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        if (cached.contentType != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType);
+        }
+        if (cached.cacheControl != null) {
+            headers.set(HttpHeaders.CACHE_CONTROL, cached.cacheControl);
+        }
+        if (cached.etag != null) {
+            headers.set(HttpHeaders.ETAG, cached.etag);
+            if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                return response.setComplete();
+            }
+        }
+        
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body)));
+    }
+    
+    private boolean isCacheable(String path) {
+        for (String pattern : paths) {
+            if (PATH_MATCHER.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private long generation(String userKey) {
+        return generations.get(userKey, k -> nextGeneration.incrementAndGet());
+    }
+    
+    private void advanceGeneration(String userKey) {
+        generations.put(userKey, nextGeneration.incrementAndGet());
+    }
+    
+    private static class CachedResponse {
+        
+        private final String contentType;
+        private final String cacheControl;
+        private final String etag;
+        private final byte[] body;
+        
+        CachedResponse(HttpHeaders headers, byte[] body) {
+            this.contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+            this.cacheControl = headers.getFirst(HttpHeaders.CACHE_CONTROL);
+            this.etag = headers.getETag();
+            this.body = body;
+        }
+    }
+    
+    public static class Config {
+        // Cached paths and the TTL are read from gateway.response-cache.*
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.expensetracker.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the healthy instance with the fewest requests in flight through this gateway, so a slow instance
+ * receives less traffic than round-robin would send it. Ties are broken by rotating the starting position,
+ * which spreads requests evenly while the instances are idle.
+ */
+public class LeastOutstandingRequestsLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    
+    private final ObjectProvider<ServiceInstanceListSupplier> instanceSupplierProvider;
+    private final String serviceId;
+    private final OutstandingRequestsFilter outstandingRequests;
+    private final AtomicInteger position = new AtomicInteger();
+    
+    public LeastOutstandingRequestsLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> instanceSupplierProvider,
+                                                String serviceId, OutstandingRequestsFilter outstandingRequests) {
+        this.instanceSupplierProvider = instanceSupplierProvider;
+        this.serviceId = serviceId;
+        this.outstandingRequests = outstandingRequests;
+    }
+    
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = instanceSupplierProvider.getIfAvailable();
+        if (supplier == null) {
+            return Mono.just(new EmptyResponse());
+        }
+        
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback && response.hasServer()) {
+                ((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+    
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            System.err.println("No healthy instances available for " + serviceId);
+            return new EmptyResponse();
+        }
+        
+        int start = (position.getAndIncrement() & Integer.MAX_VALUE) % instances.size();
+        ServiceInstance chosen = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < instances.size(); i++) {
+            ServiceInstance instance = instances.get((start + i) % instances.size());
+            int outstanding = outstandingRequests.outstanding(instance);
+            if (outstanding < fewest) {
+                chosen = instance;
+                fewest = outstanding;
+            }
+        }
+        return new DefaultResponse(chosen);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.expensetracker.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests in flight to each upstream instance, for {@link LeastOutstandingRequestsLoadBalancer}.
+ * Runs right after the load balancer has picked the instance and releases the count when the exchange
+ * completes, fails or is cancelled by the client.
+ */
+@Component
+public class OutstandingRequestsFilter implements GlobalFilter, Ordered {
+    
+    private final ConcurrentMap<String, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+        
+        AtomicInteger counter = outstanding.computeIfAbsent(key(lbResponse.getServer()), k -> new AtomicInteger());
+        counter.incrementAndGet();
+        return chain.filter(exchange).doFinally(signal -> counter.decrementAndGet());
+    }
+    
+    /**
+     * Requests currently in flight to the instance.
+     */
+    public int outstanding(ServiceInstance instance) {
+        AtomicInteger counter = outstanding.get(key(instance));
+        return counter == null ? 0 : counter.get();
+    }
+    
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+    
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+}
\ No newline at end of file
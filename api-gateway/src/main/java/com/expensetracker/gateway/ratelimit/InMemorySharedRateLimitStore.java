@@ -0,0 +1,63 @@
+package com.expensetracker.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process stand-in for a store shared by all gateway instances, such as Redis, used by tests and
+ * single-instance runs. Bucket states are plain values swapped with a conditional replace, the way a networked
+ * store would apply them with an atomic script, and are kept in wall-clock time so every instance reads the same
+ * refill.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "shared")
+public class InMemorySharedRateLimitStore implements RateLimitStore {
+    
+    @Value("${gateway.rate-limit.max-keys:100000}")
+    private long maxKeys;
+    
+    @Value("${gateway.rate-limit.idle-expiry-seconds:600}")
+    private long idleExpirySeconds;
+    
+    private ConcurrentMap<String, TokenBucketState> states;
+    
+    @PostConstruct
+    void createStates() {
+        states = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                .<String, TokenBucketState>build()
+                .asMap();
+    }
+    
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimit limit, long nowMillis) {
+        while (true) {
+            TokenBucketState current = states.get(key);
+            TokenBucketState refilled = current == null
+                    ? TokenBucketState.full(limit, nowMillis)
+                    : current.refill(limit, nowMillis);
+            if (!refilled.hasToken()) {
+                return RateLimitDecision.rejected(refilled.secondsUntilToken(limit));
+            }
+            TokenBucketState next = refilled.take();
+            boolean written = current == null
+                    ? states.putIfAbsent(key, next) == null
+                    : states.replace(key, current, next);
+            if (written) {
+                return RateLimitDecision.allowed(next.remaining());
+            }
+        }
+    }
+    
+    @Override
+    public void refund(String key, RateLimit limit, long nowMillis) {
+        states.computeIfPresent(key, (k, current) -> current.refill(limit, nowMillis).giveBack(limit));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.expensetracker.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets held in this gateway instance. Each bucket is an {@link AtomicReference} updated with
+ * compare-and-set, so concurrent requests for the same user never block each other. With several gateway
+ * instances every instance enforces the full limit on its own share of traffic.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+    
+    @Value("${gateway.rate-limit.max-keys:100000}")
+    private long maxKeys;
+    
+    @Value("${gateway.rate-limit.idle-expiry-seconds:600}")
+    private long idleExpirySeconds;
+    
+    private Cache<String, AtomicReference<TokenBucketState>> buckets;
+    
+    @PostConstruct
+    void createBuckets() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                .build();
+    }
+    
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimit limit, long nowMillis) {
+        AtomicReference<TokenBucketState> bucket =
+                buckets.get(key, k -> new AtomicReference<>(TokenBucketState.full(limit, nowMillis)));
+        while (true) {
+            TokenBucketState current = bucket.get();
+            TokenBucketState refilled = current.refill(limit, nowMillis);
+            if (!refilled.hasToken()) {
+                return RateLimitDecision.rejected(refilled.secondsUntilToken(limit));
+            }
+            TokenBucketState next = refilled.take();
+            if (bucket.compareAndSet(current, next)) {
+                return RateLimitDecision.allowed(next.remaining());
+            }
+        }
+    }
+    
+    @Override
+    public void refund(String key, RateLimit limit, long nowMillis) {
+        AtomicReference<TokenBucketState> bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.updateAndGet(current -> current.refill(limit, nowMillis).giveBack(limit));
+        }
+    }
+}
\ No newline at end of file
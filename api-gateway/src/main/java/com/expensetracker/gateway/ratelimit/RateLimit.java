@@ -0,0 +1,22 @@
+package com.expensetracker.gateway.ratelimit;
+
+/**
+ * Token bucket limit: tokens added per second and the most a bucket can hold, which is the largest burst allowed.
+ */
+public class RateLimit {
+    
+    private final double replenishRate;
+    private final long burstCapacity;
+    
+    public RateLimit(double replenishRate, long burstCapacity) {
+        if (replenishRate <= 0 || burstCapacity < 1) {
+            throw new IllegalArgumentException("Rate limits need a positive replenish rate and a burst capacity of at least 1");
+        }
+        this.replenishRate = replenishRate;
+        this.burstCapacity = burstCapacity;
+    }
+    
+    public double getReplenishRate() { return replenishRate; }
+    
+    public long getBurstCapacity() { return burstCapacity; }
+}
\ No newline at end of file
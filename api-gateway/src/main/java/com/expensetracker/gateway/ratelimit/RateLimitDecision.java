@@ -0,0 +1,32 @@
+package com.expensetracker.gateway.ratelimit;
+
+/**
+ * Outcome of taking a token: whether the request may proceed, the whole tokens left when it may,
+ * and the seconds to wait when it may not.
+ */
+public class RateLimitDecision {
+    
+    private final boolean allowed;
+    private final long remaining;
+    private final long retryAfterSeconds;
+    
+    private RateLimitDecision(boolean allowed, long remaining, long retryAfterSeconds) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+    
+    public static RateLimitDecision rejected(long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, retryAfterSeconds);
+    }
+    
+    public boolean isAllowed() { return allowed; }
+    
+    public long getRemaining() { return remaining; }
+    
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
\ No newline at end of file
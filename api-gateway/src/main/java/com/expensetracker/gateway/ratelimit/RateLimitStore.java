@@ -0,0 +1,19 @@
+package com.expensetracker.gateway.ratelimit;
+
+/**
+ * Holds the token buckets of the rate limiter, selected with {@code gateway.rate-limit.store}.
+ */
+public interface RateLimitStore {
+    
+    /**
+     * Take one token from the bucket under the key, creating it full on first use.
+     * Buckets left idle for long enough may be dropped; they come back full, which is what they would have refilled to.
+     */
+    RateLimitDecision tryConsume(String key, RateLimit limit, long nowMillis);
+    
+    /**
+     * Give back a token taken by {@link #tryConsume} for a request that was rejected by another limit.
+     * A bucket that was dropped meanwhile is left alone, since it comes back full.
+     */
+    void refund(String key, RateLimit limit, long nowMillis);
+}
\ No newline at end of file
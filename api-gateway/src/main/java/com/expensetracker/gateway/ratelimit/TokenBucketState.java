@@ -0,0 +1,57 @@
+package com.expensetracker.gateway.ratelimit;
+
+/**
+ * Immutable state of one token bucket. Tokens are refilled lazily from the elapsed time when the bucket is next
+ * used, so idle buckets cost nothing; stores swap whole states with compare-and-set.
+ */
+public final class TokenBucketState {
+    
+    private final double tokens;
+    private final long updatedAtMillis;
+    
+    private TokenBucketState(double tokens, long updatedAtMillis) {
+        this.tokens = tokens;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+    
+    public static TokenBucketState full(RateLimit limit, long nowMillis) {
+        return new TokenBucketState(limit.getBurstCapacity(), nowMillis);
+    }
+    
+    /**
+     * State at the given time, with the tokens earned since the last update added up to the burst capacity.
+     * A clock that stepped backwards earns nothing.
+     */
+    public TokenBucketState refill(RateLimit limit, long nowMillis) {
+        long elapsedMillis = Math.max(0, nowMillis - updatedAtMillis);
+        double refilled = Math.min(limit.getBurstCapacity(), tokens + elapsedMillis * limit.getReplenishRate() / 1000.0);
+        return new TokenBucketState(refilled, Math.max(nowMillis, updatedAtMillis));
+    }
+    
+    public boolean hasToken() {
+        return tokens >= 1;
+    }
+    
+    public TokenBucketState take() {
+        return new TokenBucketState(tokens - 1, updatedAtMillis);
+    }
+    
+    /**
+     * State with one token given back, up to the burst capacity
+     */
+    public TokenBucketState giveBack(RateLimit limit) {
+        return new TokenBucketState(Math.min(limit.getBurstCapacity(), tokens + 1), updatedAtMillis);
+    }
+    
+    public long remaining() {
+        return (long) Math.floor(tokens);
+    }
+    
+    /**
+     * Whole seconds until the next token is available, for the Retry-After header; at least 1.
+     */
+    public long secondsUntilToken(RateLimit limit) {
+        double missing = Math.max(0, 1 - tokens);
+        return Math.max(1, (long) Math.ceil(missing / limit.getReplenishRate()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.expensetracker.gateway.util;
+
+/**
+ * Identity read from a token whose signature and expiry have been checked.
+ */
+public class VerifiedToken {
+    
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final long expiresAtMillis;
+    
+    public VerifiedToken(Long userId, String username, String role, long expiresAtMillis) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+    
+    public Long getUserId() { return userId; }
+    
+    public String getUsername() { return username; }
+    
+    public String getRole() { return role; }
+    
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+}
\ No newline at end of file
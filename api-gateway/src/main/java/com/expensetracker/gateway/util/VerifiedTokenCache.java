@@ -0,0 +1,83 @@
+package com.expensetracker.gateway.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified tokens, so repeat requests with the same bearer token skip HMAC verification.
+ * Entries are keyed by the SHA-256 of the token (raw tokens are never held) and expire at the token's exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    private final Cache<String, VerifiedToken> cache;
+    
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMillis = token.getExpiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
+    /**
+     * Return the verified identity of the token, parsing it only on a cache miss.
+     * Returns null when the token is invalid or expired; invalid tokens are not cached.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null) {
+            return verified;
+        }
+        
+        verified = jwtUtils.parseToken(token);
+        if (verified != null && verified.getExpiresAtMillis() != Long.MAX_VALUE) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+    
+    public long size() {
+        return cache.estimatedSize();
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.expensetracker.gateway.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeastOutstandingRequestsLoadBalancerTest {
+    
+    @Mock
+    private ObjectProvider<ServiceInstanceListSupplier> instanceSupplierProvider;
+    
+    @Mock
+    private OutstandingRequestsFilter outstandingRequests;
+    
+    private LeastOutstandingRequestsLoadBalancer loadBalancer;
+    
+    private final ServiceInstance first = new DefaultServiceInstance("expense-1", "expense-service", "host-1", 8082, false);
+    private final ServiceInstance second = new DefaultServiceInstance("expense-2", "expense-service", "host-2", 8082, false);
+    
+    @BeforeEach
+    void setUp() {
+        loadBalancer = new LeastOutstandingRequestsLoadBalancer(instanceSupplierProvider, "expense-service", outstandingRequests);
+    }
+    
+    @Test
+    void choose_ShouldPickInstanceWithFewestOutstandingRequests() {
+        // Given
+        when(outstandingRequests.outstanding(first)).thenReturn(7);
+        when(outstandingRequests.outstanding(second)).thenReturn(2);
+        
+        // When
+        ServiceInstance chosen1 = loadBalancer.choose(List.of(first, second)).getServer();
+        ServiceInstance chosen2 = loadBalancer.choose(List.of(first, second)).getServer();
+        
+        // Then
+        assertSame(second, chosen1);
+        assertSame(second, chosen2);
+    }
+    
+    @Test
+    void choose_ShouldRotateBetweenEquallyLoadedInstances() {
+        // Given
+        when(outstandingRequests.outstanding(any())).thenReturn(0);
+        
+        // When
+        Set<ServiceInstance> chosen = new HashSet<>();
+        chosen.add(loadBalancer.choose(List.of(first, second)).getServer());
+        chosen.add(loadBalancer.choose(List.of(first, second)).getServer());
+        
+        // Then
+        assertEquals(Set.of(first, second), chosen);
+    }
+    
+    @Test
+    void choose_ShouldReturnEmptyResponseWhenNoInstanceIsHealthy() {
+        // When / Then
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+}
\ No newline at end of file
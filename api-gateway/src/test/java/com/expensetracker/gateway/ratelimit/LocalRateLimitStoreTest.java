@@ -0,0 +1,97 @@
+package com.expensetracker.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimitStoreTest {
+    
+    private final RateLimit limit = new RateLimit(2, 3);
+    
+    private LocalRateLimitStore rateLimitStore;
+    
+    @BeforeEach
+    void setUp() {
+        rateLimitStore = new LocalRateLimitStore();
+        ReflectionTestUtils.setField(rateLimitStore, "maxKeys", 100L);
+        ReflectionTestUtils.setField(rateLimitStore, "idleExpirySeconds", 600L);
+        rateLimitStore.createBuckets();
+    }
+    
+    @Test
+    void tryConsume_ShouldAllowBurstThenRejectWithRetryAfter() {
+        // Given
+        long now = 1_000_000L;
+        
+        // When
+        RateLimitDecision first = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        RateLimitDecision third = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        RateLimitDecision fourth = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        
+        // Then
+        assertTrue(first.isAllowed());
+        assertEquals(2, first.getRemaining());
+        assertTrue(third.isAllowed());
+        assertEquals(0, third.getRemaining());
+        assertFalse(fourth.isAllowed());
+        assertEquals(1, fourth.getRetryAfterSeconds());
+    }
+    
+    @Test
+    void tryConsume_ShouldRefillAtReplenishRate() {
+        // Given
+        long now = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        }
+        
+        // When
+        RateLimitDecision tooEarly = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now + 400);
+        RateLimitDecision refilled = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now + 500);
+        
+        // Then
+        assertFalse(tooEarly.isAllowed());
+        assertTrue(refilled.isAllowed());
+    }
+    
+    @Test
+    void tryConsume_ShouldKeepSeparateBucketsPerKey() {
+        // Given
+        long now = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        }
+        
+        // When
+        RateLimitDecision otherUser = rateLimitStore.tryConsume("user:expense-service:id:2", limit, now);
+        
+        // Then
+        assertFalse(rateLimitStore.tryConsume("user:expense-service:id:1", limit, now).isAllowed());
+        assertTrue(otherUser.isAllowed());
+    }
+    
+    @Test
+    void refund_ShouldGiveBackOneTokenUpToCapacity() {
+        // Given
+        long now = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        }
+        
+        // When
+        rateLimitStore.refund("user:expense-service:id:1", limit, now);
+        RateLimitDecision refunded = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        RateLimitDecision exhausted = rateLimitStore.tryConsume("user:expense-service:id:1", limit, now);
+        for (int i = 0; i < 5; i++) {
+            rateLimitStore.refund("user:expense-service:id:1", limit, now);
+        }
+        
+        // Then
+        assertTrue(refunded.isAllowed());
+        assertFalse(exhausted.isAllowed());
+        assertEquals(2, rateLimitStore.tryConsume("user:expense-service:id:1", limit, now).getRemaining());
+    }
+}
\ No newline at end of file
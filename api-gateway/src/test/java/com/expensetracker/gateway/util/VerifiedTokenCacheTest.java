@@ -0,0 +1,59 @@
+package com.expensetracker.gateway.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+    
+    @Mock
+    private JwtUtils jwtUtils;
+    
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(100);
+        ReflectionTestUtils.setField(verifiedTokenCache, "jwtUtils", jwtUtils);
+    }
+    
+    @Test
+    void verify_ShouldParseTokenOnlyOnce() {
+        // Given
+        VerifiedToken token = new VerifiedToken(1L, "alice", "USER", System.currentTimeMillis() + 60_000);
+        when(jwtUtils.parseToken("token-a")).thenReturn(token);
+        
+        // When
+        VerifiedToken first = verifiedTokenCache.verify("token-a");
+        VerifiedToken second = verifiedTokenCache.verify("token-a");
+        
+        // Then
+        assertSame(token, first);
+        assertSame(token, second);
+        verify(jwtUtils, times(1)).parseToken("token-a");
+    }
+    
+    @Test
+    void verify_ShouldNotCacheInvalidOrExpiredTokens() {
+        // Given
+        when(jwtUtils.parseToken("invalid")).thenReturn(null);
+        when(jwtUtils.parseToken("expired")).thenReturn(new VerifiedToken(2L, "bob", "USER", System.currentTimeMillis() - 1));
+        
+        // When
+        assertNull(verifiedTokenCache.verify("invalid"));
+        assertNull(verifiedTokenCache.verify("invalid"));
+        verifiedTokenCache.verify("expired");
+        verifiedTokenCache.verify("expired");
+        
+        // Then
+        verify(jwtUtils, times(2)).parseToken("invalid");
+        verify(jwtUtils, times(2)).parseToken("expired");
+    }
+}
\ No newline at end of file
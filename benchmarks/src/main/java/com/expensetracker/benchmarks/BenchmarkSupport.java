@@ -0,0 +1,28 @@
+package com.expensetracker.benchmarks;
+
+import java.lang.reflect.Field;
+
+/**
+ * Wires service beans outside a Spring context, mirroring what field injection does at runtime.
+ */
+public final class BenchmarkSupport {
+    
+    private BenchmarkSupport() {}
+    
+    public static void setField(Object target, String name, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getName(), e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " on " + target.getClass().getName());
+    }
+}
\ No newline at end of file
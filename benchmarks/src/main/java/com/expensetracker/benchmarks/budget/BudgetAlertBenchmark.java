@@ -0,0 +1,70 @@
+package com.expensetracker.benchmarks.budget;
+
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget alert evaluation: the BigDecimal percentage math run for every budget on each refresh,
+ * and formatting of the alert message for budgets that cross the threshold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetAlertBenchmark {
+    
+    private static final BigDecimal ALERT_THRESHOLD = BigDecimal.valueOf(80);
+    
+    private Budget[] budgets;
+    private NotificationService notificationService;
+    
+    @Setup
+    public void setUp() {
+        // Spent ratios from 0% to 150% so both alert branches and the over-budget message are exercised
+        budgets = new Budget[64];
+        for (int i = 0; i < budgets.length; i++) {
+            Budget budget = new Budget(7L, i % 2 == 0 ? "Food" : "Travel", new BigDecimal("500.00"), i % 12 + 1, 2024);
+            budget.setSpentAmount(new BigDecimal("500.00").multiply(BigDecimal.valueOf(i * 150L / budgets.length))
+                    .divide(BigDecimal.valueOf(100)));
+            budgets[i] = budget;
+        }
+        notificationService = new NotificationService();
+    }
+    
+    @Benchmark
+    public void spentPercentage(Blackhole blackhole) {
+        for (Budget budget : budgets) {
+            blackhole.consume(budget.getSpentPercentage());
+        }
+    }
+    
+    @Benchmark
+    public void shouldSendAlert(Blackhole blackhole) {
+        for (Budget budget : budgets) {
+            blackhole.consume(budget.shouldSendAlert(ALERT_THRESHOLD));
+        }
+    }
+    
+    @Benchmark
+    public void createAlertMessage(Blackhole blackhole) {
+        for (Budget budget : budgets) {
+            blackhole.consume(notificationService.createAlertMessage(budget));
+        }
+    }
+}
\ No newline at end of file
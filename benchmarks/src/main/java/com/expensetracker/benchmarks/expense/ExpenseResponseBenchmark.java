@@ -0,0 +1,104 @@
+package com.expensetracker.benchmarks.expense;
+
+import com.expensetracker.benchmarks.BenchmarkSupport;
+import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import com.expensetracker.expenseservice.service.ExpenseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expense listing response cost without the database: ExpenseService maps a page of entities
+ * (mapToResponse per row) and Jackson serializes the resulting Page, as the controller returns it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseResponseBenchmark {
+    
+    @Param({"10", "100"})
+    private int pageSize;
+    
+    private ExpenseService expenseService;
+    private ObjectMapper objectMapper;
+    private Page<ExpenseResponse> mappedPage;
+    
+    @Setup
+    public void setUp() throws Exception {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i + 1);
+            expense.setUserId(7L);
+            expense.setAmount(new BigDecimal("12.50").add(BigDecimal.valueOf(i)));
+            expense.setCategory(i % 2 == 0 ? "Food" : "Travel");
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            expense.setDescription("Benchmark expense " + i);
+            expense.setCurrency("USD");
+            expense.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+            expense.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+            expenses.add(expense);
+        }
+        Page<Expense> page = new PageImpl<>(expenses, PageRequest.of(0, pageSize), 10_000);
+        
+        // Repository stub: every paged lookup returns the prepared page
+        ExpenseRepository repository = (ExpenseRepository) Proxy.newProxyInstance(
+                ExpenseRepository.class.getClassLoader(),
+                new Class<?>[] { ExpenseRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == Page.class) {
+                        return page;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        
+        expenseService = new ExpenseService();
+        BenchmarkSupport.setField(expenseService, "expenseRepository", repository);
+        
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        mappedPage = expenseService.getAllExpenses(7L, 0, pageSize);
+        objectMapper.writeValueAsBytes(mappedPage);
+    }
+    
+    @Benchmark
+    public Page<ExpenseResponse> mapPage() {
+        return expenseService.getAllExpenses(7L, 0, pageSize);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(mappedPage);
+    }
+    
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(expenseService.getAllExpenses(7L, 0, pageSize));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.expensetracker.benchmarks.gateway;
+
+import com.expensetracker.benchmarks.BenchmarkSupport;
+import com.expensetracker.gateway.util.JwtUtils;
+import com.expensetracker.gateway.util.VerifiedToken;
+import com.expensetracker.gateway.util.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in the gateway's JwtAuthenticationFilter.
+ * {@code twoVerificationsPerRequest} reproduces the original filter: key derivation plus a full parse for
+ * validateJwtToken and again for getUserNameFromJwtToken. The other benchmarks measure the current paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+    
+    private String token;
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("benchmark-user")
+                .claim(JwtUtils.USER_ID_CLAIM, 7L)
+                .claim(JwtUtils.ROLE_CLAIM, "USER")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+        
+        jwtUtils = new JwtUtils();
+        BenchmarkSupport.setField(jwtUtils, "jwtSecret", SECRET);
+        verifiedTokenCache = new VerifiedTokenCache(10_000);
+        BenchmarkSupport.setField(verifiedTokenCache, "jwtUtils", jwtUtils);
+        verifiedTokenCache.verify(token);
+    }
+    
+    @Benchmark
+    public void twoVerificationsPerRequest(Blackhole blackhole) {
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        blackhole.consume(claims.getSubject());
+    }
+    
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return jwtUtils.parseToken(token);
+    }
+    
+    @Benchmark
+    public VerifiedToken cachedVerification() {
+        return verifiedTokenCache.verify(token);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.expensetracker.benchmarks.load;
+
+import com.expensetracker.benchmarks.BenchmarkSupport;
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.security.JwtUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test of the expense-service read endpoints, run against an instance in the default MVC mode
+ * and one started with the "reactive" profile. Each concurrency level keeps that many requests in flight for the
+ * configured duration; requests use HTTP/1.1, so in-flight requests equal open connections.
+ * For every level the p50/p99 latency, throughput, errors and the peak in-flight count are reported, followed by
+ * the highest level each target sustained within the latency SLO and under 1% errors.
+ *
+ * <p>Options are {@code key=value} arguments: {@code mvc}, {@code reactive} (base URLs), {@code levels}
+ * (comma-separated), {@code duration} and {@code warmup} (seconds), {@code paths} (semicolon-separated),
+ * {@code user-id} and {@code slo-ms}.
+ */
+public final class ExpenseReadLoadTest {
+    
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+    
+    private static final String DEFAULT_PATHS = "/api/expenses?size=20"
+            + ";/api/expenses?size=20&after="
+            + ";/api/expenses/category/Food?size=20&after="
+            + ";/api/expenses/summary"
+            + ";/api/expenses/summary/month?year=2024&month=1";
+    
+    private static final double MAX_ERROR_RATE = 0.01;
+    
+    private ExpenseReadLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Map<String, String> targets = new LinkedHashMap<>();
+        targets.put("mvc", options.getOrDefault("mvc", "http://localhost:8082"));
+        targets.put("reactive", options.getOrDefault("reactive", "http://localhost:8092"));
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "50,200,800,2000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", DEFAULT_PATHS).split(";"));
+        long sloMillis = Long.parseLong(options.getOrDefault("slo-ms", "500"));
+        String token = issueToken(Long.parseLong(options.getOrDefault("user-id", "1")));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        
+        Map<String, Integer> maxWithinSlo = new LinkedHashMap<>();
+        System.out.printf("%-10s %12s %10s %8s %12s %10s %10s %10s%n",
+                "target", "concurrency", "requests", "errors", "req/s", "p50 ms", "p99 ms", "peak conns");
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            run(client, target.getValue(), paths, token, levels[0], warmup);
+            maxWithinSlo.put(target.getKey(), 0);
+            
+            for (int level : levels) {
+                LevelResult result = run(client, target.getValue(), paths, token, level, duration);
+                System.out.printf("%-10s %12d %10d %8d %12.1f %10.1f %10.1f %10d%n",
+                        target.getKey(), level, result.requests, result.errors, result.throughput(),
+                        result.percentileMillis(0.50), result.percentileMillis(0.99), result.peakInFlight);
+                if (result.errorRate() < MAX_ERROR_RATE && result.percentileMillis(0.99) <= sloMillis) {
+                    maxWithinSlo.put(target.getKey(), Math.max(maxWithinSlo.get(target.getKey()), result.peakInFlight));
+                }
+            }
+        }
+        
+        System.out.println();
+        for (Map.Entry<String, Integer> entry : maxWithinSlo.entrySet()) {
+            System.out.printf("%-10s max concurrent connections with p99 <= %d ms and < 1%% errors: %d%n",
+                    entry.getKey(), sloMillis, entry.getValue());
+        }
+    }
+    
+    static LevelResult run(HttpClient client, String baseUrl, List<String> paths, String token,
+                           int concurrency, Duration duration) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAdder errors = new LongAdder();
+        LatencyRecorder latencies = new LatencyRecorder();
+        
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        int next = 0;
+        while (System.nanoTime() < deadline) {
+            if (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(next++ % paths.size())))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long requestStart = System.nanoTime();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (error != null || response.statusCode() != 200) {
+                    errors.increment();
+                } else {
+                    latencies.record(System.nanoTime() - requestStart);
+                }
+                permits.release();
+            });
+        }
+        
+        // Let the requests still in flight finish so they are counted in this level
+        permits.acquire(concurrency);
+        long elapsedNanos = System.nanoTime() - started;
+        return new LevelResult(latencies.sorted(), errors.sum(), peakInFlight.get(), elapsedNanos);
+    }
+    
+    static String issueToken(Long userId) {
+        JwtUtils jwtUtils = new JwtUtils();
+        BenchmarkSupport.setField(jwtUtils, "jwtSecret", SECRET);
+        BenchmarkSupport.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        
+        User user = new User("load-test-user", "load-test@example.com", "unused");
+        user.setId(userId);
+        return jwtUtils.generateTokenForUser(user);
+    }
+    
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Options must be in the form key=value: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+    
+    /**
+     * Successful request latencies in nanoseconds; recorded from the HTTP client's completion threads.
+     */
+    static final class LatencyRecorder {
+        
+        private long[] values = new long[1 << 16];
+        private int count;
+        
+        synchronized void record(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[count++] = nanos;
+        }
+        
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+    
+    static final class LevelResult {
+        
+        final long[] latencies;
+        final long errors;
+        final long requests;
+        final int peakInFlight;
+        final long elapsedNanos;
+        
+        LevelResult(long[] latencies, long errors, int peakInFlight, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.requests = latencies.length + errors;
+            this.peakInFlight = peakInFlight;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+        
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+        
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
\ No newline at end of file
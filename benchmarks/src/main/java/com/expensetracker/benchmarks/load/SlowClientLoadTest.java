@@ -0,0 +1,161 @@
+package com.expensetracker.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of a servlet service under many concurrent slow clients, run against an instance on platform threads
+ * and one started with the "virtual-threads" profile. Every client reads its response at a throttled rate, so once
+ * the response outgrows the socket buffers the handling thread stays blocked in its write until the client catches up.
+ * With platform threads, Tomcat's 200 workers cap how many of these requests are served at once. With virtual threads,
+ * only max-connections does.
+ *
+ * <p>Options are {@code key=value} arguments: {@code platform}, {@code virtual} (base URLs), {@code clients},
+ * {@code duration} (seconds), {@code read-bytes-per-second} (per client), {@code paths} (semicolon-separated),
+ * {@code user-id}. Reuses the option parsing, token and result types of {@link ExpenseReadLoadTest}.
+ */
+public final class SlowClientLoadTest {
+    
+    private static final String DEFAULT_PATHS = "/api/expenses?size=200;/api/expenses?size=200&after=";
+    
+    private SlowClientLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = ExpenseReadLoadTest.parseOptions(args);
+        Map<String, String> targets = new LinkedHashMap<>();
+        targets.put("platform", options.getOrDefault("platform", "http://localhost:8082"));
+        targets.put("virtual", options.getOrDefault("virtual", "http://localhost:8093"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "10000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        long readBytesPerSecond = Long.parseLong(options.getOrDefault("read-bytes-per-second", "8192"));
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", DEFAULT_PATHS).split(";"));
+        String token = ExpenseReadLoadTest.issueToken(Long.parseLong(options.getOrDefault("user-id", "1")));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ScheduledExecutorService readScheduler = Executors.newScheduledThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "slow-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        System.out.printf("%-10s %8s %10s %8s %12s %10s %10s %10s%n",
+                "target", "clients", "responses", "errors", "resp/s", "p50 ms", "p99 ms", "peak conns");
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            ExpenseReadLoadTest.LevelResult result = run(client, readScheduler, target.getValue(), paths, token,
+                    clients, duration, readBytesPerSecond);
+            System.out.printf("%-10s %8d %10d %8d %12.1f %10.1f %10.1f %10d%n",
+                    target.getKey(), clients, result.requests, result.errors, result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.peakInFlight);
+        }
+        readScheduler.shutdownNow();
+    }
+    
+    static ExpenseReadLoadTest.LevelResult run(HttpClient client, ScheduledExecutorService readScheduler,
+                                               String baseUrl, List<String> paths, String token, int clients,
+                                               Duration duration, long readBytesPerSecond) throws InterruptedException {
+        Semaphore permits = new Semaphore(clients);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAdder errors = new LongAdder();
+        ExpenseReadLoadTest.LatencyRecorder latencies = new ExpenseReadLoadTest.LatencyRecorder();
+        
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        int next = 0;
+        while (System.nanoTime() < deadline) {
+            if (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(next++ % paths.size())))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofMinutes(2))
+                    .GET()
+                    .build();
+            long requestStart = System.nanoTime();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            HttpResponse.BodyHandler<Void> slowReader =
+                    responseInfo -> new ThrottledBodySubscriber(readScheduler, readBytesPerSecond);
+            client.sendAsync(request, slowReader).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (error != null || response.statusCode() != 200) {
+                    errors.increment();
+                } else {
+                    latencies.record(System.nanoTime() - requestStart);
+                }
+                permits.release();
+            });
+        }
+        
+        // Let the requests still in flight finish so they are counted
+        permits.acquire(clients);
+        long elapsedNanos = System.nanoTime() - started;
+        return new ExpenseReadLoadTest.LevelResult(latencies.sorted(), errors.sum(), peakInFlight.get(), elapsedNanos);
+    }
+    
+    /**
+     * Consumes a response body at a fixed byte rate by delaying demand, so the HTTP client stops reading the socket
+     * and the server's writes back up.
+     */
+    static final class ThrottledBodySubscriber implements HttpResponse.BodySubscriber<Void> {
+        
+        private final CompletableFuture<Void> body = new CompletableFuture<>();
+        private final ScheduledExecutorService scheduler;
+        private final long bytesPerSecond;
+        private Flow.Subscription subscription;
+        
+        ThrottledBodySubscriber(ScheduledExecutorService scheduler, long bytesPerSecond) {
+            this.scheduler = scheduler;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+        
+        @Override
+        public CompletionStage<Void> getBody() {
+            return body;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+        
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            long bytes = 0;
+            for (ByteBuffer buffer : buffers) {
+                bytes += buffer.remaining();
+            }
+            scheduler.schedule(() -> subscription.request(1), bytes * 1_000_000 / bytesPerSecond, TimeUnit.MICROSECONDS);
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+        
+        @Override
+        public void onComplete() {
+            body.complete(null);
+        }
+    }
+}
\ No newline at end of file
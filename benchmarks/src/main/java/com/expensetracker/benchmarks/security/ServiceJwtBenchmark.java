@@ -0,0 +1,89 @@
+package com.expensetracker.benchmarks.security;
+
+import com.expensetracker.benchmarks.BenchmarkSupport;
+import com.expensetracker.userservice.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request verification in each service's JwtUtils.
+ * The verify benchmarks follow the original filters (validate, then read the subject); the parsePrincipal
+ * benchmarks follow the current JwtAuthenticationFilters, which verify once and read uid and role.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceJwtBenchmark {
+    
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+    
+    private com.expensetracker.userservice.security.JwtUtils userJwtUtils;
+    private com.expensetracker.expenseservice.security.JwtUtils expenseJwtUtils;
+    private com.expensetracker.budgetservice.security.JwtUtils budgetJwtUtils;
+    private User user;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        userJwtUtils = new com.expensetracker.userservice.security.JwtUtils();
+        BenchmarkSupport.setField(userJwtUtils, "jwtSecret", SECRET);
+        BenchmarkSupport.setField(userJwtUtils, "jwtExpirationMs", 86_400_000);
+        
+        expenseJwtUtils = new com.expensetracker.expenseservice.security.JwtUtils();
+        BenchmarkSupport.setField(expenseJwtUtils, "jwtSecret", SECRET);
+        
+        budgetJwtUtils = new com.expensetracker.budgetservice.security.JwtUtils();
+        BenchmarkSupport.setField(budgetJwtUtils, "jwtSecret", SECRET);
+        
+        user = new User("benchmark-user", "benchmark@example.com", "unused");
+        user.setId(7L);
+        token = userJwtUtils.generateTokenForUser(user);
+    }
+    
+    @Benchmark
+    public String userServiceIssueToken() {
+        return userJwtUtils.generateTokenForUser(user);
+    }
+    
+    @Benchmark
+    public void userServiceVerify(Blackhole blackhole) {
+        blackhole.consume(userJwtUtils.validateJwtToken(token));
+        blackhole.consume(userJwtUtils.getUserNameFromJwtToken(token));
+    }
+    
+    @Benchmark
+    public void expenseServiceVerify(Blackhole blackhole) {
+        blackhole.consume(expenseJwtUtils.validateJwtToken(token));
+        blackhole.consume(expenseJwtUtils.getUserNameFromJwtToken(token));
+    }
+    
+    @Benchmark
+    public void budgetServiceVerify(Blackhole blackhole) {
+        blackhole.consume(budgetJwtUtils.validateJwtToken(token));
+        blackhole.consume(budgetJwtUtils.getUserNameFromJwtToken(token));
+    }
+    
+    @Benchmark
+    public com.expensetracker.expenseservice.security.UserPrincipal expenseServiceParsePrincipal() {
+        return expenseJwtUtils.parsePrincipal(token);
+    }
+    
+    @Benchmark
+    public com.expensetracker.budgetservice.security.UserPrincipal budgetServiceParsePrincipal() {
+        return budgetJwtUtils.parsePrincipal(token);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.expensetracker.budgetservice.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client of the expense service: a pooled keep-alive connection manager with connect,
+ * read and pool-wait timeouts, so lookups reuse connections and a slow call can never hang a caller.
+ */
+@Configuration
+public class ExpenseServiceClientConfig {
+    
+    @Value("${services.expense-service.url}")
+    private String expenseServiceUrl;
+    
+    @Value("${services.expense-service.max-connections:50}")
+    private int maxConnections;
+    
+    @Value("${services.expense-service.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+    
+    @Value("${services.expense-service.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+    
+    @Value("${services.expense-service.pool-timeout-ms:2000}")
+    private long poolTimeoutMs;
+    
+    @Value("${services.expense-service.idle-timeout-seconds:30}")
+    private long idleTimeoutSeconds;
+    
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient expenseServiceHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+        
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleTimeoutSeconds))
+                .build();
+    }
+    
+    @Bean
+    public RestTemplate expenseServiceRestTemplate(RestTemplateBuilder restTemplateBuilder,
+                                                   CloseableHttpClient expenseServiceHttpClient) {
+        return restTemplateBuilder
+                .rootUri(expenseServiceUrl)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(expenseServiceHttpClient))
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.expensetracker.budgetservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker, bulkhead and retry guarding the expense service calls.
+ * The breaker fails fast while the expense service is failing or slow, the bulkhead caps the calls in flight
+ * so a slow expense service cannot tie up every request thread, and transient failures are retried with a
+ * jittered exponential backoff. State, call and rejection metrics are published under {@code resilience4j.*}.
+ */
+@Configuration
+public class ExpenseServiceResilienceConfig {
+    
+    public static final String EXPENSE_SERVICE = "expense-service";
+    
+    @Value("${services.expense-service.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+    
+    @Value("${services.expense-service.circuit-breaker.slow-call-duration-ms:5000}")
+    private long slowCallDurationMs;
+    
+    @Value("${services.expense-service.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+    
+    @Value("${services.expense-service.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+    
+    @Value("${services.expense-service.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+    
+    @Value("${services.expense-service.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+    
+    @Value("${services.expense-service.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+    
+    @Value("${services.expense-service.bulkhead.max-wait-ms:500}")
+    private long bulkheadMaxWaitMs;
+    
+    @Value("${services.expense-service.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+    
+    @Value("${services.expense-service.retry.initial-backoff-ms:200}")
+    private long retryInitialBackoffMs;
+    
+    @Value("${services.expense-service.retry.jitter:0.5}")
+    private double retryJitter;
+    
+    @Bean
+    public CircuitBreaker expenseServiceCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // Client errors say nothing about the health of the expense service, and bulkhead
+                // rejections are local back-pressure
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(EXPENSE_SERVICE);
+    }
+    
+    @Bean
+    public Bulkhead expenseServiceBulkhead(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWaitMs))
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(EXPENSE_SERVICE);
+    }
+    
+    @Bean
+    public Retry expenseServiceRetry(MeterRegistry meterRegistry) {
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(retryMaxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        Duration.ofMillis(retryInitialBackoffMs), 2.0, retryJitter))
+                // Only transient failures are retried; an open breaker or a full bulkhead fails fast
+                .retryExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry.retry(EXPENSE_SERVICE);
+    }
+}
\ No newline at end of file
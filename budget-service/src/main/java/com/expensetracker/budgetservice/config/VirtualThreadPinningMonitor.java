@@ -0,0 +1,86 @@
+package com.expensetracker.budgetservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads pinned to their carrier, e.g. while blocking inside a {@code synchronized} block in the
+ * JDBC driver. Streams the JFR {@code jdk.VirtualThreadPinned} event in-process; every pin longer than the threshold
+ * is logged with its stack and counted in {@code jvm.threads.virtual.pinned}, tagged with the first frame outside
+ * the JDK. Needs a Java 21 runtime and does nothing on older ones.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_COUNTER = "jvm.threads.virtual.pinned";
+    
+    private static final int LOGGED_FRAMES = 12;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${diagnostics.virtual-threads.pinning.threshold-ms:20}")
+    private long thresholdMillis;
+    
+    private RecordingStream recording;
+    
+    @PostConstruct
+    void start() {
+        if (!JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            System.err.println("Virtual thread pinning diagnostics need Java 21 or later; not started");
+            return;
+        }
+        
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        meterRegistry.counter(PINNED_COUNTER, "frame", firstApplicationFrame(frames)).increment();
+        
+        StringBuilder message = new StringBuilder("Virtual thread pinned for ")
+                .append(event.getDuration().toMillis()).append(" ms");
+        frames.stream().limit(LOGGED_FRAMES).forEach(frame -> message.append("\n    at ").append(describe(frame)));
+        System.err.println(message);
+    }
+    
+    static String firstApplicationFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return describe(frame);
+            }
+        }
+        return "unknown";
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
\ No newline at end of file
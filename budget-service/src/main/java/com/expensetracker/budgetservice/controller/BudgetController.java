@@ -1,10 +1,18 @@
 package com.expensetracker.budgetservice.controller;
 
+import com.expensetracker.budgetservice.dto.BudgetRefreshReport;
 import com.expensetracker.budgetservice.dto.BudgetRequest;
 import com.expensetracker.budgetservice.dto.BudgetResponse;
+import com.expensetracker.budgetservice.dto.BudgetSummaryResponse;
+import com.expensetracker.budgetservice.dto.LegacyUserIdMigrationReport;
+import com.expensetracker.budgetservice.dto.SchedulerJobReport;
+import com.expensetracker.budgetservice.exception.ExpenseServiceRejectedException;
+import com.expensetracker.budgetservice.exception.ExpenseServiceUnavailableException;
 import com.expensetracker.budgetservice.service.BudgetService;
 import com.expensetracker.budgetservice.service.BudgetSchedulerService;
+import com.expensetracker.budgetservice.service.LegacyUserIdMigrationService;
 import com.expensetracker.budgetservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,9 +27,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/budgets")
@@ -39,6 +45,12 @@ public class BudgetController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private LegacyUserIdMigrationService legacyUserIdMigrationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping
     @Operation(summary = "Create a new budget", description = "Creates a new monthly budget for the authenticated user")
     @ApiResponses(value = {
@@ -117,6 +129,7 @@ public class BudgetController {
     @Operation(summary = "Get budgets by year", description = "Retrieves all budgets for a specific year")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Budgets retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Budgets unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<BudgetResponse>> getBudgetsByYear(
@@ -124,7 +137,7 @@ public class BudgetController {
             Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
         List<BudgetResponse> budgets = budgetService.getBudgetsByYear(userId, year);
-        return ResponseEntity.ok(budgets);
+        return ETags.ok(objectMapper, budgets);
     }
     
     @GetMapping("/year/{year}/month/{month}")
@@ -212,57 +225,108 @@ public class BudgetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Budget refreshed successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "404", description = "Budget not found")
+        @ApiResponse(responseCode = "404", description = "Budget not found"),
+        @ApiResponse(responseCode = "502", description = "Expense service rejected the lookup; spending left unchanged"),
+        @ApiResponse(responseCode = "503", description = "Expense service unavailable; spending left unchanged")
     })
     public ResponseEntity<BudgetResponse> refreshBudgetSpending(
             @Parameter(description = "Budget ID") @PathVariable Long id,
             Authentication authentication) {
         try {
-            String authToken = "Bearer " + authentication.getCredentials();
-            BudgetResponse response = budgetService.updateBudgetSpending(id, authToken);
+            Long userId = userService.getUserIdFromAuthentication(authentication);
+            BudgetResponse response = budgetService.updateBudgetSpending(id, userId);
             return ResponseEntity.ok(response);
+        } catch (ExpenseServiceRejectedException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        } catch (ExpenseServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @GetMapping("/summary")
-    @Operation(summary = "Get budget summary", description = "Retrieves budget summary including categories and years")
+    @Operation(summary = "Get budget summary", description = "Retrieves budget summary including categories, years, over-budget count and current month totals")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Summary unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Map<String, Object>> getBudgetSummary(Authentication authentication) {
+    public ResponseEntity<BudgetSummaryResponse> getBudgetSummary(Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
-        
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("categories", budgetService.getCategories(userId));
-        summary.put("years", budgetService.getYears(userId));
-        summary.put("overBudgetCount", budgetService.getOverBudgets(userId).size());
-        
-        return ResponseEntity.ok(summary);
+        BudgetSummaryResponse summary = budgetService.getBudgetSummary(userId);
+        return ETags.ok(objectMapper, summary);
     }
     
-    // Admin/Testing endpoints
+    // Admin endpoints
     @PostMapping("/admin/trigger-alerts")
-    @Operation(summary = "Trigger budget alerts", description = "Manually trigger budget alert check (Admin/Testing)")
-    public ResponseEntity<String> triggerBudgetAlerts() {
-        budgetSchedulerService.triggerBudgetAlertCheck();
-        return ResponseEntity.ok("Budget alert check triggered successfully");
+    @Operation(summary = "Trigger budget alerts", description = "Manually trigger budget alert check (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job run completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<SchedulerJobReport> triggerBudgetAlerts(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(budgetSchedulerService.triggerBudgetAlertCheck());
     }
     
     @PostMapping("/admin/trigger-weekly-summary")
-    @Operation(summary = "Trigger weekly summary", description = "Manually trigger weekly summary (Admin/Testing)")
-    public ResponseEntity<String> triggerWeeklySummary() {
-        budgetSchedulerService.triggerWeeklySummary();
-        return ResponseEntity.ok("Weekly summary triggered successfully");
+    @Operation(summary = "Trigger weekly summary", description = "Manually trigger weekly summary (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job run completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<SchedulerJobReport> triggerWeeklySummary(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(budgetSchedulerService.triggerWeeklySummary());
     }
     
     @PostMapping("/admin/trigger-monthly-report")
-    @Operation(summary = "Trigger monthly report", description = "Manually trigger monthly report (Admin/Testing)")
-    public ResponseEntity<String> triggerMonthlyReport() {
-        budgetSchedulerService.triggerMonthlyReport();
-        return ResponseEntity.ok("Monthly report triggered successfully");
+    @Operation(summary = "Trigger monthly report", description = "Manually trigger monthly report (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job run completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<SchedulerJobReport> triggerMonthlyReport(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(budgetSchedulerService.triggerMonthlyReport());
+    }
+    
+    @PostMapping("/admin/refresh-spending")
+    @Operation(summary = "Refresh all budget spending", description = "Recomputes the spent amount of every budget from the expense service (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Refresh completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<BudgetRefreshReport> refreshAllBudgetSpending(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(budgetService.refreshAllBudgetSpending());
+    }
+    
+    @PostMapping("/admin/migrate-legacy-user-ids")
+    @Operation(summary = "Migrate legacy user ids", description = "Moves budgets stored under the username-derived ids of tokens without a uid claim to the user-service ids (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Migration completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<LegacyUserIdMigrationReport> migrateLegacyUserIds(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(legacyUserIdMigrationService.migrateAll());
     }
     
     @GetMapping("/health")
@@ -0,0 +1,49 @@
+package com.expensetracker.budgetservice.controller;
+
+import com.expensetracker.budgetservice.dto.ExpenseEventReceipt;
+import com.expensetracker.budgetservice.dto.ExpenseSpendingEvent;
+import com.expensetracker.budgetservice.service.ExpenseEventConsumer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service-to-service endpoints. They are not routed by the API gateway and are authenticated
+ * with the shared internal token instead of a user JWT.
+ */
+@RestController
+@RequestMapping("/internal")
+@Tag(name = "Internal", description = "Service-to-service APIs")
+public class InternalEventController {
+    
+    @Autowired
+    private ExpenseEventConsumer expenseEventConsumer;
+    
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+    
+    @PostMapping("/expense-events")
+    @Operation(summary = "Consume expense events", description = "Apply a batch of spending events published by expense-service")
+    public ResponseEntity<?> consumeExpenseEvents(@RequestHeader(value = "X-Internal-Token", required = false) String token,
+                                                  @RequestBody List<ExpenseSpendingEvent> events) {
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), internalApiToken.getBytes(StandardCharsets.UTF_8))) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid internal token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+        
+        ExpenseEventReceipt receipt = expenseEventConsumer.consume(events);
+        return ResponseEntity.ok(receipt);
+    }
+}
\ No newline at end of file
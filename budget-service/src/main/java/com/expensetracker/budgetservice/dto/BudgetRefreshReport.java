@@ -0,0 +1,63 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a full budget spending refresh run")
+public class BudgetRefreshReport {
+    
+    @Schema(description = "Number of budgets refreshed", example = "400000")
+    private long budgetsProcessed;
+    
+    @Schema(description = "Number of budgets left unchanged because their expense service lookup failed", example = "0")
+    private long budgetsSkipped;
+    
+    @Schema(description = "Number of (user, year, month) groups fetched from the expense service", example = "52000")
+    private long groupsFetched;
+    
+    @Schema(description = "Number of chunks committed", example = "250")
+    private int chunksCommitted;
+    
+    @Schema(description = "Total run duration in milliseconds", example = "95000")
+    private long durationMs;
+    
+    @Schema(description = "Throughput in budgets per second", example = "4210.5")
+    private double budgetsPerSecond;
+    
+    // Constructors
+    public BudgetRefreshReport() {}
+    
+    public BudgetRefreshReport(long budgetsProcessed, long budgetsSkipped, long groupsFetched, int chunksCommitted,
+                               long durationMs) {
+        this.budgetsProcessed = budgetsProcessed;
+        this.budgetsSkipped = budgetsSkipped;
+        this.groupsFetched = groupsFetched;
+        this.chunksCommitted = chunksCommitted;
+        this.durationMs = durationMs;
+        this.budgetsPerSecond = durationMs > 0 ? budgetsProcessed * 1000.0 / durationMs : budgetsProcessed;
+    }
+    
+    // Getters and Setters
+    public long getBudgetsProcessed() { return budgetsProcessed; }
+    public void setBudgetsProcessed(long budgetsProcessed) { this.budgetsProcessed = budgetsProcessed; }
+    
+    public long getBudgetsSkipped() { return budgetsSkipped; }
+    public void setBudgetsSkipped(long budgetsSkipped) { this.budgetsSkipped = budgetsSkipped; }
+    
+    public long getGroupsFetched() { return groupsFetched; }
+    public void setGroupsFetched(long groupsFetched) { this.groupsFetched = groupsFetched; }
+    
+    public int getChunksCommitted() { return chunksCommitted; }
+    public void setChunksCommitted(int chunksCommitted) { this.chunksCommitted = chunksCommitted; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    
+    public double getBudgetsPerSecond() { return budgetsPerSecond; }
+    public void setBudgetsPerSecond(double budgetsPerSecond) { this.budgetsPerSecond = budgetsPerSecond; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d budgets in %d groups, %d skipped, %d chunks, %d ms (%.1f budgets/sec)",
+                budgetsProcessed, groupsFetched, budgetsSkipped, chunksCommitted, durationMs, budgetsPerSecond);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Summary of a user's budgets, with totals for the current month")
+public class BudgetSummaryResponse {
+    
+    @Schema(description = "Distinct budget categories, alphabetically", example = "[\"Food\", \"Travel\"]")
+    private List<String> categories;
+    
+    @Schema(description = "Distinct budget years, newest first", example = "[2024, 2023]")
+    private List<Integer> years;
+    
+    @Schema(description = "Number of budgets whose spending exceeds the budgeted amount", example = "2")
+    private long overBudgetCount;
+    
+    @Schema(description = "Current month (1-12)", example = "3")
+    private Integer month;
+    
+    @Schema(description = "Current year", example = "2024")
+    private Integer year;
+    
+    @Schema(description = "Total budgeted for the current month", example = "1500.00")
+    private BigDecimal totalBudgeted;
+    
+    @Schema(description = "Total spent for the current month", example = "1125.50")
+    private BigDecimal totalSpent;
+    
+    // Constructors
+    public BudgetSummaryResponse() {}
+    
+    public BudgetSummaryResponse(List<String> categories, List<Integer> years, long overBudgetCount,
+                                 Integer month, Integer year, BigDecimal totalBudgeted, BigDecimal totalSpent) {
+        this.categories = categories;
+        this.years = years;
+        this.overBudgetCount = overBudgetCount;
+        this.month = month;
+        this.year = year;
+        this.totalBudgeted = totalBudgeted;
+        this.totalSpent = totalSpent;
+    }
+    
+    // Getters and Setters
+    public List<String> getCategories() { return categories; }
+    public void setCategories(List<String> categories) { this.categories = categories; }
+    
+    public List<Integer> getYears() { return years; }
+    public void setYears(List<Integer> years) { this.years = years; }
+    
+    public long getOverBudgetCount() { return overBudgetCount; }
+    public void setOverBudgetCount(long overBudgetCount) { this.overBudgetCount = overBudgetCount; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public BigDecimal getTotalBudgeted() { return totalBudgeted; }
+    public void setTotalBudgeted(BigDecimal totalBudgeted) { this.totalBudgeted = totalBudgeted; }
+    
+    public BigDecimal getTotalSpent() { return totalSpent; }
+    public void setTotalSpent(BigDecimal totalSpent) { this.totalSpent = totalSpent; }
+}
\ No newline at end of file
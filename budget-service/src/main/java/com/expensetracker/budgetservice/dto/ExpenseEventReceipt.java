@@ -0,0 +1,47 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of consuming a batch of expense spending events")
+public class ExpenseEventReceipt {
+    
+    @Schema(description = "Events applied to a budget", example = "480")
+    private int applied;
+    
+    @Schema(description = "Events already processed before and ignored", example = "15")
+    private int duplicates;
+    
+    @Schema(description = "Events for a month and category without a budget", example = "5")
+    private int unmatched;
+    
+    @Schema(description = "Events already included in a budget's last refresh", example = "2")
+    private int superseded;
+    
+    @Schema(description = "Malformed events that were skipped", example = "0")
+    private int rejected;
+    
+    // Constructors
+    public ExpenseEventReceipt() {}
+    
+    // Getters and Setters
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+    
+    public int getDuplicates() { return duplicates; }
+    public void setDuplicates(int duplicates) { this.duplicates = duplicates; }
+    
+    public int getUnmatched() { return unmatched; }
+    public void setUnmatched(int unmatched) { this.unmatched = unmatched; }
+    
+    public int getSuperseded() { return superseded; }
+    public void setSuperseded(int superseded) { this.superseded = superseded; }
+    
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d applied, %d duplicates, %d unmatched, %d superseded, %d rejected",
+                applied, duplicates, unmatched, superseded, rejected);
+    }
+}
\ No newline at end of file
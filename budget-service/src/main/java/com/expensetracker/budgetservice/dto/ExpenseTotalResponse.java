@@ -0,0 +1,32 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Expense service total of a user's expenses in a date range")
+public class ExpenseTotalResponse {
+    
+    @Schema(description = "Start date", example = "2024-01-01")
+    private LocalDate startDate;
+    
+    @Schema(description = "End date", example = "2024-01-31")
+    private LocalDate endDate;
+    
+    @Schema(description = "Total amount", example = "1250.75")
+    private BigDecimal totalAmount;
+    
+    // Constructors
+    public ExpenseTotalResponse() {}
+    
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of moving data keyed by legacy username-derived ids to user-service ids")
+public class LegacyUserIdMigrationReport {
+    
+    @Schema(description = "Number of users listed by user-service", example = "1200")
+    private long usersScanned;
+    
+    @Schema(description = "Number of users whose rows were moved to their user-service id", example = "1150")
+    private long usersMigrated;
+    
+    @Schema(description = "Number of users skipped because their legacy id is shared with or taken by another user", example = "0")
+    private long usersSkipped;
+    
+    @Schema(description = "Number of rows moved", example = "4800")
+    private long rowsMoved;
+    
+    @Schema(description = "Number of legacy budgets left in place because the user already has a budget for that category and month", example = "2")
+    private long budgetsConflicting;
+    
+    @Schema(description = "Total run duration in milliseconds", example = "5400")
+    private long durationMs;
+    
+    // Constructors
+    public LegacyUserIdMigrationReport() {}
+    
+    public LegacyUserIdMigrationReport(long usersScanned, long usersMigrated, long usersSkipped, long rowsMoved,
+                                       long budgetsConflicting, long durationMs) {
+        this.usersScanned = usersScanned;
+        this.usersMigrated = usersMigrated;
+        this.usersSkipped = usersSkipped;
+        this.rowsMoved = rowsMoved;
+        this.budgetsConflicting = budgetsConflicting;
+        this.durationMs = durationMs;
+    }
+    
+    // Getters and Setters
+    public long getUsersScanned() { return usersScanned; }
+    public void setUsersScanned(long usersScanned) { this.usersScanned = usersScanned; }
+    
+    public long getUsersMigrated() { return usersMigrated; }
+    public void setUsersMigrated(long usersMigrated) { this.usersMigrated = usersMigrated; }
+    
+    public long getUsersSkipped() { return usersSkipped; }
+    public void setUsersSkipped(long usersSkipped) { this.usersSkipped = usersSkipped; }
+    
+    public long getRowsMoved() { return rowsMoved; }
+    public void setRowsMoved(long rowsMoved) { this.rowsMoved = rowsMoved; }
+    
+    public long getBudgetsConflicting() { return budgetsConflicting; }
+    public void setBudgetsConflicting(long budgetsConflicting) { this.budgetsConflicting = budgetsConflicting; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d users scanned, %d migrated, %d skipped, %d rows moved, %d budgets conflicting in %d ms",
+                usersScanned, usersMigrated, usersSkipped, rowsMoved, budgetsConflicting, durationMs);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Collection;
+
+@Schema(description = "Expense service request for the category totals of many (user, year, month) keys")
+public class MonthlyCategoryTotalsRequest {
+    
+    @Schema(description = "Keys to fetch totals for")
+    private Collection<MonthlyTotalsKey> keys;
+    
+    // Constructors
+    public MonthlyCategoryTotalsRequest() {}
+    
+    public MonthlyCategoryTotalsRequest(Collection<MonthlyTotalsKey> keys) {
+        this.keys = keys;
+    }
+    
+    // Getters and Setters
+    public Collection<MonthlyTotalsKey> getKeys() { return keys; }
+    public void setKeys(Collection<MonthlyTotalsKey> keys) { this.keys = keys; }
+}
\ No newline at end of file
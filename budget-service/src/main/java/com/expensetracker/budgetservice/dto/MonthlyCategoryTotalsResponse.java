@@ -0,0 +1,44 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Schema(description = "Expense service category totals of one user for one month")
+public class MonthlyCategoryTotalsResponse {
+    
+    @Schema(description = "User ID", example = "123")
+    private Long userId;
+    
+    @Schema(description = "Year", example = "2024")
+    private Integer year;
+    
+    @Schema(description = "Month (1-12)", example = "3")
+    private Integer month;
+    
+    @Schema(description = "Total amount per category")
+    private Map<String, BigDecimal> totals;
+    
+    @Schema(description = "Id of the last expense event the totals include", example = "1042")
+    private Long throughEventId;
+    
+    // Constructors
+    public MonthlyCategoryTotalsResponse() {}
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public Map<String, BigDecimal> getTotals() { return totals; }
+    public void setTotals(Map<String, BigDecimal> totals) { this.totals = totals; }
+    
+    public Long getThroughEventId() { return throughEventId; }
+    public void setThroughEventId(Long throughEventId) { this.throughEventId = throughEventId; }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.expensetracker.budgetservice.dto;
+
+import com.expensetracker.budgetservice.entity.NotificationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Notifications of one type for one user, coalesced into a single message")
+public class NotificationDigest {
+    
+    @Schema(description = "User ID", example = "123")
+    private Long userId;
+    
+    @Schema(description = "Recipient address", example = "user123@example.com")
+    private String recipient;
+    
+    @Schema(description = "Notification type", example = "BUDGET_ALERT")
+    private NotificationType type;
+    
+    @Schema(description = "Subject of the digest", example = "3 Budget Alerts")
+    private String subject;
+    
+    @Schema(description = "Messages coalesced into the digest, oldest first")
+    private List<String> messages = new ArrayList<>();
+    
+    // Constructors
+    public NotificationDigest() {}
+    
+    public NotificationDigest(Long userId, NotificationType type) {
+        this.userId = userId;
+        this.recipient = "user" + userId + "@example.com";
+        this.type = type;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+    
+    public NotificationType getType() { return type; }
+    public void setType(NotificationType type) { this.type = type; }
+    
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    
+    public List<String> getMessages() { return messages; }
+    public void setMessages(List<String> messages) { this.messages = messages; }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.expensetracker.budgetservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of one run of a partitioned scheduler job on this replica")
+public class SchedulerJobReport {
+    
+    @Schema(description = "Job name", example = "budget-alert-check")
+    private String jobName;
+    
+    @Schema(description = "Run the partitions were processed for", example = "2024-01-15T08")
+    private String runKey;
+    
+    @Schema(description = "Partitions processed to completion by this replica", example = "12")
+    private int partitionsCompleted;
+    
+    @Schema(description = "Partitions skipped because they were done or leased by another replica", example = "4")
+    private int partitionsSkipped;
+    
+    @Schema(description = "Partitions that stopped early after an error or a lost lease", example = "0")
+    private int partitionsFailed;
+    
+    @Schema(description = "Rows processed by this replica", example = "5230")
+    private long rowsProcessed;
+    
+    @Schema(description = "Run duration in milliseconds", example = "1840")
+    private long durationMs;
+    
+    // Constructors
+    public SchedulerJobReport() {}
+    
+    public SchedulerJobReport(String jobName, String runKey) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+    }
+    
+    // Getters and Setters
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+    
+    public String getRunKey() { return runKey; }
+    public void setRunKey(String runKey) { this.runKey = runKey; }
+    
+    public int getPartitionsCompleted() { return partitionsCompleted; }
+    public void setPartitionsCompleted(int partitionsCompleted) { this.partitionsCompleted = partitionsCompleted; }
+    
+    public int getPartitionsSkipped() { return partitionsSkipped; }
+    public void setPartitionsSkipped(int partitionsSkipped) { this.partitionsSkipped = partitionsSkipped; }
+    
+    public int getPartitionsFailed() { return partitionsFailed; }
+    public void setPartitionsFailed(int partitionsFailed) { this.partitionsFailed = partitionsFailed; }
+    
+    public long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s [%s]: %d partitions completed, %d skipped, %d failed, %d rows, %d ms",
+                jobName, runKey, partitionsCompleted, partitionsSkipped, partitionsFailed, rowsProcessed, durationMs);
+    }
+}
\ No newline at end of file
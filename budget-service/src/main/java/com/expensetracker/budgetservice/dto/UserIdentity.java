@@ -0,0 +1,25 @@
+package com.expensetracker.budgetservice.dto;
+
+/**
+ * A user's id and username as listed by user-service's internal user directory
+ */
+public class UserIdentity {
+    
+    private Long id;
+    private String username;
+    
+    // Constructors
+    public UserIdentity() {}
+    
+    public UserIdentity(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+}
\ No newline at end of file
@@ -8,7 +8,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets", 
+@Table(name = "budgets",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category", "month", "year"}))
 public class Budget {
     
@@ -49,6 +49,10 @@ public class Budget {
     @Column(name = "spent_amount", precision = 12, scale = 2)
     private BigDecimal spentAmount = BigDecimal.ZERO;
     
+    // Last expense event included in spentAmount by a refresh; events up to it are skipped when they arrive
+    @Column(name = "spent_through_event_id")
+    private Long spentThroughEventId;
+    
     @Column(name = "alert_sent")
     private Boolean alertSent = false;
     
@@ -100,6 +104,10 @@ public class Budget {
         return !alertSent && getSpentPercentage().compareTo(threshold) >= 0;
     }
     
+    public boolean hasAppliedEventsAfter(Long throughEventId) {
+        return throughEventId != null && spentThroughEventId != null && spentThroughEventId > throughEventId;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -125,6 +133,9 @@ public class Budget {
     public BigDecimal getSpentAmount() { return spentAmount; }
     public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
     
+    public Long getSpentThroughEventId() { return spentThroughEventId; }
+    public void setSpentThroughEventId(Long spentThroughEventId) { this.spentThroughEventId = spentThroughEventId; }
+    
     public Boolean getAlertSent() { return alertSent; }
     public void setAlertSent(Boolean alertSent) { this.alertSent = alertSent; }
     
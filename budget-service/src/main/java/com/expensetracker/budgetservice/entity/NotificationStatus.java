@@ -0,0 +1,7 @@
+package com.expensetracker.budgetservice.entity;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.expensetracker.budgetservice.entity;
+
+public enum NotificationType {
+    BUDGET_ALERT,
+    WEEKLY_SUMMARY,
+    MONTHLY_REPORT
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.expensetracker.budgetservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key of an expense spending event that has been applied to the budgets.
+ */
+@Entity
+@Table(name = "processed_expense_events")
+public class ProcessedExpenseEvent {
+    
+    @Id
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+    
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+    
+    // Constructors
+    public ProcessedExpenseEvent() {}
+    
+    // Getters and Setters
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+    
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
\ No newline at end of file
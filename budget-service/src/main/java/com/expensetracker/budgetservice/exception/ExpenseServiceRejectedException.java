@@ -0,0 +1,20 @@
+package com.expensetracker.budgetservice.exception;
+
+/**
+ * Thrown when the expense service answered a lookup with a 4xx status, e.g. a rejected internal token or an invalid
+ * request. Such a failure is not retried and does not count against the circuit breaker; like an unavailable
+ * service, callers must keep their current data rather than treat the lookup as zero spending.
+ */
+public class ExpenseServiceRejectedException extends RuntimeException {
+    
+    private final int statusCode;
+    
+    public ExpenseServiceRejectedException(String message, int statusCode, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.expensetracker.budgetservice.exception;
+
+/**
+ * Thrown when a lookup in the expense service failed, timed out or was rejected by the circuit breaker or bulkhead.
+ * Callers must keep their current data rather than treat the lookup as zero spending.
+ */
+public class ExpenseServiceUnavailableException extends RuntimeException {
+    
+    public ExpenseServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.expensetracker.budgetservice.repository;
 
+import com.expensetracker.budgetservice.dto.MonthlyTotalsKey;
 import com.expensetracker.budgetservice.entity.Budget;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +28,10 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     // Find budget by user, category, month, and year
     Optional<Budget> findByUserIdAndCategoryAndMonthAndYear(Long userId, String category, Integer month, Integer year);
     
+    // Find and lock the budget an expense spending event applies to
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Budget> findLockedByUserIdAndCategoryAndMonthAndYear(Long userId, String category, Integer month, Integer year);
+    
     // Find budgets by user and year
     List<Budget> findByUserIdAndYearOrderByMonthAsc(Long userId, Integer year);
     
@@ -58,6 +66,49 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     @Query("SELECT DISTINCT b.year FROM Budget b WHERE b.userId = :userId ORDER BY b.year DESC")
     List<Integer> findDistinctYearsByUserId(@Param("userId") Long userId);
     
+    // Summarize a user's budgets per category and year in one pass: over-budget count, then the given month's
+    // budgeted and spent totals
+    @Query("SELECT b.category, b.year, " +
+           "SUM(CASE WHEN b.spentAmount > b.amount THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.month = :month AND b.year = :year THEN b.amount ELSE 0 END), " +
+           "SUM(CASE WHEN b.month = :month AND b.year = :year THEN b.spentAmount ELSE 0 END) " +
+           "FROM Budget b WHERE b.userId = :userId GROUP BY b.category, b.year")
+    List<Object[]> getSummaryRowsByUserId(@Param("userId") Long userId, @Param("month") Integer month, @Param("year") Integer year);
+    
+    // Keyset-page through the distinct users that own budgets
+    @Query("SELECT DISTINCT b.userId FROM Budget b WHERE b.userId > :afterUserId ORDER BY b.userId")
+    List<Long> findDistinctUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+    
+    // Keyset-page through the budget owners of one user-id hash partition (the double MOD keeps negative ids in range)
+    @Query("SELECT DISTINCT b.userId FROM Budget b " +
+           "WHERE MOD(MOD(b.userId, :partitions) + :partitions, :partitions) = :partition " +
+           "AND b.userId > :afterUserId ORDER BY b.userId")
+    List<Long> findDistinctUserIdsInPartitionAfter(@Param("partitions") int partitions,
+                                                   @Param("partition") int partition,
+                                                   @Param("afterUserId") Long afterUserId,
+                                                   Pageable pageable);
+    
+    // Find budgets of a set of users that have crossed the alert threshold without an alert
+    @Query("SELECT b FROM Budget b WHERE b.userId IN :userIds AND b.alertSent = false " +
+           "AND b.spentAmount * 100 >= b.amount * :threshold")
+    List<Budget> findBudgetsNeedingAlertByUserIds(@Param("userIds") Collection<Long> userIds,
+                                                  @Param("threshold") BigDecimal threshold);
+    
+    // Find budgets of a set of users for one month
+    List<Budget> findByUserIdInAndYearAndMonth(Collection<Long> userIds, Integer year, Integer month);
+    
+    // Find all budgets for a set of users
+    List<Budget> findByUserIdIn(Collection<Long> userIds);
+    
+    // Find the (user, year, month) groups of a set of users' budgets without loading or locking the budgets
+    @Query("SELECT DISTINCT new com.expensetracker.budgetservice.dto.MonthlyTotalsKey(b.userId, b.year, b.month) " +
+           "FROM Budget b WHERE b.userId IN :userIds")
+    List<MonthlyTotalsKey> findMonthlyTotalsKeysByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    // Find and lock all budgets for a set of users whose spending is about to be overwritten
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Budget> findLockedByUserIdIn(Collection<Long> userIds);
+    
     // Delete all budgets for a user
     void deleteByUserId(Long userId);
     
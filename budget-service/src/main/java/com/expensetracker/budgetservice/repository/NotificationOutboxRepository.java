@@ -0,0 +1,32 @@
+package com.expensetracker.budgetservice.repository;
+
+import com.expensetracker.budgetservice.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    
+    // Lock the oldest due notifications; rows locked by another dispatcher are skipped, not waited for
+    @Query(value = "SELECT * FROM notification_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<NotificationOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    // Delete notifications dispatched before the retention cutoff
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status = com.expensetracker.budgetservice.entity.NotificationStatus.SENT " +
+           "AND n.dispatchedAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Move all notifications of a user to another user id
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.userId = :newUserId WHERE n.userId = :userId")
+    int reassignUserId(@Param("userId") Long userId, @Param("newUserId") Long newUserId);
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.expensetracker.budgetservice.repository;
+
+import com.expensetracker.budgetservice.entity.ProcessedExpenseEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedExpenseEventRepository extends JpaRepository<ProcessedExpenseEvent, String> {
+    
+    // Record an event id; returns 0 if it was recorded before, i.e. the event is a redelivery
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO processed_expense_events (event_id, processed_at) VALUES (:eventId, :now)",
+           nativeQuery = true)
+    int markProcessed(@Param("eventId") String eventId, @Param("now") LocalDateTime now);
+    
+    // Delete event ids processed before the retention cutoff
+    @Modifying
+    @Query("DELETE FROM ProcessedExpenseEvent p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
\ No newline at end of file
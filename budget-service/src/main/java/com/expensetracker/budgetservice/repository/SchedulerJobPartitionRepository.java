@@ -0,0 +1,63 @@
+package com.expensetracker.budgetservice.repository;
+
+import com.expensetracker.budgetservice.entity.SchedulerJobPartition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerJobPartitionRepository extends JpaRepository<SchedulerJobPartition, Long> {
+    
+    // Create the partition row if no replica has yet; concurrent inserts are ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_job_partitions " +
+                   "(job_name, partition_id, last_user_id, rows_processed, completed) " +
+                   "VALUES (:jobName, :partitionId, " + Long.MIN_VALUE + ", 0, false)",
+           nativeQuery = true)
+    void ensurePartition(@Param("jobName") String jobName, @Param("partitionId") Integer partitionId);
+    
+    // Lock a partition row while deciding whether to take its lease
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SchedulerJobPartition> findByJobNameAndPartitionId(String jobName, Integer partitionId);
+    
+    // Check whether a partition has been completed for a run
+    boolean existsByJobNameAndPartitionIdAndRunKeyAndCompletedTrue(String jobName, Integer partitionId, String runKey);
+    
+    // Advance the checkpoint and renew the lease; updates nothing if the lease was lost
+    @Modifying
+    @Query("UPDATE SchedulerJobPartition p SET p.lastUserId = :lastUserId, " +
+           "p.rowsProcessed = p.rowsProcessed + :rows, p.leaseUntil = :leaseUntil, p.updatedAt = :now " +
+           "WHERE p.jobName = :jobName AND p.partitionId = :partitionId AND p.leaseOwner = :owner")
+    int checkpoint(@Param("jobName") String jobName,
+                   @Param("partitionId") Integer partitionId,
+                   @Param("owner") String owner,
+                   @Param("lastUserId") Long lastUserId,
+                   @Param("rows") long rows,
+                   @Param("leaseUntil") LocalDateTime leaseUntil,
+                   @Param("now") LocalDateTime now);
+    
+    // Mark the partition done for its run and give up the lease
+    @Modifying
+    @Query("UPDATE SchedulerJobPartition p SET p.completed = true, p.leaseOwner = null, p.leaseUntil = null, " +
+           "p.updatedAt = :now " +
+           "WHERE p.jobName = :jobName AND p.partitionId = :partitionId AND p.leaseOwner = :owner")
+    int complete(@Param("jobName") String jobName,
+                 @Param("partitionId") Integer partitionId,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now);
+    
+    // Give up the lease without completing, so another replica can resume from the checkpoint
+    @Modifying
+    @Query("UPDATE SchedulerJobPartition p SET p.leaseOwner = null, p.leaseUntil = null " +
+           "WHERE p.jobName = :jobName AND p.partitionId = :partitionId AND p.leaseOwner = :owner")
+    int release(@Param("jobName") String jobName,
+                @Param("partitionId") Integer partitionId,
+                @Param("owner") String owner);
+}
\ No newline at end of file
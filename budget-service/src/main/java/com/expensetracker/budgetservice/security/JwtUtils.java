@@ -12,13 +12,49 @@ import java.util.function.Function;
 @Component
 public class JwtUtils {
     
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
+    // Built once: the key and parser are immutable and thread-safe
+    private volatile JwtParser jwtParser;
+    
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
     
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser().verifyWith(getSigningKey()).build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
+    
+    /**
+     * Verify the token and build the principal from its claims in a single parse.
+     * Returns null when the token is invalid or expired, or was issued before the uid claim existed:
+     * such tokens identify the user only by a username-derived id that the stored data no longer uses,
+     * so the client has to sign in again.
+     */
+    public UserPrincipal parsePrincipal(String token) {
+        Claims claims = parseValidClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null) {
+            return null;
+        }
+        return new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class));
+    }
+    
     public String getUserNameFromJwtToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -33,9 +69,7 @@ public class JwtUtils {
     }
     
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -46,9 +80,12 @@ public class JwtUtils {
     }
     
     public Boolean validateJwtToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+    
+    private Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
-            return true;
+            return getParser().parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
             System.err.println("Invalid JWT token: " + e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -57,7 +94,9 @@ public class JwtUtils {
             System.err.println("JWT token is unsupported: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             System.err.println("JWT claims string is empty: " + e.getMessage());
+        } catch (JwtException e) {
+            System.err.println("Invalid JWT signature: " + e.getMessage());
         }
-        return false;
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.expensetracker.budgetservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user generations of the budget reads that share loads through {@link SingleFlight}.
+ * Every write to a user's budgets bumps the user's generation, once immediately and once after the transaction
+ * commits, and the readers append it to their single-flight keys, so a reader arriving after a write never joins
+ * a load that started before it. Generations are per replica, like the single-flights they key.
+ */
+@Component
+public class BudgetReadGenerations {
+    
+    // Users are hashed onto a fixed number of generations; a collision only keeps an unrelated read from sharing a load
+    private static final int GENERATION_STRIPES = 4096;
+    
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    
+    /**
+     * The single-flight key of a read of the user's budgets under the user's current generation
+     */
+    public String flightKey(String key, Long userId) {
+        return key + "@" + generations.get(generationStripe(userId));
+    }
+    
+    /**
+     * Bump the generation of a user whose budgets are being written, now and again after the transaction commits
+     */
+    public void bump(Long userId) {
+        int stripe = generationStripe(userId);
+        generations.incrementAndGet(stripe);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.incrementAndGet(stripe);
+                }
+            });
+        }
+    }
+    
+    public void bumpAll(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            bump(userId);
+        }
+    }
+    
+    private static int generationStripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), GENERATION_STRIPES);
+    }
+}
\ No newline at end of file
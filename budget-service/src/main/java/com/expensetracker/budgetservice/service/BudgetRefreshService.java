@@ -0,0 +1,195 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.BudgetRefreshReport;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.budgetservice.dto.MonthlyTotalsKey;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@Service
+public class BudgetRefreshService {
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private ExpenseServiceClient expenseServiceClient;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private BudgetReadGenerations readGenerations;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${budget.alert.threshold:80}")
+    private BigDecimal alertThreshold;
+    
+    @Value("${budget.refresh.users-per-chunk:200}")
+    private int usersPerChunk;
+    
+    @Value("${budget.refresh.keys-per-request:500}")
+    private int keysPerRequest;
+    
+    /**
+     * Refresh the spent amount of every budget.
+     * Budget owners are paged by user id, each page is committed in its own transaction,
+     * and budgets are grouped by (user, year, month) so that bulk expense service calls
+     * return the totals of all categories for every group in the page.
+     * The expense service is called with the internal token, since the page spans many users.
+     * Each budget records the last expense event its new spent amount includes, so the events up to it are not
+     * applied a second time when they arrive.
+     * The totals of a page are fetched before its transaction starts, so no budget is locked during the remote calls.
+     */
+    public BudgetRefreshReport refreshAll() {
+        long startTime = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        long budgetsProcessed = 0;
+        long budgetsSkipped = 0;
+        long groupsFetched = 0;
+        int chunksCommitted = 0;
+        Long afterUserId = Long.MIN_VALUE;
+        
+        while (true) {
+            List<Long> userIds = budgetRepository.findDistinctUserIdsAfter(
+                    afterUserId, PageRequest.of(0, usersPerChunk));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            
+            Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> totalsByKey = fetchChunkTotals(userIds);
+            long[] chunkResult = transactionTemplate.execute(status -> applyChunk(userIds, totalsByKey));
+            if (chunkResult != null) {
+                budgetsProcessed += chunkResult[0];
+                groupsFetched += chunkResult[1];
+                budgetsSkipped += chunkResult[2];
+            }
+            chunksCommitted++;
+            
+            if (userIds.size() < usersPerChunk) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        
+        BudgetRefreshReport report = new BudgetRefreshReport(
+                budgetsProcessed, budgetsSkipped, groupsFetched, chunksCommitted, System.currentTimeMillis() - startTime);
+        System.out.println("Budget spending refresh completed: " + report);
+        return report;
+    }
+    
+    /**
+     * Refresh all budgets owned by the given users in the caller's transaction; used by the partitioned
+     * nightly reconcile job. Returns the number of budgets refreshed.
+     */
+    public long refreshUsers(List<Long> userIds) {
+        return applyChunk(userIds, fetchChunkTotals(userIds))[0];
+    }
+    
+    /**
+     * Fetch the totals of every (user, year, month) group the users own budgets in.
+     * The groups are read without locking, so no budget is locked while the expense service is called.
+     */
+    private Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> fetchChunkTotals(List<Long> userIds) {
+        return fetchCategoryTotals(budgetRepository.findMonthlyTotalsKeysByUserIdIn(userIds));
+    }
+    
+    /**
+     * Lock all budgets owned by the given users and apply the fetched totals to them.
+     * Budgets whose totals could not be fetched keep their current spent amount and high-water mark,
+     * as do budgets that an event newer than the totals has reached since they were fetched.
+     * Returns the number of budgets refreshed, (user, year, month) groups fetched and budgets skipped.
+     */
+    private long[] applyChunk(List<Long> userIds, Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> totalsByKey) {
+        List<Budget> budgets = budgetRepository.findLockedByUserIdIn(userIds);
+        readGenerations.bumpAll(userIds);
+        
+        Map<MonthlyTotalsKey, List<Budget>> groups = budgets.stream()
+                .collect(Collectors.groupingBy(
+                        budget -> new MonthlyTotalsKey(budget.getUserId(), budget.getYear(), budget.getMonth()),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+        
+        long budgetsSkipped = 0;
+        for (Map.Entry<MonthlyTotalsKey, List<Budget>> group : groups.entrySet()) {
+            MonthlyCategoryTotalsResponse categoryTotals = totalsByKey.get(group.getKey());
+            if (categoryTotals == null) {
+                budgetsSkipped += group.getValue().size();
+                continue;
+            }
+            
+            for (Budget budget : group.getValue()) {
+                if (budget.hasAppliedEventsAfter(categoryTotals.getThroughEventId())) {
+                    budgetsSkipped++;
+                    continue;
+                }
+                
+                budget.setSpentAmount(categoryTotals.getTotals().getOrDefault(budget.getCategory(), BigDecimal.ZERO));
+                budget.setSpentThroughEventId(categoryTotals.getThroughEventId());
+                
+                // Check if alert should be sent
+                if (budget.shouldSendAlert(alertThreshold)) {
+                    notificationService.sendBudgetAlert(budget);
+                    budget.setAlertSent(true);
+                }
+            }
+        }
+        
+        budgetRepository.saveAll(budgets);
+        budgetRepository.flush();
+        entityManager.clear();
+        
+        return new long[] { budgets.size() - budgetsSkipped, totalsByKey.size(), budgetsSkipped };
+    }
+    
+    /**
+     * Fetch the category totals of all keys, using as few bulk requests as the per-request key limit allows.
+     * The requests are issued concurrently and joined before the chunk is applied.
+     * Keys of a failed request are left out of the result.
+     */
+    private Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> fetchCategoryTotals(Collection<MonthlyTotalsKey> keys) {
+        List<MonthlyTotalsKey> pending = new ArrayList<>(keys);
+        List<CompletableFuture<Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse>>> requests = new ArrayList<>();
+        
+        for (int from = 0; from < pending.size(); from += keysPerRequest) {
+            List<MonthlyTotalsKey> batch = pending.subList(from, Math.min(from + keysPerRequest, pending.size()));
+            requests.add(expenseServiceClient.getCategoryTotalsByMonthsAsync(batch));
+        }
+        
+        Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> totalsByKey = new HashMap<>();
+        for (CompletableFuture<Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse>> request : requests) {
+            try {
+                totalsByKey.putAll(request.join());
+            } catch (CompletionException e) {
+                System.err.println("Skipping budgets of a failed expense service lookup: " + e.getCause().getMessage());
+            }
+        }
+        
+        return totalsByKey;
+    }
+}
\ No newline at end of file
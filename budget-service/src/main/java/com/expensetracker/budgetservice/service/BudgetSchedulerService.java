@@ -0,0 +1,416 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.SchedulerJobReport;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the budget jobs (alert check, weekly summary, monthly report, spending reconcile) as partitioned jobs.
+ * Budget owners are split into user-id hash partitions that are processed concurrently on a
+ * bounded worker pool. Each partition is leased and checkpointed in the database after every chunk,
+ * so replicas running the same schedule share the partitions. A replica keeps re-scanning the partitions
+ * of its run that are leased elsewhere until they are completed; one left behind by a replica that stopped
+ * is taken over from its last checkpoint once its lease expires. Manual runs use their own job names, so
+ * they never reset the partitions of a scheduled run.
+ */
+@Service
+public class BudgetSchedulerService {
+    
+    static final String ALERT_CHECK_JOB = "budget-alert-check";
+    static final String WEEKLY_SUMMARY_JOB = "weekly-summary";
+    static final String MONTHLY_REPORT_JOB = "monthly-report";
+    static final String RECONCILE_JOB = "budget-reconcile";
+    static final String MANUAL_JOB_SUFFIX = "-manual";
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private BudgetRefreshService budgetRefreshService;
+    
+    @Autowired
+    private BudgetReadGenerations readGenerations;
+    
+    @Autowired
+    private JobPartitionCoordinator partitionCoordinator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${budget.scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    
+    @Value("${budget.scheduler.partitions:16}")
+    private int partitions;
+    
+    @Value("${budget.scheduler.worker-threads:4}")
+    private int workerThreads;
+    
+    @Value("${budget.scheduler.users-per-chunk:200}")
+    private int usersPerChunk;
+    
+    @Value("${budget.scheduler.rescan-seconds:30}")
+    private long rescanSeconds;
+    
+    @Value("${budget.scheduler.partition-attempts:3}")
+    private int partitionAttempts;
+    
+    @Value("${budget.alert.threshold:80}")
+    private BigDecimal alertThreshold;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    
+    private ExecutorService workerPool;
+    
+    @PostConstruct
+    void startWorkers() {
+        workerPool = Executors.newFixedThreadPool(workerThreads,
+                WorkerThreads.factory("budget-scheduler-worker-", virtualThreads));
+    }
+    
+    @PreDestroy
+    void stopWorkers() {
+        workerPool.shutdownNow();
+    }
+    
+    @Scheduled(cron = "${budget.scheduler.alert-check-cron:0 0 * * * *}")
+    public void scheduledBudgetAlertCheck() {
+        if (schedulerEnabled) {
+            runBudgetAlertCheck(ALERT_CHECK_JOB, LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).toString());
+        }
+    }
+    
+    @Scheduled(cron = "${budget.scheduler.weekly-summary-cron:0 0 8 * * MON}")
+    public void scheduledWeeklySummary() {
+        if (schedulerEnabled) {
+            LocalDate today = LocalDate.now();
+            runWeeklySummary(WEEKLY_SUMMARY_JOB, String.format("%d-W%02d",
+                    today.get(IsoFields.WEEK_BASED_YEAR), today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+        }
+    }
+    
+    @Scheduled(cron = "${budget.scheduler.monthly-report-cron:0 0 8 1 * *}")
+    public void scheduledMonthlyReport() {
+        if (schedulerEnabled) {
+            runMonthlyReport(MONTHLY_REPORT_JOB, YearMonth.now().minusMonths(1).toString());
+        }
+    }
+    
+    /**
+     * Reconcile every budget with the expense service, correcting spending that events alone could not,
+     * such as events lost while a budget did not exist yet or an outage outlasting the event retries.
+     * Runs once a day across the replicas; the admin refresh endpoint still refreshes everything on demand.
+     */
+    @Scheduled(cron = "${budget.refresh.reconcile-cron:0 45 2 * * *}")
+    public void scheduledReconcile() {
+        if (schedulerEnabled) {
+            runJob(RECONCILE_JOB, LocalDate.now().toString(), budgetRefreshService::refreshUsers);
+        }
+    }
+    
+    /**
+     * Run the alert check now. Manual runs get their own run key, so they are not skipped as already done,
+     * under their own job name, so they leave the partitions of the scheduled runs alone.
+     */
+    public SchedulerJobReport triggerBudgetAlertCheck() {
+        return runBudgetAlertCheck(ALERT_CHECK_JOB + MANUAL_JOB_SUFFIX, manualRunKey());
+    }
+    
+    public SchedulerJobReport triggerWeeklySummary() {
+        return runWeeklySummary(WEEKLY_SUMMARY_JOB + MANUAL_JOB_SUFFIX, manualRunKey());
+    }
+    
+    public SchedulerJobReport triggerMonthlyReport() {
+        return runMonthlyReport(MONTHLY_REPORT_JOB + MANUAL_JOB_SUFFIX, manualRunKey());
+    }
+    
+    private SchedulerJobReport runBudgetAlertCheck(String jobName, String runKey) {
+        return runJob(jobName, runKey, userIds -> {
+            List<Budget> budgets = budgetRepository.findBudgetsNeedingAlertByUserIds(userIds, alertThreshold);
+            for (Budget budget : budgets) {
+                if (budget.shouldSendAlert(alertThreshold)) {
+                    readGenerations.bump(budget.getUserId());
+                    notificationService.sendBudgetAlert(budget);
+                    budget.setAlertSent(true);
+                }
+            }
+            budgetRepository.saveAll(budgets);
+            return (long) budgets.size();
+        });
+    }
+    
+    private SchedulerJobReport runWeeklySummary(String jobName, String runKey) {
+        YearMonth month = YearMonth.now();
+        return runJob(jobName, runKey, userIds -> {
+            List<Budget> budgets = budgetRepository.findByUserIdInAndYearAndMonth(
+                    userIds, month.getYear(), month.getMonthValue());
+            for (Map.Entry<Long, List<Budget>> userBudgets : groupByUser(budgets).entrySet()) {
+                notificationService.sendWeeklyBudgetSummary(
+                        userBudgets.getKey(), describeBudgets("Budget progress for", month, userBudgets.getValue()));
+            }
+            return (long) budgets.size();
+        });
+    }
+    
+    private SchedulerJobReport runMonthlyReport(String jobName, String runKey) {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        return runJob(jobName, runKey, userIds -> {
+            List<Budget> budgets = budgetRepository.findByUserIdInAndYearAndMonth(
+                    userIds, month.getYear(), month.getMonthValue());
+            for (Map.Entry<Long, List<Budget>> userBudgets : groupByUser(budgets).entrySet()) {
+                notificationService.sendMonthlyBudgetReport(
+                        userBudgets.getKey(), describeBudgets("Budget report for", month, userBudgets.getValue()));
+            }
+            return (long) budgets.size();
+        });
+    }
+    
+    /**
+     * Process every partition of a job on the worker pool and record the job's metrics.
+     * The chunk processor receives the user ids of one chunk and returns the rows it processed.
+     * Partitions leased by another replica are re-scanned every few seconds until that replica completes them
+     * or their lease expires and this replica takes them over; failed partitions are retried a few times.
+     */
+    private SchedulerJobReport runJob(String jobName, String runKey, Function<List<Long>, Long> chunkProcessor) {
+        long startTime = System.currentTimeMillis();
+        String owner = instanceId + "/" + UUID.randomUUID();
+        
+        SchedulerJobReport report = new SchedulerJobReport(jobName, runKey);
+        Map<Integer, Integer> failedAttempts = new HashMap<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            pending.add(partition);
+        }
+        
+        while (!pending.isEmpty()) {
+            Map<Integer, Future<PartitionOutcome>> outcomes = new LinkedHashMap<>();
+            for (Integer partitionId : pending) {
+                outcomes.put(partitionId, workerPool.submit(
+                        () -> processPartition(jobName, runKey, partitionId, owner, chunkProcessor)));
+            }
+            
+            List<Integer> rescan = new ArrayList<>();
+            boolean leasedElsewhere = false;
+            for (Map.Entry<Integer, Future<PartitionOutcome>> entry : outcomes.entrySet()) {
+                int partitionId = entry.getKey();
+                PartitionOutcome outcome = await(jobName, entry.getValue());
+                report.setRowsProcessed(report.getRowsProcessed() + outcome.rows);
+                
+                if (outcome.status == PartitionStatus.COMPLETED) {
+                    report.setPartitionsCompleted(report.getPartitionsCompleted() + 1);
+                } else if (outcome.status == PartitionStatus.SKIPPED) {
+                    if (partitionCoordinator.isCompleted(jobName, partitionId, runKey)) {
+                        report.setPartitionsSkipped(report.getPartitionsSkipped() + 1);
+                    } else {
+                        rescan.add(partitionId);
+                        leasedElsewhere = true;
+                    }
+                } else if (failedAttempts.merge(partitionId, 1, Integer::sum) < partitionAttempts) {
+                    rescan.add(partitionId);
+                } else {
+                    report.setPartitionsFailed(report.getPartitionsFailed() + 1);
+                }
+            }
+            pending = rescan;
+            
+            if (leasedElsewhere && !pending.isEmpty() && !sleepBeforeRescan()) {
+                report.setPartitionsFailed(report.getPartitionsFailed() + pending.size());
+                break;
+            }
+        }
+        report.setDurationMs(System.currentTimeMillis() - startTime);
+        
+        recordMetrics(report);
+        System.out.println("Scheduler job finished: " + report);
+        return report;
+    }
+    
+    private PartitionOutcome await(String jobName, Future<PartitionOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PartitionOutcome.failed(0);
+        } catch (ExecutionException e) {
+            System.err.println("Scheduler job " + jobName + " partition failed: " + e.getCause().getMessage());
+            return PartitionOutcome.failed(0);
+        }
+    }
+    
+    /**
+     * Wait before looking at the partitions leased elsewhere again; false if interrupted.
+     */
+    private boolean sleepBeforeRescan() {
+        try {
+            TimeUnit.SECONDS.sleep(rescanSeconds);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private PartitionOutcome processPartition(String jobName, String runKey, int partitionId, String owner,
+                                              Function<List<Long>, Long> chunkProcessor) {
+        Long afterUserId = partitionCoordinator.claim(jobName, partitionId, runKey, owner);
+        if (afterUserId == null) {
+            return PartitionOutcome.skipped();
+        }
+        
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long rows = 0;
+        try {
+            while (true) {
+                List<Long> userIds = budgetRepository.findDistinctUserIdsInPartitionAfter(
+                        partitions, partitionId, afterUserId, PageRequest.of(0, usersPerChunk));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                
+                Long lastUserId = userIds.get(userIds.size() - 1);
+                Long chunkRows = transactionTemplate.execute(status -> {
+                    long processed = chunkProcessor.apply(userIds);
+                    if (!partitionCoordinator.checkpoint(jobName, partitionId, owner, lastUserId, processed)) {
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return processed;
+                });
+                if (chunkRows == null) {
+                    System.err.println("Scheduler job " + jobName + " lost the lease of partition " + partitionId);
+                    return PartitionOutcome.failed(rows);
+                }
+                
+                rows += chunkRows;
+                afterUserId = lastUserId;
+                if (userIds.size() < usersPerChunk) {
+                    break;
+                }
+            }
+            
+            partitionCoordinator.complete(jobName, partitionId, owner);
+            return PartitionOutcome.completed(rows);
+        } catch (RuntimeException e) {
+            System.err.println("Scheduler job " + jobName + " failed on partition " + partitionId + ": " + e.getMessage());
+            partitionCoordinator.release(jobName, partitionId, owner);
+            return PartitionOutcome.failed(rows);
+        }
+    }
+    
+    private void recordMetrics(SchedulerJobReport report) {
+        Timer.builder("budget.scheduler.job.duration")
+                .description("Duration of a scheduler job run on this replica")
+                .tag("job", report.getJobName())
+                .register(meterRegistry)
+                .record(report.getDurationMs(), TimeUnit.MILLISECONDS);
+        Counter.builder("budget.scheduler.job.rows")
+                .description("Rows processed by scheduler jobs on this replica")
+                .tag("job", report.getJobName())
+                .register(meterRegistry)
+                .increment(report.getRowsProcessed());
+        Counter.builder("budget.scheduler.job.partitions.failed")
+                .description("Partitions that stopped early after an error or a lost lease")
+                .tag("job", report.getJobName())
+                .register(meterRegistry)
+                .increment(report.getPartitionsFailed());
+    }
+    
+    private Map<Long, List<Budget>> groupByUser(List<Budget> budgets) {
+        return budgets.stream().collect(Collectors.groupingBy(Budget::getUserId, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    private String describeBudgets(String title, YearMonth month, List<Budget> budgets) {
+        StringBuilder message = new StringBuilder(title)
+                .append(' ')
+                .append(month.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH))
+                .append(' ')
+                .append(month.getYear())
+                .append(':');
+        for (Budget budget : budgets) {
+            message.append(String.format("%n- %s: %.2f of %.2f %s (%.1f%%)%s",
+                    budget.getCategory(),
+                    budget.getSpentAmount(),
+                    budget.getAmount(),
+                    budget.getCurrency(),
+                    budget.getSpentPercentage(),
+                    budget.isOverBudget() ? " - over budget" : ""));
+        }
+        return message.toString();
+    }
+    
+    private String manualRunKey() {
+        return "manual-" + System.currentTimeMillis();
+    }
+    
+    private enum PartitionStatus {
+        COMPLETED,
+        SKIPPED,
+        FAILED
+    }
+    
+    private static class PartitionOutcome {
+        private final PartitionStatus status;
+        private final long rows;
+        
+        private PartitionOutcome(PartitionStatus status, long rows) {
+            this.status = status;
+            this.rows = rows;
+        }
+        
+        static PartitionOutcome completed(long rows) {
+            return new PartitionOutcome(PartitionStatus.COMPLETED, rows);
+        }
+        
+        static PartitionOutcome skipped() {
+            return new PartitionOutcome(PartitionStatus.SKIPPED, 0);
+        }
+        
+        static PartitionOutcome failed(long rows) {
+            return new PartitionOutcome(PartitionStatus.FAILED, rows);
+        }
+    }
+}
\ No newline at end of file
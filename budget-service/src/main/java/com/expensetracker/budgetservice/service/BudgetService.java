@@ -1,20 +1,33 @@
 package com.expensetracker.budgetservice.service;
 
+import com.expensetracker.budgetservice.dto.BudgetRefreshReport;
 import com.expensetracker.budgetservice.dto.BudgetRequest;
 import com.expensetracker.budgetservice.dto.BudgetResponse;
+import com.expensetracker.budgetservice.dto.BudgetSummaryResponse;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
 import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.exception.ExpenseServiceRejectedException;
+import com.expensetracker.budgetservice.exception.ExpenseServiceUnavailableException;
 import com.expensetracker.budgetservice.repository.BudgetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +43,18 @@ public class BudgetService {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private BudgetRefreshService budgetRefreshService;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Autowired
+    private BudgetReadGenerations readGenerations;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Value("${budget.alert.threshold:80}")
     private BigDecimal alertThreshold;
     
@@ -48,7 +73,14 @@ public class BudgetService {
         budget.setYear(request.getYear());
         budget.setCurrency(request.getCurrency());
         
-        Budget savedBudget = budgetRepository.save(budget);
+        // Fetched before the row is written, so nothing is locked during the remote call
+        MonthlyCategoryTotalsResponse totals = fetchSeedTotals(userId, request.getMonth(), request.getYear());
+        
+        readGenerations.bump(userId);
+        Budget savedBudget = budgetRepository.saveAndFlush(budget);
+        if (totals != null) {
+            applyTotals(savedBudget, totals);
+        }
         return mapToResponse(savedBudget);
     }
     
@@ -56,12 +88,30 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
         
+        // Spending of the new category and month is fetched before the budget is locked
+        MonthlyCategoryTotalsResponse totals = isRekeyedBy(budget, request)
+                ? fetchSeedTotals(userId, request.getMonth(), request.getYear())
+                : null;
+        entityManager.refresh(budget, LockModeType.PESSIMISTIC_WRITE);
+        boolean rekeyed = isRekeyedBy(budget, request);
+        readGenerations.bump(userId);
+        
         budget.setCategory(request.getCategory());
         budget.setAmount(request.getAmount());
         budget.setMonth(request.getMonth());
         budget.setYear(request.getYear());
         budget.setCurrency(request.getCurrency());
         
+        // Spending of the old category and month does not carry over
+        if (rekeyed) {
+            budget.setSpentAmount(BigDecimal.ZERO);
+            budget.setSpentThroughEventId(null);
+            budget.setAlertSent(false);
+            if (totals != null) {
+                applyTotals(budget, totals);
+            }
+        }
+        
         Budget updatedBudget = budgetRepository.save(budget);
         return mapToResponse(updatedBudget);
     }
@@ -96,51 +146,46 @@ public class BudgetService {
     public void deleteBudget(Long budgetId, Long userId) {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
+        readGenerations.bump(userId);
         budgetRepository.delete(budget);
     }
     
-    public BudgetResponse updateBudgetSpending(Long budgetId, String authToken) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .orElseThrow(() -> new RuntimeException("Budget not found"));
-        
-        // Fetch actual spending from expense service
-        BigDecimal actualSpending = expenseServiceClient.getTotalExpensesByUserAndCategoryAndMonth(
-                authToken, budget.getUserId(), budget.getCategory(), budget.getMonth(), budget.getYear());
-        
-        budget.setSpentAmount(actualSpending);
+    public BudgetResponse updateBudgetSpending(Long budgetId, Long userId) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
         
-        // Check if alert should be sent
-        if (budget.shouldSendAlert(alertThreshold)) {
-            notificationService.sendBudgetAlert(budget);
-            budget.setAlertSent(true);
-        }
+        // A failed lookup throws and leaves the budget unchanged; the budget is only locked once the totals are in
+        MonthlyCategoryTotalsResponse totals = expenseServiceClient.getCategoryTotalsByUserAndMonth(
+                userId, budget.getMonth(), budget.getYear());
+        entityManager.refresh(budget, LockModeType.PESSIMISTIC_WRITE);
+        readGenerations.bump(userId);
+        applyTotals(budget, totals);
         
         Budget updatedBudget = budgetRepository.save(budget);
         return mapToResponse(updatedBudget);
     }
     
-    public void refreshAllBudgetSpending(String authToken) {
-        List<Budget> allBudgets = budgetRepository.findAll();
-        
-        for (Budget budget : allBudgets) {
-            BigDecimal actualSpending = expenseServiceClient.getTotalExpensesByUserAndCategoryAndMonth(
-                    authToken, budget.getUserId(), budget.getCategory(), budget.getMonth(), budget.getYear());
-            
-            budget.setSpentAmount(actualSpending);
-            
-            // Check if alert should be sent
-            if (budget.shouldSendAlert(alertThreshold)) {
-                notificationService.sendBudgetAlert(budget);
-                budget.setAlertSent(true);
-            }
-        }
-        
-        budgetRepository.saveAll(allBudgets);
+    /**
+     * Refresh spending for all budgets.
+     * Runs outside the class-level transaction so each chunk commits on its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BudgetRefreshReport refreshAllBudgetSpending() {
+        return budgetRefreshService.refreshAll();
     }
     
+    /**
+     * Get a user's over-budget entries; identical concurrent calls share one query, unless a write to the user's
+     * budgets happened in between.
+     * Runs without a transaction of its own, so callers waiting on a shared query do not each hold a connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BudgetResponse> getOverBudgets(Long userId) {
-        List<Budget> overBudgets = budgetRepository.findOverBudgetsByUserId(userId);
-        return overBudgets.stream().map(this::mapToResponse).collect(Collectors.toList());
+        String flightKey = readGenerations.flightKey("over-budgets:" + userId, userId);
+        return singleFlight.execute("over-budgets", flightKey, () -> {
+            List<Budget> overBudgets = budgetRepository.findOverBudgetsByUserId(userId);
+            return overBudgets.stream().map(this::mapToResponse).collect(Collectors.toUnmodifiableList());
+        });
     }
     
     public BudgetResponse getCurrentMonthBudget(Long userId, String category) {
@@ -159,6 +204,81 @@ public class BudgetService {
         return budgetRepository.findDistinctYearsByUserId(userId);
     }
     
+    /**
+     * Get a user's budget summary from one aggregate query, one row per category and year, without loading
+     * any budget entities; identical concurrent calls share the query, unless a write to the user's budgets happened
+     * in between.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BudgetSummaryResponse getBudgetSummary(Long userId) {
+        LocalDate now = LocalDate.now();
+        int month = now.getMonthValue();
+        int year = now.getYear();
+        String flightKey = readGenerations.flightKey("budget-summary:" + userId + ":" + year + "-" + month, userId);
+        return singleFlight.execute("budget-summary", flightKey, () -> {
+            Set<String> categories = new TreeSet<>();
+            Set<Integer> years = new TreeSet<>(Comparator.reverseOrder());
+            long overBudgetCount = 0;
+            BigDecimal totalBudgeted = BigDecimal.ZERO;
+            BigDecimal totalSpent = BigDecimal.ZERO;
+            for (Object[] row : budgetRepository.getSummaryRowsByUserId(userId, month, year)) {
+                categories.add((String) row[0]);
+                years.add(((Number) row[1]).intValue());
+                overBudgetCount += ((Number) row[2]).longValue();
+                totalBudgeted = totalBudgeted.add(toBigDecimal(row[3]));
+                totalSpent = totalSpent.add(toBigDecimal(row[4]));
+            }
+            return new BudgetSummaryResponse(List.copyOf(categories), List.copyOf(years), overBudgetCount,
+                    month, year, totalBudgeted, totalSpent);
+        });
+    }
+    
+    /**
+     * Set a locked budget's spent amount from the expense service, together with the last expense event the
+     * amount includes; the events up to it are skipped when they arrive, instead of being counted twice.
+     * Totals older than an event the budget applied while they were fetched are dropped.
+     */
+    private void applyTotals(Budget budget, MonthlyCategoryTotalsResponse totals) {
+        if (budget.hasAppliedEventsAfter(totals.getThroughEventId())) {
+            return;
+        }
+        
+        budget.setSpentAmount(totals.getTotals().getOrDefault(budget.getCategory(), BigDecimal.ZERO));
+        budget.setSpentThroughEventId(totals.getThroughEventId());
+        
+        // Check if alert should be sent
+        if (budget.shouldSendAlert(alertThreshold)) {
+            notificationService.sendBudgetAlert(budget);
+            budget.setAlertSent(true);
+        }
+    }
+    
+    /**
+     * Fetch the spending a new or re-keyed budget already has, or null if the expense service is unavailable
+     * or rejects the lookup; the budget then starts from zero and the nightly reconciliation catches it up.
+     */
+    private MonthlyCategoryTotalsResponse fetchSeedTotals(Long userId, Integer month, Integer year) {
+        try {
+            return expenseServiceClient.getCategoryTotalsByUserAndMonth(userId, month, year);
+        } catch (ExpenseServiceUnavailableException | ExpenseServiceRejectedException e) {
+            System.err.println("Budget of user " + userId + " starts without its past spending: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private static boolean isRekeyedBy(Budget budget, BudgetRequest request) {
+        return !Objects.equals(budget.getCategory(), request.getCategory())
+                || !Objects.equals(budget.getMonth(), request.getMonth())
+                || !Objects.equals(budget.getYear(), request.getYear());
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+    
     private BudgetResponse mapToResponse(Budget budget) {
         return new BudgetResponse(
                 budget.getId(),
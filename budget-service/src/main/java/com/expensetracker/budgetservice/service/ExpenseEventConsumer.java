@@ -0,0 +1,120 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.ExpenseEventReceipt;
+import com.expensetracker.budgetservice.dto.ExpenseSpendingEvent;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import com.expensetracker.budgetservice.repository.ProcessedExpenseEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies expense spending events published by expense-service to the matching budgets.
+ * Each event adjusts one budget's spent amount by its delta; the event id is recorded in the same
+ * transaction, so a redelivered event is recognised and ignored. Events already included in the budget's last
+ * refresh, those with a sequence up to its spent-through event id, are skipped as well.
+ */
+@Service
+public class ExpenseEventConsumer {
+    
+    // Lock budgets in a fixed order so that concurrent batches cannot deadlock
+    private static final Comparator<ExpenseSpendingEvent> BUDGET_ORDER = Comparator
+            .comparing(ExpenseSpendingEvent::getUserId)
+            .thenComparing(ExpenseSpendingEvent::getYear)
+            .thenComparing(ExpenseSpendingEvent::getMonth)
+            .thenComparing(ExpenseSpendingEvent::getCategory);
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private ProcessedExpenseEventRepository processedEventRepository;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private BudgetReadGenerations readGenerations;
+    
+    @Value("${budget.alert.threshold:80}")
+    private BigDecimal alertThreshold;
+    
+    @Value("${budget.events.processed-retention-days:30}")
+    private int processedRetentionDays;
+    
+    @Transactional
+    public ExpenseEventReceipt consume(List<ExpenseSpendingEvent> events) {
+        ExpenseEventReceipt receipt = new ExpenseEventReceipt();
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<ExpenseSpendingEvent> ordered = new ArrayList<>(events.size());
+        for (ExpenseSpendingEvent event : events) {
+            if (isValid(event)) {
+                ordered.add(event);
+            } else {
+                System.err.println("Skipping malformed expense event: " + event.getEventId());
+                receipt.setRejected(receipt.getRejected() + 1);
+            }
+        }
+        ordered.sort(BUDGET_ORDER);
+        
+        for (ExpenseSpendingEvent event : ordered) {
+            if (processedEventRepository.markProcessed(event.getEventId(), now) == 0) {
+                receipt.setDuplicates(receipt.getDuplicates() + 1);
+                continue;
+            }
+            
+            Optional<Budget> budget = budgetRepository.findLockedByUserIdAndCategoryAndMonthAndYear(
+                    event.getUserId(), event.getCategory(), event.getMonth(), event.getYear());
+            if (budget.isEmpty()) {
+                receipt.setUnmatched(receipt.getUnmatched() + 1);
+                continue;
+            }
+            
+            Long spentThroughEventId = budget.get().getSpentThroughEventId();
+            if (spentThroughEventId != null && event.getSequence() != null && event.getSequence() <= spentThroughEventId) {
+                receipt.setSuperseded(receipt.getSuperseded() + 1);
+                continue;
+            }
+            
+            readGenerations.bump(event.getUserId());
+            applyDelta(budget.get(), event.getAmountDelta());
+            receipt.setApplied(receipt.getApplied() + 1);
+        }
+        
+        return receipt;
+    }
+    
+    @Scheduled(cron = "${budget.events.cleanup-cron:0 15 4 * * *}")
+    @Transactional
+    public void deleteProcessedEventIds() {
+        int deleted = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(processedRetentionDays));
+        System.out.println("Deleted " + deleted + " processed expense event ids");
+    }
+    
+    private void applyDelta(Budget budget, BigDecimal amountDelta) {
+        BigDecimal spent = budget.getSpentAmount() != null ? budget.getSpentAmount() : BigDecimal.ZERO;
+        budget.setSpentAmount(spent.add(amountDelta));
+        
+        // Check if alert should be sent
+        if (budget.shouldSendAlert(alertThreshold)) {
+            notificationService.sendBudgetAlert(budget);
+            budget.setAlertSent(true);
+        }
+    }
+    
+    private boolean isValid(ExpenseSpendingEvent event) {
+        return event.getEventId() != null && event.getUserId() != null && event.getCategory() != null
+                && event.getYear() != null && event.getMonth() != null && event.getAmountDelta() != null;
+    }
+}
\ No newline at end of file
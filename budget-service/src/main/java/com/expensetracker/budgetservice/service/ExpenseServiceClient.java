@@ -1,106 +1,248 @@
 package com.expensetracker.budgetservice.service;
 
+import com.expensetracker.budgetservice.dto.ExpenseTotalResponse;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsRequest;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.budgetservice.dto.MonthlyTotalsKey;
+import com.expensetracker.budgetservice.exception.ExpenseServiceRejectedException;
+import com.expensetracker.budgetservice.exception.ExpenseServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Client of the expense service.
+ * Requests go through the pooled, timeout-bounded RestTemplate of {@code ExpenseServiceClientConfig}; the async
+ * variants run on a bounded executor so that many lookups can be in flight at once (on virtual threads in the
+ * virtual-threads mode). Every request is recorded in the {@code expense.client.requests} timer, tagged with its
+ * endpoint and outcome. Totals of arbitrary users are read from the internal endpoints of the expense service
+ * with the shared internal token; only lookups of the caller's own spending forward the caller's JWT.
+ * <p>
+ * Calls are guarded by the retry, circuit breaker and bulkhead of {@code ExpenseServiceResilienceConfig}.
+ * A failed lookup throws {@link ExpenseServiceUnavailableException}, one the expense service answered with a 4xx
+ * status throws {@link ExpenseServiceRejectedException}; neither is ever reported as zero spending.
+ */
 @Service
 public class ExpenseServiceClient {
     
-    @Value("${services.expense-service.url}")
-    private String expenseServiceUrl;
+    static final String REQUEST_TIMER = "expense.client.requests";
+    static final String REJECTED_COUNTER = "expense.client.rejected";
     
-    private final RestTemplate restTemplate;
+    static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
     
-    public ExpenseServiceClient() {
-        this.restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate expenseServiceRestTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private CircuitBreaker expenseServiceCircuitBreaker;
+    
+    @Autowired
+    private Bulkhead expenseServiceBulkhead;
+    
+    @Autowired
+    private Retry expenseServiceRetry;
+    
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+    
+    @Value("${services.expense-service.async-concurrency:8}")
+    private int asyncConcurrency;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    private ThreadPoolExecutor asyncExecutor;
+    
+    @PostConstruct
+    void startExecutor() {
+        asyncExecutor = new ThreadPoolExecutor(asyncConcurrency, asyncConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(asyncConcurrency * 4),
+                WorkerThreads.factory("expense-client-", virtualThreads),
+                // A saturated executor slows the caller down instead of queueing without bound
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        asyncExecutor.allowCoreThreadTimeOut(true);
+    }
+    
+    @PreDestroy
+    void stopExecutor() {
+        asyncExecutor.shutdown();
     }
     
     /**
      * Get total expenses for a user in a specific month/year and category
      */
-    public BigDecimal getTotalExpensesByUserAndCategoryAndMonth(String authToken, Long userId, 
-                                                               String category, Integer month, Integer year) {
-        try {
-            String startDate = String.format("%d-%02d-01", year, month);
-            String endDate = String.format("%d-%02d-%02d", year, month, getLastDayOfMonth(month, year));
-            
-            String url = String.format("%s/api/expenses/summary/date-range?startDate=%s&endDate=%s", 
-                                     expenseServiceUrl, startDate, endDate);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + authToken);
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-            
-            if (response.getBody() != null && response.getBody().containsKey("totalAmount")) {
-                Object totalAmount = response.getBody().get("totalAmount");
-                if (totalAmount != null) {
-                    return new BigDecimal(totalAmount.toString());
+    public BigDecimal getTotalExpensesByUserAndCategoryAndMonth(Long userId, String category,
+                                                               Integer month, Integer year) {
+        Map<String, BigDecimal> totals = getCategoryTotalsByUserAndMonth(userId, month, year).getTotals();
+        return totals.getOrDefault(category, BigDecimal.ZERO);
+    }
+    
+    /**
+     * Get total expenses of the token's user in a specific month/year
+     */
+    public BigDecimal getTotalExpensesByUserAndMonth(String authToken, Integer month, Integer year) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        ResponseEntity<ExpenseTotalResponse> response = call("summary-date-range", () ->
+                expenseServiceRestTemplate.exchange(
+                        "/api/expenses/summary/date-range?startDate={startDate}&endDate={endDate}",
+                        HttpMethod.GET, new HttpEntity<>(authHeaders(authToken)), ExpenseTotalResponse.class,
+                        yearMonth.atDay(1), yearMonth.atEndOfMonth()));
+        
+        if (response.getBody() != null && response.getBody().getTotalAmount() != null) {
+            return response.getBody().getTotalAmount();
+        }
+        
+        return BigDecimal.ZERO;
+    }
+    
+    /**
+     * Get the total of every expense category for a user in a specific month/year, with the id of the last
+     * expense event the totals include. One round trip replaces a per-category lookup for each budget of that month.
+     */
+    public MonthlyCategoryTotalsResponse getCategoryTotalsByUserAndMonth(Long userId, Integer month, Integer year) {
+        MonthlyTotalsKey key = new MonthlyTotalsKey(userId, year, month);
+        MonthlyCategoryTotalsResponse totals = fetchCategoryTotals("summary-month", List.of(key)).get(key);
+        if (totals == null) {
+            throw new ExpenseServiceUnavailableException("Expense service returned no totals for " + key, null);
+        }
+        return totals;
+    }
+    
+    /**
+     * Get the category totals for many (user, year, month) keys in one round trip.
+     * The expense service answers every requested key; a failed request throws instead of returning partial totals.
+     */
+    public Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> getCategoryTotalsByMonths(
+            Collection<MonthlyTotalsKey> keys) {
+        return fetchCategoryTotals("summary-month-bulk", keys);
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getCategoryTotalsByMonths}, so that several bulk requests can be in flight at once.
+     * A failed lookup completes the future exceptionally with {@link ExpenseServiceUnavailableException}.
+     */
+    public CompletableFuture<Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse>> getCategoryTotalsByMonthsAsync(
+            Collection<MonthlyTotalsKey> keys) {
+        List<MonthlyTotalsKey> snapshot = new ArrayList<>(keys);
+        return CompletableFuture.supplyAsync(() -> getCategoryTotalsByMonths(snapshot), asyncExecutor);
+    }
+    
+    /**
+     * Ask the internal bulk endpoint for the category totals of the keys, whichever users they belong to
+     */
+    private Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> fetchCategoryTotals(String endpoint,
+                                                                                  Collection<MonthlyTotalsKey> keys) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(INTERNAL_TOKEN_HEADER, internalApiToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<MonthlyCategoryTotalsRequest> entity =
+                new HttpEntity<>(new MonthlyCategoryTotalsRequest(keys), headers);
+        
+        ResponseEntity<MonthlyCategoryTotalsResponse[]> response = call(endpoint, () ->
+                expenseServiceRestTemplate.exchange("/internal/expenses/summary/month/bulk",
+                        HttpMethod.POST, entity, MonthlyCategoryTotalsResponse[].class));
+        
+        Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> totalsByKey = new HashMap<>();
+        if (response.getBody() != null) {
+            for (MonthlyCategoryTotalsResponse row : response.getBody()) {
+                if (row.getTotals() == null) {
+                    row.setTotals(new HashMap<>());
                 }
+                totalsByKey.put(new MonthlyTotalsKey(row.getUserId(), row.getYear(), row.getMonth()), row);
             }
-            
-            return BigDecimal.ZERO;
-        } catch (Exception e) {
-            System.err.println("Error fetching expenses from expense service: " + e.getMessage());
-            return BigDecimal.ZERO;
         }
+        
+        return totalsByKey;
+    }
+    
+    private HttpHeaders authHeaders(String authToken) {
+        HttpHeaders headers = new HttpHeaders();
+        // Callers pass either the raw token or the full "Bearer ..." credentials
+        headers.setBearerAuth(authToken.startsWith("Bearer ") ? authToken.substring("Bearer ".length()) : authToken);
+        return headers;
     }
     
     /**
-     * Get total expenses for a user in a specific month/year
+     * Run one request through the retry, circuit breaker and bulkhead.
+     * Each attempt is timed; rejections are counted by reason. A 4xx answer surfaces as
+     * {@link ExpenseServiceRejectedException}, every other failure as {@link ExpenseServiceUnavailableException}.
      */
-    public BigDecimal getTotalExpensesByUserAndMonth(String authToken, Long userId, Integer month, Integer year) {
+    private <T> T call(String endpoint, Supplier<T> request) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(expenseServiceBulkhead, () -> timed(endpoint, request));
+        guarded = CircuitBreaker.decorateSupplier(expenseServiceCircuitBreaker, guarded);
+        guarded = Retry.decorateSupplier(expenseServiceRetry, guarded);
+        
         try {
-            String startDate = String.format("%d-%02d-01", year, month);
-            String endDate = String.format("%d-%02d-%02d", year, month, getLastDayOfMonth(month, year));
-            
-            String url = String.format("%s/api/expenses/summary/date-range?startDate=%s&endDate=%s", 
-                                     expenseServiceUrl, startDate, endDate);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + authToken);
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
-            
-            if (response.getBody() != null && response.getBody().containsKey("totalAmount")) {
-                Object totalAmount = response.getBody().get("totalAmount");
-                if (totalAmount != null) {
-                    return new BigDecimal(totalAmount.toString());
-                }
-            }
-            
-            return BigDecimal.ZERO;
-        } catch (Exception e) {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            rejected(endpoint, "circuit-open");
+            throw new ExpenseServiceUnavailableException("Expense service circuit breaker is open", e);
+        } catch (BulkheadFullException e) {
+            rejected(endpoint, "bulkhead-full");
+            throw new ExpenseServiceUnavailableException("Too many concurrent expense service calls", e);
+        } catch (HttpClientErrorException e) {
+            System.err.println("Expense service rejected the request: " + e.getMessage());
+            throw new ExpenseServiceRejectedException("Expense service rejected the request: " + e.getMessage(),
+                    e.getStatusCode().value(), e);
+        } catch (RestClientException e) {
             System.err.println("Error fetching expenses from expense service: " + e.getMessage());
-            return BigDecimal.ZERO;
+            throw new ExpenseServiceUnavailableException("Expense service request failed: " + e.getMessage(), e);
         }
     }
     
-    private int getLastDayOfMonth(int month, int year) {
-        switch (month) {
-            case 2:
-                return isLeapYear(year) ? 29 : 28;
-            case 4:
-            case 6:
-            case 9:
-            case 11:
-                return 30;
-            default:
-                return 31;
-        }
+    private void rejected(String endpoint, String reason) {
+        meterRegistry.counter(REJECTED_COUNTER, "endpoint", endpoint, "reason", reason).increment();
     }
     
-    private boolean isLeapYear(int year) {
-        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
+    /**
+     * Run one request and record its latency, tagged with the endpoint and whether it succeeded.
+     */
+    private <T> T timed(String endpoint, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REQUEST_TIMER)
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 }
\ No newline at end of file
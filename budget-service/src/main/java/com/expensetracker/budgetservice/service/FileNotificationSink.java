@@ -0,0 +1,53 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stand-in sink that appends the simulated emails of each batch to a local file.
+ * Appends are serialized with a lock rather than {@code synchronized}, which would pin a virtual thread for the
+ * duration of the file write.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "file")
+public class FileNotificationSink implements NotificationSink {
+    
+    private final Path outputFile;
+    
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    public FileNotificationSink(@Value("${notification.file.path:notifications.log}") String outputFile) {
+        this.outputFile = Paths.get(outputFile);
+    }
+    
+    @Override
+    public void deliver(List<NotificationDigest> digests) {
+        StringBuilder output = new StringBuilder();
+        for (NotificationDigest digest : digests) {
+            NotificationFormatter.appendEmail(output, digest);
+        }
+        
+        writeLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(output.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write notifications to " + outputFile, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.entity.SchedulerJobPartition;
+import com.expensetracker.budgetservice.repository.SchedulerJobPartitionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB-backed leases and checkpoints for partitioned scheduler jobs.
+ * Every replica runs the same schedule; a partition is worked on by whichever replica
+ * claims its lease first, and a partition already completed for the current run is skipped,
+ * so replicas share the work instead of repeating it. A lease that is not renewed expires, and the partition
+ * can then be claimed again for the same run and resumed from its checkpoint.
+ */
+@Service
+public class JobPartitionCoordinator {
+    
+    @Autowired
+    private SchedulerJobPartitionRepository partitionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${budget.scheduler.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    /**
+     * Try to take the lease of a partition for a run.
+     * Returns the user id to resume after, or null when the partition is already done for this run
+     * or leased by another worker. A partition last used by a different run starts over.
+     */
+    public Long claim(String jobName, int partitionId, String runKey, String owner) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        return transactionTemplate.execute(status -> {
+            partitionRepository.ensurePartition(jobName, partitionId);
+            SchedulerJobPartition partition = partitionRepository.findByJobNameAndPartitionId(jobName, partitionId)
+                    .orElseThrow(() -> new RuntimeException("Partition " + partitionId + " of " + jobName + " not found"));
+            
+            LocalDateTime now = LocalDateTime.now();
+            boolean sameRun = runKey.equals(partition.getRunKey());
+            if (sameRun && Boolean.TRUE.equals(partition.getCompleted())) {
+                return null;
+            }
+            if (partition.getLeaseOwner() != null && partition.getLeaseUntil() != null
+                    && partition.getLeaseUntil().isAfter(now)) {
+                return null;
+            }
+            
+            if (!sameRun) {
+                partition.setRunKey(runKey);
+                partition.setLastUserId(Long.MIN_VALUE);
+                partition.setRowsProcessed(0L);
+                partition.setCompleted(false);
+            }
+            partition.setLeaseOwner(owner);
+            partition.setLeaseUntil(now.plusSeconds(leaseSeconds));
+            partitionRepository.save(partition);
+            return partition.getLastUserId();
+        });
+    }
+    
+    /**
+     * Whether a partition has been completed for the run
+     */
+    public boolean isCompleted(String jobName, int partitionId, String runKey) {
+        return partitionRepository.existsByJobNameAndPartitionIdAndRunKeyAndCompletedTrue(jobName, partitionId, runKey);
+    }
+    
+    /**
+     * Record progress and renew the lease; must run in the transaction that did the work.
+     * Returns false if the lease has been lost, in which case the caller must roll back.
+     */
+    public boolean checkpoint(String jobName, int partitionId, String owner, Long lastUserId, long rows) {
+        LocalDateTime now = LocalDateTime.now();
+        return partitionRepository.checkpoint(
+                jobName, partitionId, owner, lastUserId, rows, now.plusSeconds(leaseSeconds), now) == 1;
+    }
+    
+    public void complete(String jobName, int partitionId, String owner) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                partitionRepository.complete(jobName, partitionId, owner, LocalDateTime.now()));
+    }
+    
+    public void release(String jobName, int partitionId, String owner) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                partitionRepository.release(jobName, partitionId, owner));
+    }
+}
\ No newline at end of file
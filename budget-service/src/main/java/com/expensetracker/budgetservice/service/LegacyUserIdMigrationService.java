@@ -0,0 +1,133 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.LegacyUserIdMigrationReport;
+import com.expensetracker.budgetservice.dto.UserIdentity;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import com.expensetracker.budgetservice.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves budgets keyed by legacy user ids to the ids issued by user-service.
+ * Tokens without a "uid" claim used to identify the user by their username, parsed as a number or else hashed
+ * ({@link #legacyUserId}), and every budget and notification was stored under that id. This job lists all users
+ * from user-service, recomputes each legacy id and moves the user's rows to their real id, one user per
+ * transaction. It is idempotent, so it can be rerun until nothing is moved.
+ * <p>
+ * A legacy id derived from several usernames, or equal to another user's real id, cannot be attributed to one
+ * user; those users are skipped. A legacy budget whose category and month the user has already budgeted under
+ * their real id stays where it is; both are reported.
+ */
+@Service
+public class LegacyUserIdMigrationService {
+    
+    @Autowired
+    private UserDirectoryClient userDirectoryClient;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${budget.legacy-user-ids.users-per-page:1000}")
+    private int usersPerPage;
+    
+    public LegacyUserIdMigrationReport migrateAll() {
+        long startTime = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        Map<Long, List<Long>> userIdsByLegacyId = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        long afterId = 0;
+        while (true) {
+            List<UserIdentity> users = userDirectoryClient.getUsersAfter(afterId, usersPerPage);
+            for (UserIdentity user : users) {
+                userIds.add(user.getId());
+                userIdsByLegacyId.computeIfAbsent(legacyUserId(user.getUsername()), id -> new ArrayList<>())
+                        .add(user.getId());
+            }
+            if (users.size() < usersPerPage) {
+                break;
+            }
+            afterId = users.get(users.size() - 1).getId();
+        }
+        
+        long usersMigrated = 0;
+        long usersSkipped = 0;
+        long rowsMoved = 0;
+        long budgetsConflicting = 0;
+        for (Map.Entry<Long, List<Long>> entry : userIdsByLegacyId.entrySet()) {
+            Long legacyId = entry.getKey();
+            List<Long> owners = entry.getValue();
+            if (owners.size() == 1 && owners.get(0).equals(legacyId)) {
+                continue;
+            }
+            if (owners.size() > 1 || userIds.contains(legacyId)) {
+                System.err.println("Skipping legacy user id " + legacyId + ": it cannot be attributed to one of users " + owners);
+                usersSkipped += owners.size();
+                continue;
+            }
+            
+            Long userId = owners.get(0);
+            long[] moved = transactionTemplate.execute(status -> migrateUser(legacyId, userId));
+            if (moved != null && moved[0] > 0) {
+                usersMigrated++;
+                rowsMoved += moved[0];
+            }
+            if (moved != null) {
+                budgetsConflicting += moved[1];
+            }
+        }
+        
+        LegacyUserIdMigrationReport report = new LegacyUserIdMigrationReport(userIds.size(), usersMigrated,
+                usersSkipped, rowsMoved, budgetsConflicting, System.currentTimeMillis() - startTime);
+        System.out.println("Legacy user id migration completed: " + report);
+        return report;
+    }
+    
+    /**
+     * Move one user's rows; returns the rows moved and the budgets left in place
+     */
+    private long[] migrateUser(Long legacyId, Long userId) {
+        long moved = 0;
+        long conflicting = 0;
+        for (Budget budget : budgetRepository.findByUserIdIn(List.of(legacyId))) {
+            if (budgetRepository.existsByUserIdAndCategoryAndMonthAndYear(
+                    userId, budget.getCategory(), budget.getMonth(), budget.getYear())) {
+                conflicting++;
+                continue;
+            }
+            budget.setUserId(userId);
+            moved++;
+        }
+        budgetRepository.flush();
+        moved += notificationOutboxRepository.reassignUserId(legacyId, userId);
+        return new long[] { moved, conflicting };
+    }
+    
+    /**
+     * The id the services derived from a username before tokens carried the "uid" claim
+     */
+    static Long legacyUserId(String username) {
+        try {
+            return Long.parseLong(username);
+        } catch (NumberFormatException e) {
+            return Math.abs((long) username.hashCode());
+        }
+    }
+}
\ No newline at end of file
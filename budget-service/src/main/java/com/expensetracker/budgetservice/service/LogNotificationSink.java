@@ -0,0 +1,24 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stand-in sink that simulates email delivery by writing each batch to the console in one call.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "log", matchIfMissing = true)
+public class LogNotificationSink implements NotificationSink {
+    
+    @Override
+    public void deliver(List<NotificationDigest> digests) {
+        StringBuilder output = new StringBuilder();
+        for (NotificationDigest digest : digests) {
+            NotificationFormatter.appendEmail(output, digest);
+        }
+        System.out.print(output);
+    }
+}
\ No newline at end of file
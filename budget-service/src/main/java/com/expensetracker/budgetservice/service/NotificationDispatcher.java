@@ -0,0 +1,169 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+import com.expensetracker.budgetservice.entity.NotificationOutbox;
+import com.expensetracker.budgetservice.entity.NotificationStatus;
+import com.expensetracker.budgetservice.entity.NotificationType;
+import com.expensetracker.budgetservice.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the notification outbox in the background.
+ * Each batch is locked with SKIP LOCKED so that replicas dispatch disjoint batches, the notifications
+ * of one type for one user are coalesced into a single digest, and the batch is handed to the sink in one call.
+ */
+@Service
+public class NotificationDispatcher {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    
+    @Autowired
+    private NotificationSink notificationSink;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${notification.dispatch.enabled:true}")
+    private boolean dispatchEnabled;
+    
+    @Value("${notification.dispatch.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${notification.dispatch.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+    
+    @Value("${notification.dispatch.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${notification.dispatch.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+    
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays;
+    
+    @Scheduled(fixedDelayString = "${notification.dispatch.interval-ms:2000}")
+    public void dispatchPending() {
+        if (!dispatchEnabled) {
+            return;
+        }
+        
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            if (dispatched == null || dispatched < batchSize) {
+                break;
+            }
+        }
+    }
+    
+    @Scheduled(cron = "${notification.outbox.cleanup-cron:0 30 3 * * *}")
+    public void deleteDispatched() {
+        int deleted = new TransactionTemplate(transactionManager).execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+        System.out.println("Deleted " + deleted + " dispatched notifications from the outbox");
+    }
+    
+    /**
+     * Lock, coalesce and deliver one batch of due notifications; must run in a transaction.
+     * Returns the number of outbox rows handled.
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> batch = outboxRepository.lockDueBatch(now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        List<NotificationDigest> digests = coalesce(batch);
+        try {
+            notificationSink.deliver(digests);
+            for (NotificationOutbox notification : batch) {
+                notification.setStatus(NotificationStatus.SENT);
+                notification.setDispatchedAt(now);
+            }
+            meterRegistry.counter("notification.dispatch.sent").increment(batch.size());
+            meterRegistry.counter("notification.dispatch.digests").increment(digests.size());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to dispatch " + batch.size() + " notifications: " + e.getMessage());
+            scheduleRetry(batch, now, e);
+        }
+        
+        return batch.size();
+    }
+    
+    /**
+     * Group notifications by user and type, keeping the outbox order within each digest.
+     */
+    List<NotificationDigest> coalesce(List<NotificationOutbox> batch) {
+        Map<Long, Map<NotificationType, NotificationDigest>> digestsByUser = new LinkedHashMap<>();
+        List<NotificationDigest> digests = new ArrayList<>();
+        
+        for (NotificationOutbox notification : batch) {
+            NotificationDigest digest = digestsByUser
+                    .computeIfAbsent(notification.getUserId(), userId -> new EnumMap<>(NotificationType.class))
+                    .computeIfAbsent(notification.getType(), type -> {
+                        NotificationDigest created = new NotificationDigest(notification.getUserId(), type);
+                        digests.add(created);
+                        return created;
+                    });
+            
+            digest.getMessages().add(notification.getMessage());
+            digest.setSubject(digest.getMessages().size() == 1
+                    ? notification.getSubject()
+                    : digestSubject(notification.getType(), digest.getMessages().size()));
+        }
+        
+        return digests;
+    }
+    
+    private String digestSubject(NotificationType type, int count) {
+        switch (type) {
+            case BUDGET_ALERT:
+                return count + " Budget Alerts";
+            case WEEKLY_SUMMARY:
+                return count + " Weekly Budget Summaries";
+            default:
+                return count + " Monthly Budget Reports";
+        }
+    }
+    
+    private void scheduleRetry(List<NotificationOutbox> batch, LocalDateTime now, RuntimeException error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        
+        int failed = 0;
+        for (NotificationOutbox notification : batch) {
+            int attempts = notification.getAttempts() + 1;
+            notification.setAttempts(attempts);
+            notification.setLastError(message);
+            if (attempts >= maxAttempts) {
+                notification.setStatus(NotificationStatus.FAILED);
+                failed++;
+            } else {
+                notification.setNextAttemptAt(now.plusSeconds(retryBackoffSeconds * attempts));
+            }
+        }
+        meterRegistry.counter("notification.dispatch.failed").increment(failed);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders digests as the plain-text emails written by the stand-in sinks.
+ */
+final class NotificationFormatter {
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private NotificationFormatter() {}
+    
+    static void appendEmail(StringBuilder output, NotificationDigest digest) {
+        output.append("=== EMAIL NOTIFICATION SENT ===\n")
+                .append("To: ").append(digest.getRecipient()).append('\n')
+                .append("Subject: ").append(digest.getSubject()).append('\n')
+                .append("Timestamp: ").append(LocalDateTime.now().format(TIMESTAMP_FORMAT)).append('\n')
+                .append("Message:\n");
+        for (String message : digest.getMessages()) {
+            output.append(message).append('\n');
+        }
+        output.append("===============================\n");
+    }
+}
\ No newline at end of file
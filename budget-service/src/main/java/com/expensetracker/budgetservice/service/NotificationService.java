@@ -1,35 +1,36 @@
 package com.expensetracker.budgetservice.service;
 
 import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.entity.NotificationOutbox;
+import com.expensetracker.budgetservice.entity.NotificationType;
+import com.expensetracker.budgetservice.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
+/**
+ * Queues notifications in the notification outbox.
+ * Rows are written in the caller's transaction and delivered later by NotificationDispatcher
+ * through the configured NotificationSink (email, push, SMS, ... - console or file for the demo).
+ */
 @Service
 public class NotificationService {
     
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    
     /**
-     * Send budget alert notification
-     * In a real implementation, this would:
-     * - Send email via SMTP
-     * - Send push notification
-     * - Send SMS
-     * - Log to external monitoring system
-     * 
-     * For demo purposes, we'll simulate with console logging
+     * Queue a budget alert notification
      */
     public void sendBudgetAlert(Budget budget) {
-        String alertMessage = createAlertMessage(budget);
-        
-        // Simulate email notification
-        simulateEmailNotification(budget, alertMessage);
-        
-        // Log the alert
-        System.out.println("BUDGET ALERT SENT: " + alertMessage);
+        outboxRepository.save(new NotificationOutbox(
+                budget.getUserId(),
+                budget.getId(),
+                NotificationType.BUDGET_ALERT,
+                "Budget Alert - " + budget.getCategory() + " Category",
+                createAlertMessage(budget)));
     }
     
-    private String createAlertMessage(Budget budget) {
+    public String createAlertMessage(Budget budget) {
         String monthName = getMonthName(budget.getMonth());
         
         if (budget.isOverBudget()) {
@@ -60,17 +61,6 @@ public class NotificationService {
         }
     }
     
-    private void simulateEmailNotification(Budget budget, String message) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        
-        System.out.println("=== EMAIL NOTIFICATION SENT ===");
-        System.out.println("To: user" + budget.getUserId() + "@example.com");
-        System.out.println("Subject: Budget Alert - " + budget.getCategory() + " Category");
-        System.out.println("Timestamp: " + timestamp);
-        System.out.println("Message: " + message);
-        System.out.println("===============================");
-    }
-    
     private String getMonthName(int month) {
         String[] months = {
             "January", "February", "March", "April", "May", "June",
@@ -80,24 +70,18 @@ public class NotificationService {
     }
     
     /**
-     * Send weekly budget summary
+     * Queue weekly budget summary
      */
     public void sendWeeklyBudgetSummary(Long userId, String summary) {
-        System.out.println("=== WEEKLY BUDGET SUMMARY ===");
-        System.out.println("To: user" + userId + "@example.com");
-        System.out.println("Subject: Weekly Budget Summary");
-        System.out.println("Message: " + summary);
-        System.out.println("=============================");
+        outboxRepository.save(new NotificationOutbox(
+                userId, null, NotificationType.WEEKLY_SUMMARY, "Weekly Budget Summary", summary));
     }
     
     /**
-     * Send monthly budget report
+     * Queue monthly budget report
      */
     public void sendMonthlyBudgetReport(Long userId, String report) {
-        System.out.println("=== MONTHLY BUDGET REPORT ===");
-        System.out.println("To: user" + userId + "@example.com");
-        System.out.println("Subject: Monthly Budget Report");
-        System.out.println("Message: " + report);
-        System.out.println("=============================");
+        outboxRepository.save(new NotificationOutbox(
+                userId, null, NotificationType.MONTHLY_REPORT, "Monthly Budget Report", report));
     }
 }
\ No newline at end of file
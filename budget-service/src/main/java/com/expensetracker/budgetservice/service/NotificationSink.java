@@ -0,0 +1,14 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+
+import java.util.List;
+
+/**
+ * Delivery channel for notification digests (email, push, SMS, ...).
+ * NotificationDispatcher hands over one batch per call; throwing marks the whole batch for retry.
+ */
+public interface NotificationSink {
+    
+    void deliver(List<NotificationDigest> digests);
+}
\ No newline at end of file
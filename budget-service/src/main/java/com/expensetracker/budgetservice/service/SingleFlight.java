@@ -0,0 +1,67 @@
+package com.expensetracker.budgetservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical loads into one: the first caller for a key runs the loader, and callers
+ * arriving while it runs wait for and share its result, or its exception. Nothing is kept once the load
+ * completes, so this is not a cache. A caller that joins a running load gets a result read before it arrived,
+ * so it may miss a write that committed just before; callers that must see their own writes need a key that
+ * changes with them. Shared results must be immutable.
+ * <p>
+ * {@code singleflight.calls} counts, per load name, the loads executed and the calls deduplicated onto them.
+ */
+@Component
+public class SingleFlight {
+    
+    private static final String CALLS = "singleflight.calls";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, String key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            meterRegistry.counter(CALLS, "name", name, "result", "deduplicated").increment();
+            return (T) await(running);
+        }
+        
+        meterRegistry.counter(CALLS, "name", name, "result", "executed").increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
\ No newline at end of file
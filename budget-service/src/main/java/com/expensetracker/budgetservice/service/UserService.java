@@ -1,5 +1,7 @@
 package com.expensetracker.budgetservice.service;
 
+import com.expensetracker.budgetservice.security.UserPrincipal;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
@@ -8,27 +10,20 @@ public class UserService {
     
     /**
      * Extracts user ID from authentication object
-     * In a real implementation, this would typically involve:
-     * 1. Calling the User Service to get user details by username
-     * 2. Or storing user ID in JWT claims
-     * 
-     * For this demo, we'll simulate by parsing username as ID
+     * The JWT filter stores a UserPrincipal carrying the id from the token's "uid" claim,
+     * so no lookup is needed; tokens without that claim are rejected with 401 before reaching here.
+     * Authentications not built from a JWT, such as test users, use a numeric username as the ID.
      */
     public Long getUserIdFromAuthentication(Authentication authentication) {
-        String username = authentication.getName();
-        
-        // In a real implementation, you would:
-        // 1. Call User Service API to get user details
-        // 2. Or decode user ID from JWT token claims
-        // 3. Or maintain a user cache
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
         
-        // For demo purposes, we'll assume username is numeric or use a hash
+        String username = authentication.getName();
         try {
             return Long.parseLong(username);
         } catch (NumberFormatException e) {
-            // If username is not numeric, use hash code as user ID
-            // This is just for demo - in production, implement proper user resolution
-            return Math.abs((long) username.hashCode());
+            throw new AuthenticationCredentialsNotFoundException("Authentication does not carry a user id");
         }
     }
     
@@ -40,4 +35,12 @@ public class UserService {
         Long currentUserId = getUserIdFromAuthentication(authentication);
         return currentUserId.equals(resourceUserId);
     }
+    
+    /**
+     * Checks whether the authenticated user holds the admin role
+     */
+    public boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
 }
\ No newline at end of file
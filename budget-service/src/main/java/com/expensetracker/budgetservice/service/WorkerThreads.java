@@ -0,0 +1,31 @@
+package com.expensetracker.budgetservice.service;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories of the service's own executors.
+ * With {@code spring.threads.virtual.enabled} on a Java 21 runtime the executors start virtual threads, as Tomcat and
+ * the scheduler then do; the executors stay bounded, so they still cap the concurrency of their work.
+ * Otherwise they start named daemon platform threads.
+ */
+final class WorkerThreads {
+    
+    private WorkerThreads() {}
+    
+    static ThreadFactory factory(String namePrefix, boolean virtualThreads) {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Monthly budgets per user and category
+CREATE TABLE budgets (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    amount DECIMAL(12,2) NOT NULL,
+    currency VARCHAR(3),
+    month INT NOT NULL,
+    year INT NOT NULL,
+    spent_amount DECIMAL(12,2),
+    alert_sent BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    -- findByUserIdAndCategoryAndMonthAndYear, existsByUserIdAndCategoryAndMonthAndYear,
+    -- findByUserIdAndCategoryOrderByYearDescMonthDesc, findDistinctCategoriesByUserId (covering)
+    CONSTRAINT uk_budgets_user_category_period UNIQUE (user_id, category, month, year)
+) ENGINE=InnoDB;
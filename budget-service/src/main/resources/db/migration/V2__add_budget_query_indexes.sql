@@ -0,0 +1,7 @@
+-- findByUserIdOrderByYearDescMonthDesc, findByUserIdAndYearOrderByMonthAsc, findByUserIdAndYearAndMonth,
+-- getTotalBudgetByUserAndMonth, getTotalSpentByUserAndMonth, findDistinctYearsByUserId (covering),
+-- findOverBudgetsByUserId, findDistinctUserIdsAfter
+CREATE INDEX idx_budgets_user_year_month ON budgets (user_id, year, month);
+
+-- findBudgetsNeedingAlert only looks at budgets whose alert has not been sent yet
+CREATE INDEX idx_budgets_alert_sent ON budgets (alert_sent);
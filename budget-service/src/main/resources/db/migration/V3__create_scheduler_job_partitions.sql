@@ -0,0 +1,16 @@
+-- Lease and checkpoint of each user-id hash partition of the scheduled budget jobs
+CREATE TABLE scheduler_job_partitions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_name VARCHAR(50) NOT NULL,
+    partition_id INT NOT NULL,
+    run_key VARCHAR(50),
+    last_user_id BIGINT NOT NULL,
+    rows_processed BIGINT NOT NULL,
+    completed BIT NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    -- ensurePartition (INSERT IGNORE), findByJobNameAndPartitionId, checkpoint, complete, release
+    CONSTRAINT uk_scheduler_job_partitions_job_partition UNIQUE (job_name, partition_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,22 @@
+-- Notifications queued in the transaction of the budget change and delivered by NotificationDispatcher
+CREATE TABLE notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    budget_id BIGINT,
+    type VARCHAR(20) NOT NULL,
+    subject VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    dispatched_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- lockDueBatch
+CREATE INDEX idx_notification_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
+
+-- deleteSentBefore
+CREATE INDEX idx_notification_outbox_status_dispatched ON notification_outbox (status, dispatched_at);
@@ -0,0 +1,9 @@
+-- Idempotency keys of the expense spending events applied by ExpenseEventConsumer
+CREATE TABLE processed_expense_events (
+    event_id VARCHAR(36) NOT NULL,
+    processed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+) ENGINE=InnoDB;
+
+-- deleteProcessedBefore
+CREATE INDEX idx_processed_expense_events_processed_at ON processed_expense_events (processed_at);
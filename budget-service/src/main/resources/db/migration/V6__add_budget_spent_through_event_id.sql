@@ -0,0 +1,2 @@
+-- High-water mark of the expense events a spending refresh already included; see ExpenseEventConsumer
+ALTER TABLE budgets ADD COLUMN spent_through_event_id BIGINT NULL;
@@ -0,0 +1,21 @@
+-- Schemas created by Hibernate before Flyway are baselined at V1 without running it, so their unique constraint
+-- on (user_id, category, month, year) carries a generated name, or is missing if the schema predates it. Give it
+-- the name V1 uses, or create it. No-op on schemas created by V1.
+SET @named = (SELECT COUNT(*) FROM information_schema.statistics
+              WHERE table_schema = DATABASE() AND table_name = 'budgets'
+                AND index_name = 'uk_budgets_user_category_period');
+SET @generated = (SELECT MIN(s.index_name) FROM (
+                      SELECT index_name FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'budgets' AND non_unique = 0
+                        AND index_name <> 'PRIMARY'
+                      GROUP BY index_name
+                      HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = 'user_id,category,month,year') s);
+SET @ddl = CASE
+    WHEN @named > 0 THEN 'SELECT 1'
+    WHEN @generated IS NOT NULL
+        THEN CONCAT('ALTER TABLE budgets RENAME INDEX `', @generated, '` TO uk_budgets_user_category_period')
+    ELSE 'ALTER TABLE budgets ADD CONSTRAINT uk_budgets_user_category_period UNIQUE (user_id, category, month, year)'
+END;
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.expensetracker.budgetservice.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Prefixes every statement Hibernate sends while {@link #run} executes with a comment naming the call,
+ * so the statements can be picked out of the database's general log.
+ */
+public class LabellingStatementInspector implements StatementInspector {
+    
+    static final String PREFIX = "/* query-plan:";
+    
+    private static final ThreadLocal<String> LABEL = new ThreadLocal<>();
+    
+    static void run(String label, Runnable call) {
+        LABEL.set(label);
+        try {
+            call.run();
+        } finally {
+            LABEL.remove();
+        }
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        String label = LABEL.get();
+        return label != null ? PREFIX + label + " */ " + sql : sql;
+    }
+}
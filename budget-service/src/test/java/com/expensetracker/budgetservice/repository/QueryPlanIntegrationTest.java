@@ -0,0 +1,201 @@
+package com.expensetracker.budgetservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against MySQL, calls every BudgetRepository query and asserts via EXPLAIN that
+ * the SQL Hibernate actually sent is served by an index. The statements are read back with their bound values
+ * from the server's general log, labelled per call by {@link LabellingStatementInspector}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIntegrationTest {
+    
+    // Root can read mysql.general_log
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withCommand("--general-log=1", "--log-output=TABLE");
+    
+    private static final Pattern LABELLED = Pattern.compile(
+            Pattern.quote(LabellingStatementInspector.PREFIX) + "([^ ]+) \\*/ (.*)", Pattern.DOTALL);
+    
+    private static Connection connection;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                LabellingStatementInspector.class::getName);
+    }
+    
+    @BeforeAll
+    static void setUp() throws Exception {
+        Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .load()
+                .migrate();
+        
+        connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        connection.setAutoCommit(false);
+        
+        // 400 users x 5 categories x 12 months; most alerts of past months have been sent already
+        String[] categories = {"Food", "Travel", "Rent", "Utilities", "Health"};
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO budgets (user_id, category, amount, currency, month, year, spent_amount, alert_sent) " +
+                "VALUES (?, ?, ?, 'USD', ?, 2024, ?, ?)")) {
+            for (int userId = 0; userId < 400; userId++) {
+                for (String category : categories) {
+                    for (int month = 1; month <= 12; month++) {
+                        insert.setLong(1, userId);
+                        insert.setString(2, category);
+                        insert.setBigDecimal(3, new BigDecimal("500.00"));
+                        insert.setInt(4, month);
+                        insert.setBigDecimal(5, new BigDecimal("250.00"));
+                        insert.setBoolean(6, month < 12);
+                        insert.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE budgets");
+        }
+    }
+    
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+    
+    @Test
+    void repositoryQueries_ShouldNotScanFullTable() throws Exception {
+        Map<String, Set<String>> statements = captureRepositoryStatements();
+        List<String> fullScans = new ArrayList<>();
+        
+        for (Map.Entry<String, Set<String>> call : statements.entrySet()) {
+            for (String sql : call.getValue()) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (plan.next()) {
+                        if ("ALL".equals(plan.getString("type"))) {
+                            fullScans.add(call.getKey() + " on " + plan.getString("table"));
+                        }
+                    }
+                }
+            }
+        }
+        
+        assertTrue(fullScans.isEmpty(), "Full table scans: " + fullScans);
+    }
+    
+    /**
+     * Call every repository query and return the statements each call sent, keyed by call
+     */
+    private Map<String, Set<String>> captureRepositoryStatements() throws Exception {
+        PageRequest page = PageRequest.of(0, 10);
+        List<Long> userIds = List.of(3L, 7L, 11L);
+        BigDecimal threshold = new BigDecimal("80");
+        
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("findByUserIdOrderByYearDescMonthDesc",
+                () -> budgetRepository.findByUserIdOrderByYearDescMonthDesc(7L, page));
+        calls.put("findByIdAndUserId", () -> budgetRepository.findByIdAndUserId(42L, 7L));
+        calls.put("findByUserIdAndCategoryAndMonthAndYear",
+                () -> budgetRepository.findByUserIdAndCategoryAndMonthAndYear(7L, "Food", 1, 2024));
+        calls.put("findLockedByUserIdAndCategoryAndMonthAndYear",
+                () -> budgetRepository.findLockedByUserIdAndCategoryAndMonthAndYear(7L, "Food", 1, 2024));
+        calls.put("findByUserIdAndYearOrderByMonthAsc",
+                () -> budgetRepository.findByUserIdAndYearOrderByMonthAsc(7L, 2024));
+        calls.put("findByUserIdAndYearAndMonth", () -> budgetRepository.findByUserIdAndYearAndMonth(7L, 2024, 1));
+        calls.put("findByUserIdAndCategoryOrderByYearDescMonthDesc",
+                () -> budgetRepository.findByUserIdAndCategoryOrderByYearDescMonthDesc(7L, "Food"));
+        calls.put("findBudgetsNeedingAlert", () -> budgetRepository.findBudgetsNeedingAlert(threshold));
+        calls.put("findOverBudgetsByUserId", () -> budgetRepository.findOverBudgetsByUserId(7L));
+        calls.put("getTotalBudgetByUserAndMonth", () -> budgetRepository.getTotalBudgetByUserAndMonth(7L, 1, 2024));
+        calls.put("getTotalSpentByUserAndMonth", () -> budgetRepository.getTotalSpentByUserAndMonth(7L, 1, 2024));
+        calls.put("findDistinctCategoriesByUserId", () -> budgetRepository.findDistinctCategoriesByUserId(7L));
+        calls.put("findDistinctYearsByUserId", () -> budgetRepository.findDistinctYearsByUserId(7L));
+        calls.put("getSummaryRowsByUserId", () -> budgetRepository.getSummaryRowsByUserId(7L, 1, 2024));
+        calls.put("findDistinctUserIdsAfter",
+                () -> budgetRepository.findDistinctUserIdsAfter(50L, PageRequest.of(0, 20)));
+        calls.put("findDistinctUserIdsInPartitionAfter",
+                () -> budgetRepository.findDistinctUserIdsInPartitionAfter(16, 3, 50L, PageRequest.of(0, 20)));
+        calls.put("findBudgetsNeedingAlertByUserIds",
+                () -> budgetRepository.findBudgetsNeedingAlertByUserIds(userIds, threshold));
+        calls.put("findByUserIdInAndYearAndMonth",
+                () -> budgetRepository.findByUserIdInAndYearAndMonth(userIds, 2024, 1));
+        calls.put("findByUserIdIn", () -> budgetRepository.findByUserIdIn(userIds));
+        calls.put("findMonthlyTotalsKeysByUserIdIn", () -> budgetRepository.findMonthlyTotalsKeysByUserIdIn(userIds));
+        calls.put("findLockedByUserIdIn", () -> budgetRepository.findLockedByUserIdIn(userIds));
+        calls.put("existsByUserIdAndCategoryAndMonthAndYear",
+                () -> budgetRepository.existsByUserIdAndCategoryAndMonthAndYear(7L, "Food", 1, 2024));
+        // Writes last, on a user no read above looks at; the test transaction rolls it back
+        calls.put("deleteByUserId", () -> budgetRepository.deleteByUserId(15L));
+        
+        for (Map.Entry<String, Runnable> call : calls.entrySet()) {
+            LabellingStatementInspector.run(call.getKey(), () -> {
+                call.getValue().run();
+                budgetRepository.flush();
+            });
+        }
+        
+        Map<String, Set<String>> statements = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet log = statement.executeQuery("SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log " +
+                     "WHERE command_type IN ('Query', 'Execute') ORDER BY event_time")) {
+            while (log.next()) {
+                Matcher labelled = LABELLED.matcher(log.getString(1));
+                if (labelled.matches()) {
+                    statements.computeIfAbsent(labelled.group(1), label -> new LinkedHashSet<>())
+                            .add(labelled.group(2).trim());
+                }
+            }
+        }
+        
+        Set<String> silent = new LinkedHashSet<>(calls.keySet());
+        silent.removeAll(statements.keySet());
+        assertTrue(silent.isEmpty(), "Calls that sent no statement: " + silent);
+        return statements;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.BudgetRefreshReport;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.budgetservice.dto.MonthlyTotalsKey;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.exception.ExpenseServiceUnavailableException;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetRefreshServiceTest {
+    
+    @Mock
+    private BudgetRepository budgetRepository;
+    
+    @Mock
+    private ExpenseServiceClient expenseServiceClient;
+    
+    @Mock
+    private NotificationService notificationService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @InjectMocks
+    private BudgetRefreshService budgetRefreshService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(budgetRefreshService, "alertThreshold", new BigDecimal("80"));
+        ReflectionTestUtils.setField(budgetRefreshService, "usersPerChunk", 2);
+        ReflectionTestUtils.setField(budgetRefreshService, "keysPerRequest", 500);
+        ReflectionTestUtils.setField(budgetRefreshService, "readGenerations", new BudgetReadGenerations());
+    }
+    
+    @Test
+    void refreshAll_ShouldFetchAllMonthsOfChunkInOneRequest() {
+        // Given
+        Budget food = createBudget(1L, 1L, "Food", "500.00");
+        Budget travel = createBudget(2L, 1L, "Travel", "1000.00");
+        Budget rent = createBudget(3L, 2L, "Rent", "1200.00");
+        
+        when(budgetRepository.findDistinctUserIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L, 2L));
+        when(budgetRepository.findDistinctUserIdsAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(budgetRepository.findMonthlyTotalsKeysByUserIdIn(anyList())).thenReturn(Arrays.asList(
+                new MonthlyTotalsKey(1L, 2024, 1), new MonthlyTotalsKey(2L, 2024, 1)));
+        when(budgetRepository.findLockedByUserIdIn(anyList())).thenReturn(Arrays.asList(food, travel, rent));
+        when(expenseServiceClient.getCategoryTotalsByMonthsAsync(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(
+                        new MonthlyTotalsKey(1L, 2024, 1),
+                        createTotals(Map.of("Food", new BigDecimal("450.00"), "Travel", new BigDecimal("100.00")), 42L),
+                        new MonthlyTotalsKey(2L, 2024, 1),
+                        createTotals(Collections.emptyMap(), 42L))));
+        
+        // When
+        BudgetRefreshReport report = budgetRefreshService.refreshAll();
+        
+        // Then
+        assertEquals(3, report.getBudgetsProcessed());
+        assertEquals(2, report.getGroupsFetched());
+        assertEquals(1, report.getChunksCommitted());
+        assertEquals(new BigDecimal("450.00"), food.getSpentAmount());
+        assertEquals(new BigDecimal("100.00"), travel.getSpentAmount());
+        assertEquals(BigDecimal.ZERO, rent.getSpentAmount());
+        assertEquals(42L, food.getSpentThroughEventId());
+        assertEquals(42L, rent.getSpentThroughEventId());
+        
+        verify(expenseServiceClient, times(1)).getCategoryTotalsByMonthsAsync(anyCollection());
+        verify(expenseServiceClient, never()).getCategoryTotalsByUserAndMonth(any(), any(), any());
+        verify(expenseServiceClient, never()).getTotalExpensesByUserAndCategoryAndMonth(any(), any(), any(), any());
+        verify(notificationService, times(1)).sendBudgetAlert(food);
+        verify(budgetRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).clear();
+    }
+    
+    @Test
+    void refreshAll_ShouldKeepSpentAmountWhenLookupFails() {
+        // Given
+        Budget food = createBudget(1L, 1L, "Food", "500.00");
+        food.setSpentAmount(new BigDecimal("320.00"));
+        food.setSpentThroughEventId(17L);
+        
+        when(budgetRepository.findDistinctUserIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L));
+        when(budgetRepository.findMonthlyTotalsKeysByUserIdIn(anyList()))
+                .thenReturn(Arrays.asList(new MonthlyTotalsKey(1L, 2024, 1)));
+        when(budgetRepository.findLockedByUserIdIn(anyList())).thenReturn(Arrays.asList(food));
+        when(expenseServiceClient.getCategoryTotalsByMonthsAsync(anyCollection()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ExpenseServiceUnavailableException("Expense service circuit breaker is open", null)));
+        
+        // When
+        BudgetRefreshReport report = budgetRefreshService.refreshAll();
+        
+        // Then
+        assertEquals(0, report.getBudgetsProcessed());
+        assertEquals(1, report.getBudgetsSkipped());
+        assertEquals(new BigDecimal("320.00"), food.getSpentAmount());
+        assertEquals(17L, food.getSpentThroughEventId());
+        verify(notificationService, never()).sendBudgetAlert(any());
+    }
+    
+    @Test
+    void refreshAll_ShouldKeepSpentAmountWhenNewerEventWasAppliedDuringFetch() {
+        // Given
+        Budget food = createBudget(1L, 1L, "Food", "500.00");
+        food.setSpentAmount(new BigDecimal("320.00"));
+        food.setSpentThroughEventId(50L);
+        
+        when(budgetRepository.findDistinctUserIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L));
+        when(budgetRepository.findMonthlyTotalsKeysByUserIdIn(anyList()))
+                .thenReturn(Arrays.asList(new MonthlyTotalsKey(1L, 2024, 1)));
+        when(budgetRepository.findLockedByUserIdIn(anyList())).thenReturn(Arrays.asList(food));
+        when(expenseServiceClient.getCategoryTotalsByMonthsAsync(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(
+                        new MonthlyTotalsKey(1L, 2024, 1),
+                        createTotals(Map.of("Food", new BigDecimal("300.00")), 42L))));
+        
+        // When
+        BudgetRefreshReport report = budgetRefreshService.refreshAll();
+        
+        // Then
+        assertEquals(0, report.getBudgetsProcessed());
+        assertEquals(1, report.getBudgetsSkipped());
+        assertEquals(new BigDecimal("320.00"), food.getSpentAmount());
+        assertEquals(50L, food.getSpentThroughEventId());
+    }
+    
+    private Budget createBudget(Long id, Long userId, String category, String amount) {
+        Budget budget = new Budget(userId, category, new BigDecimal(amount), 1, 2024);
+        budget.setId(id);
+        return budget;
+    }
+    
+    private MonthlyCategoryTotalsResponse createTotals(Map<String, BigDecimal> categoryTotals, Long throughEventId) {
+        MonthlyCategoryTotalsResponse totals = new MonthlyCategoryTotalsResponse();
+        totals.setTotals(categoryTotals);
+        totals.setThroughEventId(throughEventId);
+        return totals;
+    }
+}
\ No newline at end of file
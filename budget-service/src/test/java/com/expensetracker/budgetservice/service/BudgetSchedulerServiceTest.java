@@ -0,0 +1,156 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.SchedulerJobReport;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetSchedulerServiceTest {
+    
+    private static final String MANUAL_ALERT_CHECK_JOB =
+            BudgetSchedulerService.ALERT_CHECK_JOB + BudgetSchedulerService.MANUAL_JOB_SUFFIX;
+    
+    @Mock
+    private BudgetRepository budgetRepository;
+    
+    @Mock
+    private NotificationService notificationService;
+    
+    @Mock
+    private JobPartitionCoordinator partitionCoordinator;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private BudgetSchedulerService budgetSchedulerService;
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(budgetSchedulerService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(budgetSchedulerService, "alertThreshold", new BigDecimal("80"));
+        ReflectionTestUtils.setField(budgetSchedulerService, "partitions", 2);
+        ReflectionTestUtils.setField(budgetSchedulerService, "workerThreads", 2);
+        ReflectionTestUtils.setField(budgetSchedulerService, "usersPerChunk", 2);
+        ReflectionTestUtils.setField(budgetSchedulerService, "rescanSeconds", 0L);
+        ReflectionTestUtils.setField(budgetSchedulerService, "partitionAttempts", 3);
+        ReflectionTestUtils.setField(budgetSchedulerService, "readGenerations", new BudgetReadGenerations());
+        budgetSchedulerService.startWorkers();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        budgetSchedulerService.stopWorkers();
+    }
+    
+    @Test
+    void triggerBudgetAlertCheck_ShouldProcessClaimedPartitionsAndSkipOthers() {
+        // Given
+        Budget food = new Budget(1L, "Food", new BigDecimal("500.00"), 1, 2024);
+        food.setSpentAmount(new BigDecimal("450.00"));
+        
+        when(partitionCoordinator.claim(eq(MANUAL_ALERT_CHECK_JOB), eq(0), anyString(), anyString()))
+                .thenReturn(Long.MIN_VALUE);
+        when(partitionCoordinator.claim(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString(), anyString()))
+                .thenReturn(null);
+        when(partitionCoordinator.isCompleted(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString())).thenReturn(true);
+        when(budgetRepository.findDistinctUserIdsInPartitionAfter(eq(2), eq(0), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(2L, 4L));
+        when(budgetRepository.findDistinctUserIdsInPartitionAfter(eq(2), eq(0), eq(4L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(budgetRepository.findBudgetsNeedingAlertByUserIds(anyCollection(), any(BigDecimal.class)))
+                .thenReturn(List.of(food));
+        when(partitionCoordinator.checkpoint(eq(MANUAL_ALERT_CHECK_JOB), eq(0), anyString(), eq(4L), anyLong()))
+                .thenReturn(true);
+        
+        // When
+        SchedulerJobReport report = budgetSchedulerService.triggerBudgetAlertCheck();
+        
+        // Then
+        assertEquals(1, report.getPartitionsCompleted());
+        assertEquals(1, report.getPartitionsSkipped());
+        assertEquals(0, report.getPartitionsFailed());
+        assertEquals(1, report.getRowsProcessed());
+        assertTrue(food.getAlertSent());
+        
+        verify(notificationService, times(1)).sendBudgetAlert(food);
+        verify(partitionCoordinator, times(1)).complete(eq(MANUAL_ALERT_CHECK_JOB), eq(0), anyString());
+        verify(budgetRepository, never()).findDistinctUserIdsInPartitionAfter(eq(2), eq(1), any(), any(Pageable.class));
+        assertEquals(1.0, meterRegistry.get("budget.scheduler.job.rows")
+                .tag("job", MANUAL_ALERT_CHECK_JOB).counter().count());
+    }
+    
+    @Test
+    void triggerBudgetAlertCheck_ShouldTakeOverPartitionOnceItsLeaseExpires() {
+        // Given
+        when(partitionCoordinator.claim(eq(MANUAL_ALERT_CHECK_JOB), eq(0), anyString(), anyString()))
+                .thenReturn(Long.MIN_VALUE);
+        when(partitionCoordinator.claim(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString(), anyString()))
+                .thenReturn(null, 3L);
+        when(partitionCoordinator.isCompleted(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString())).thenReturn(false);
+        when(budgetRepository.findDistinctUserIdsInPartitionAfter(eq(2), anyInt(), anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        
+        // When
+        SchedulerJobReport report = budgetSchedulerService.triggerBudgetAlertCheck();
+        
+        // Then
+        assertEquals(2, report.getPartitionsCompleted());
+        assertEquals(0, report.getPartitionsSkipped());
+        assertEquals(0, report.getPartitionsFailed());
+        verify(partitionCoordinator, times(2)).claim(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString(), anyString());
+        verify(budgetRepository).findDistinctUserIdsInPartitionAfter(eq(2), eq(1), eq(3L), any(Pageable.class));
+        verify(partitionCoordinator).complete(eq(MANUAL_ALERT_CHECK_JOB), eq(1), anyString());
+    }
+    
+    @Test
+    void triggerBudgetAlertCheck_ShouldStopPartitionWhenLeaseIsLost() {
+        // Given
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(partitionCoordinator.claim(anyString(), anyInt(), anyString(), anyString())).thenReturn(Long.MIN_VALUE);
+        when(budgetRepository.findDistinctUserIdsInPartitionAfter(eq(2), anyInt(), eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(2L, 4L));
+        when(budgetRepository.findBudgetsNeedingAlertByUserIds(anyCollection(), any(BigDecimal.class)))
+                .thenReturn(Collections.emptyList());
+        when(partitionCoordinator.checkpoint(anyString(), anyInt(), anyString(), anyLong(), anyLong())).thenReturn(false);
+        
+        // When
+        SchedulerJobReport report = budgetSchedulerService.triggerBudgetAlertCheck();
+        
+        // Then
+        assertEquals(0, report.getPartitionsCompleted());
+        assertEquals(2, report.getPartitionsFailed());
+        verify(partitionCoordinator, times(6)).claim(anyString(), anyInt(), anyString(), anyString());
+        verify(partitionCoordinator, never()).complete(anyString(), anyInt(), anyString());
+        verify(partitionCoordinator, never()).release(anyString(), anyInt(), anyString());
+    }
+}
\ No newline at end of file
@@ -2,8 +2,13 @@ package com.expensetracker.budgetservice.service;
 
 import com.expensetracker.budgetservice.dto.BudgetRequest;
 import com.expensetracker.budgetservice.dto.BudgetResponse;
+import com.expensetracker.budgetservice.dto.BudgetSummaryResponse;
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
 import com.expensetracker.budgetservice.entity.Budget;
 import com.expensetracker.budgetservice.repository.BudgetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,14 +19,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +45,9 @@ class BudgetServiceTest {
     @Mock
     private NotificationService notificationService;
     
+    @Mock
+    private EntityManager entityManager;
+    
     @InjectMocks
     private BudgetService budgetService;
     
@@ -46,6 +58,7 @@ class BudgetServiceTest {
     @BeforeEach
     void setUp() {
         userId = 1L;
+        ReflectionTestUtils.setField(budgetService, "readGenerations", new BudgetReadGenerations());
         
         budgetRequest = new BudgetRequest();
         budgetRequest.setCategory("Food");
@@ -69,11 +82,13 @@ class BudgetServiceTest {
     }
     
     @Test
-    void createBudget_ShouldReturnBudgetResponse() {
+    void createBudget_ShouldReturnBudgetResponseSeededWithSpending() {
         // Given
         when(budgetRepository.existsByUserIdAndCategoryAndMonthAndYear(userId, "Food", 1, 2024))
                 .thenReturn(false);
-        when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenReturn(budget);
+        when(expenseServiceClient.getCategoryTotalsByUserAndMonth(userId, 1, 2024))
+                .thenReturn(createTotals("Food", "120.00", 42L));
         
         // When
         BudgetResponse result = budgetService.createBudget(budgetRequest, userId);
@@ -86,9 +101,11 @@ class BudgetServiceTest {
         assertEquals(budget.getAmount(), result.getAmount());
         assertEquals(budget.getMonth(), result.getMonth());
         assertEquals(budget.getYear(), result.getYear());
+        assertEquals(new BigDecimal("120.00"), result.getSpentAmount());
+        assertEquals(42L, budget.getSpentThroughEventId());
         
         verify(budgetRepository, times(1)).existsByUserIdAndCategoryAndMonthAndYear(userId, "Food", 1, 2024);
-        verify(budgetRepository, times(1)).save(any(Budget.class));
+        verify(budgetRepository, times(1)).saveAndFlush(any(Budget.class));
     }
     
     @Test
@@ -103,7 +120,7 @@ class BudgetServiceTest {
         });
         
         verify(budgetRepository, times(1)).existsByUserIdAndCategoryAndMonthAndYear(userId, "Food", 1, 2024);
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
     }
     
     @Test
@@ -119,6 +136,30 @@ class BudgetServiceTest {
         assertNotNull(result);
         assertEquals(budget.getId(), result.getId());
         verify(budgetRepository, times(1)).findByIdAndUserId(1L, userId);
+        verify(entityManager, times(1)).refresh(budget, LockModeType.PESSIMISTIC_WRITE);
+        verify(budgetRepository, times(1)).save(budget);
+        verify(expenseServiceClient, never()).getCategoryTotalsByUserAndMonth(any(), any(), any());
+    }
+    
+    @Test
+    void updateBudget_ShouldReseedSpending_WhenMonthChanges() {
+        // Given
+        budget.setSpentAmount(new BigDecimal("450.00"));
+        budget.setSpentThroughEventId(40L);
+        budget.setAlertSent(true);
+        budgetRequest.setMonth(2);
+        when(budgetRepository.findByIdAndUserId(1L, userId)).thenReturn(Optional.of(budget));
+        when(expenseServiceClient.getCategoryTotalsByUserAndMonth(userId, 2, 2024))
+                .thenReturn(createTotals("Travel", "90.00", 57L));
+        when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
+        
+        // When
+        BudgetResponse result = budgetService.updateBudget(1L, budgetRequest, userId);
+        
+        // Then
+        assertEquals(BigDecimal.ZERO, result.getSpentAmount());
+        assertEquals(57L, budget.getSpentThroughEventId());
+        assertFalse(budget.getAlertSent());
         verify(budgetRepository, times(1)).save(budget);
     }
     
@@ -184,21 +225,72 @@ class BudgetServiceTest {
     void updateBudgetSpending_ShouldUpdateSpentAmountAndSendAlert() {
         // Given
         BigDecimal spentAmount = new BigDecimal("400.00"); // 80% of 500
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
-        when(expenseServiceClient.getTotalExpensesByUserAndCategoryAndMonth(
-                any(), eq(userId), eq("Food"), eq(1), eq(2024)))
-                .thenReturn(spentAmount);
+        when(budgetRepository.findByIdAndUserId(1L, userId)).thenReturn(Optional.of(budget));
+        when(expenseServiceClient.getCategoryTotalsByUserAndMonth(userId, 1, 2024))
+                .thenReturn(createTotals("Food", spentAmount.toPlainString(), 42L));
         when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
         
         // When
-        BudgetResponse result = budgetService.updateBudgetSpending(1L, "Bearer token");
+        BudgetResponse result = budgetService.updateBudgetSpending(1L, userId);
         
         // Then
         assertNotNull(result);
-        verify(budgetRepository, times(1)).findById(1L);
-        verify(expenseServiceClient, times(1)).getTotalExpensesByUserAndCategoryAndMonth(
-                any(), eq(userId), eq("Food"), eq(1), eq(2024));
+        assertEquals(spentAmount, budget.getSpentAmount());
+        assertEquals(42L, budget.getSpentThroughEventId());
+        verify(budgetRepository, times(1)).findByIdAndUserId(1L, userId);
+        verify(expenseServiceClient, times(1)).getCategoryTotalsByUserAndMonth(userId, 1, 2024);
+        verify(entityManager, times(1)).refresh(budget, LockModeType.PESSIMISTIC_WRITE);
         verify(notificationService, times(1)).sendBudgetAlert(budget);
         verify(budgetRepository, times(1)).save(budget);
     }
+    
+    @Test
+    void updateBudgetSpending_ShouldKeepSpentAmount_WhenNewerEventWasAppliedDuringFetch() {
+        // Given
+        budget.setSpentAmount(new BigDecimal("320.00"));
+        budget.setSpentThroughEventId(50L);
+        when(budgetRepository.findByIdAndUserId(1L, userId)).thenReturn(Optional.of(budget));
+        when(expenseServiceClient.getCategoryTotalsByUserAndMonth(userId, 1, 2024))
+                .thenReturn(createTotals("Food", "300.00", 42L));
+        when(budgetRepository.save(any(Budget.class))).thenReturn(budget);
+        
+        // When
+        BudgetResponse result = budgetService.updateBudgetSpending(1L, userId);
+        
+        // Then
+        assertEquals(new BigDecimal("320.00"), result.getSpentAmount());
+        assertEquals(50L, budget.getSpentThroughEventId());
+        verify(notificationService, never()).sendBudgetAlert(any());
+    }
+    
+    @Test
+    void getBudgetSummary_ShouldFoldAggregateRowsWithoutLoadingBudgets() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(budgetService, "singleFlight", singleFlight);
+        List<Object[]> rows = Arrays.<Object[]>asList(
+                new Object[] {"Travel", 2024, 0L, new BigDecimal("300.00"), new BigDecimal("100.00")},
+                new Object[] {"Food", 2023, 1L, BigDecimal.ZERO, BigDecimal.ZERO},
+                new Object[] {"Food", 2024, 1L, new BigDecimal("500.00"), new BigDecimal("550.00")});
+        when(budgetRepository.getSummaryRowsByUserId(eq(userId), anyInt(), anyInt())).thenReturn(rows);
+        
+        // When
+        BudgetSummaryResponse result = budgetService.getBudgetSummary(userId);
+        
+        // Then
+        assertEquals(Arrays.asList("Food", "Travel"), result.getCategories());
+        assertEquals(Arrays.asList(2024, 2023), result.getYears());
+        assertEquals(2, result.getOverBudgetCount());
+        assertEquals(new BigDecimal("800.00"), result.getTotalBudgeted());
+        assertEquals(new BigDecimal("650.00"), result.getTotalSpent());
+        verify(budgetRepository, never()).findOverBudgetsByUserId(any());
+    }
+    
+    private MonthlyCategoryTotalsResponse createTotals(String category, String amount, Long throughEventId) {
+        MonthlyCategoryTotalsResponse totals = new MonthlyCategoryTotalsResponse();
+        totals.setTotals(Map.of(category, new BigDecimal(amount)));
+        totals.setThroughEventId(throughEventId);
+        return totals;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.ExpenseEventReceipt;
+import com.expensetracker.budgetservice.dto.ExpenseSpendingEvent;
+import com.expensetracker.budgetservice.entity.Budget;
+import com.expensetracker.budgetservice.repository.BudgetRepository;
+import com.expensetracker.budgetservice.repository.ProcessedExpenseEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseEventConsumerTest {
+    
+    @Mock
+    private BudgetRepository budgetRepository;
+    
+    @Mock
+    private ProcessedExpenseEventRepository processedEventRepository;
+    
+    @Mock
+    private NotificationService notificationService;
+    
+    @InjectMocks
+    private ExpenseEventConsumer expenseEventConsumer;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(expenseEventConsumer, "alertThreshold", new BigDecimal("80"));
+        ReflectionTestUtils.setField(expenseEventConsumer, "readGenerations", new BudgetReadGenerations());
+    }
+    
+    @Test
+    void consume_ShouldApplyDeltasOnceAndIgnoreRedeliveries() {
+        // Given
+        Budget food = new Budget(1L, "Food", new BigDecimal("500.00"), 1, 2024);
+        food.setSpentAmount(new BigDecimal("350.00"));
+        
+        ExpenseSpendingEvent created = createEvent("event-1", 1L, "Food", "75.00");
+        ExpenseSpendingEvent redelivered = createEvent("event-0", 1L, "Food", "10.00");
+        ExpenseSpendingEvent noBudget = createEvent("event-2", 1L, "Travel", "20.00");
+        
+        when(processedEventRepository.markProcessed(eq("event-1"), any(LocalDateTime.class))).thenReturn(1);
+        when(processedEventRepository.markProcessed(eq("event-0"), any(LocalDateTime.class))).thenReturn(0);
+        when(processedEventRepository.markProcessed(eq("event-2"), any(LocalDateTime.class))).thenReturn(1);
+        when(budgetRepository.findLockedByUserIdAndCategoryAndMonthAndYear(1L, "Food", 1, 2024))
+                .thenReturn(Optional.of(food));
+        when(budgetRepository.findLockedByUserIdAndCategoryAndMonthAndYear(1L, "Travel", 1, 2024))
+                .thenReturn(Optional.empty());
+        
+        // When
+        ExpenseEventReceipt receipt = expenseEventConsumer.consume(Arrays.asList(created, redelivered, noBudget));
+        
+        // Then
+        assertEquals(1, receipt.getApplied());
+        assertEquals(1, receipt.getDuplicates());
+        assertEquals(1, receipt.getUnmatched());
+        assertEquals(new BigDecimal("425.00"), food.getSpentAmount());
+        assertTrue(food.getAlertSent());
+        verify(notificationService, times(1)).sendBudgetAlert(food);
+    }
+    
+    @Test
+    void consume_ShouldSkipEventsIncludedInLastRefresh() {
+        // Given
+        Budget food = new Budget(1L, "Food", new BigDecimal("500.00"), 1, 2024);
+        food.setSpentAmount(new BigDecimal("100.00"));
+        food.setSpentThroughEventId(20L);
+        
+        ExpenseSpendingEvent included = createEvent("event-1", 1L, "Food", "75.00");
+        included.setSequence(20L);
+        ExpenseSpendingEvent later = createEvent("event-2", 1L, "Food", "30.00");
+        later.setSequence(21L);
+        
+        when(processedEventRepository.markProcessed(any(), any(LocalDateTime.class))).thenReturn(1);
+        when(budgetRepository.findLockedByUserIdAndCategoryAndMonthAndYear(1L, "Food", 1, 2024))
+                .thenReturn(Optional.of(food));
+        
+        // When
+        ExpenseEventReceipt receipt = expenseEventConsumer.consume(Arrays.asList(included, later));
+        
+        // Then
+        assertEquals(1, receipt.getApplied());
+        assertEquals(1, receipt.getSuperseded());
+        assertEquals(new BigDecimal("130.00"), food.getSpentAmount());
+    }
+    
+    @Test
+    void consume_ShouldRejectMalformedEvents() {
+        // Given
+        ExpenseSpendingEvent missingId = createEvent(null, 1L, "Food", "75.00");
+        
+        // When
+        ExpenseEventReceipt receipt = expenseEventConsumer.consume(Arrays.asList(missingId));
+        
+        // Then
+        assertEquals(1, receipt.getRejected());
+        verify(processedEventRepository, never()).markProcessed(any(), any());
+        verify(budgetRepository, never()).findLockedByUserIdAndCategoryAndMonthAndYear(any(), any(), any(), any());
+    }
+    
+    private ExpenseSpendingEvent createEvent(String eventId, Long userId, String category, String amountDelta) {
+        ExpenseSpendingEvent event = new ExpenseSpendingEvent();
+        event.setEventId(eventId);
+        event.setEventType("CREATED");
+        event.setUserId(userId);
+        event.setCategory(category);
+        event.setCurrency("USD");
+        event.setYear(2024);
+        event.setMonth(1);
+        event.setAmountDelta(new BigDecimal(amountDelta));
+        return event;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.budgetservice.dto.MonthlyTotalsKey;
+import com.expensetracker.budgetservice.exception.ExpenseServiceRejectedException;
+import com.expensetracker.budgetservice.exception.ExpenseServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ExpenseServiceClientTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private ExpenseServiceClient expenseServiceClient;
+    
+    private MockRestServiceServer server;
+    
+    private CircuitBreaker circuitBreaker;
+    
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplateBuilder().rootUri("http://expense-service").build();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        
+        expenseServiceClient = new ExpenseServiceClient();
+        ReflectionTestUtils.setField(expenseServiceClient, "expenseServiceRestTemplate", restTemplate);
+        ReflectionTestUtils.setField(expenseServiceClient, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(expenseServiceClient, "internalApiToken", "internal-token");
+        ReflectionTestUtils.setField(expenseServiceClient, "asyncConcurrency", 2);
+        
+        circuitBreaker = CircuitBreaker.ofDefaults("expense-service");
+        ReflectionTestUtils.setField(expenseServiceClient, "expenseServiceCircuitBreaker", circuitBreaker);
+        ReflectionTestUtils.setField(expenseServiceClient, "expenseServiceBulkhead", Bulkhead.ofDefaults("expense-service"));
+        ReflectionTestUtils.setField(expenseServiceClient, "expenseServiceRetry", Retry.of("expense-service",
+                RetryConfig.custom().maxAttempts(2).waitDuration(Duration.ofMillis(1))
+                        .retryExceptions(ResourceAccessException.class, HttpServerErrorException.class).build()));
+        expenseServiceClient.startExecutor();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        expenseServiceClient.stopExecutor();
+    }
+    
+    @Test
+    void getTotalExpensesByUserAndCategoryAndMonth_ShouldReturnTotalOfThatCategory() {
+        // Given
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(ExpenseServiceClient.INTERNAL_TOKEN_HEADER, "internal-token"))
+                .andExpect(jsonPath("$.keys[0].userId").value(1))
+                .andRespond(withSuccess("[{\"userId\":1,\"year\":2024,\"month\":1,"
+                        + "\"totals\":{\"Food\":450.00,\"Travel\":100.00}}]", MediaType.APPLICATION_JSON));
+        
+        // When
+        BigDecimal total = expenseServiceClient.getTotalExpensesByUserAndCategoryAndMonth(1L, "Food", 1, 2024);
+        
+        // Then
+        assertEquals(new BigDecimal("450.00"), total);
+        server.verify();
+        assertEquals(1, meterRegistry.get(ExpenseServiceClient.REQUEST_TIMER)
+                .tag("endpoint", "summary-month").tag("outcome", "success").timer().count());
+    }
+    
+    @Test
+    void getCategoryTotalsByMonthsAsync_ShouldRetryServerErrorsThenMapRows() {
+        // Given
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andRespond(withServerError());
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("[{\"userId\":1,\"year\":2024,\"month\":1,\"totals\":{\"Food\":450.00},"
+                        + "\"throughEventId\":42}]", MediaType.APPLICATION_JSON));
+        
+        // When
+        Map<MonthlyTotalsKey, MonthlyCategoryTotalsResponse> totals = expenseServiceClient
+                .getCategoryTotalsByMonthsAsync(List.of(new MonthlyTotalsKey(1L, 2024, 1))).join();
+        
+        // Then
+        MonthlyCategoryTotalsResponse month = totals.get(new MonthlyTotalsKey(1L, 2024, 1));
+        assertEquals(new BigDecimal("450.00"), month.getTotals().get("Food"));
+        assertEquals(42L, month.getThroughEventId());
+        server.verify();
+        assertEquals(1, meterRegistry.get(ExpenseServiceClient.REQUEST_TIMER)
+                .tag("endpoint", "summary-month-bulk").tag("outcome", "error").timer().count());
+    }
+    
+    @Test
+    void getCategoryTotalsByMonthsAsync_ShouldFailWhenRetriesAreExhausted() {
+        // Given
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andRespond(withServerError());
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andRespond(withServerError());
+        
+        // When
+        CompletionException thrown = assertThrows(CompletionException.class, () -> expenseServiceClient
+                .getCategoryTotalsByMonthsAsync(List.of(new MonthlyTotalsKey(1L, 2024, 1))).join());
+        
+        // Then
+        assertInstanceOf(ExpenseServiceUnavailableException.class, thrown.getCause());
+        server.verify();
+    }
+    
+    @Test
+    void getCategoryTotalsByMonths_ShouldNotRetryClientErrors() {
+        // Given
+        server.expect(requestTo("http://expense-service/internal/expenses/summary/month/bulk"))
+                .andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+        
+        // When
+        ExpenseServiceRejectedException thrown = assertThrows(ExpenseServiceRejectedException.class, () ->
+                expenseServiceClient.getCategoryTotalsByMonths(List.of(new MonthlyTotalsKey(1L, 2024, 1))));
+        
+        // Then
+        assertEquals(401, thrown.getStatusCode());
+        server.verify();
+    }
+    
+    @Test
+    void getTotalExpensesByUserAndCategoryAndMonth_ShouldFailFastWhenCircuitIsOpen() {
+        // Given
+        circuitBreaker.transitionToOpenState();
+        
+        // When
+        assertThrows(ExpenseServiceUnavailableException.class, () ->
+                expenseServiceClient.getTotalExpensesByUserAndCategoryAndMonth(1L, "Food", 1, 2024));
+        
+        // Then
+        server.verify();
+        assertEquals(1.0, meterRegistry.get(ExpenseServiceClient.REJECTED_COUNTER)
+                .tag("endpoint", "summary-month").tag("reason", "circuit-open").counter().count());
+    }
+}
\ No newline at end of file
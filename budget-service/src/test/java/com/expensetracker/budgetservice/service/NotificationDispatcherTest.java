@@ -0,0 +1,108 @@
+package com.expensetracker.budgetservice.service;
+
+import com.expensetracker.budgetservice.dto.NotificationDigest;
+import com.expensetracker.budgetservice.entity.NotificationOutbox;
+import com.expensetracker.budgetservice.entity.NotificationStatus;
+import com.expensetracker.budgetservice.entity.NotificationType;
+import com.expensetracker.budgetservice.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+    
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    
+    @Mock
+    private NotificationSink notificationSink;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private NotificationDispatcher notificationDispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationDispatcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(notificationDispatcher, "batchSize", 500);
+        ReflectionTestUtils.setField(notificationDispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(notificationDispatcher, "retryBackoffSeconds", 30L);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_ShouldCoalesceAlertsPerUser() {
+        // Given
+        NotificationOutbox food = createNotification(1L, NotificationType.BUDGET_ALERT, "Food alert");
+        NotificationOutbox summary = createNotification(2L, NotificationType.WEEKLY_SUMMARY, "Summary");
+        NotificationOutbox travel = createNotification(1L, NotificationType.BUDGET_ALERT, "Travel alert");
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt()))
+                .thenReturn(Arrays.asList(food, summary, travel));
+        
+        // When
+        int dispatched = notificationDispatcher.dispatchBatch();
+        
+        // Then
+        ArgumentCaptor<List<NotificationDigest>> digests = ArgumentCaptor.forClass(List.class);
+        verify(notificationSink, times(1)).deliver(digests.capture());
+        
+        assertEquals(3, dispatched);
+        assertEquals(2, digests.getValue().size());
+        NotificationDigest alerts = digests.getValue().get(0);
+        assertEquals(1L, alerts.getUserId());
+        assertEquals("2 Budget Alerts", alerts.getSubject());
+        assertEquals(Arrays.asList("Food alert", "Travel alert"), alerts.getMessages());
+        assertEquals("Subject", digests.getValue().get(1).getSubject());
+        assertEquals(NotificationStatus.SENT, food.getStatus());
+        assertNotNull(travel.getDispatchedAt());
+    }
+    
+    @Test
+    void dispatchBatch_ShouldRetryThenFailWhenSinkThrows() {
+        // Given
+        NotificationOutbox fresh = createNotification(1L, NotificationType.BUDGET_ALERT, "Food alert");
+        NotificationOutbox retried = createNotification(2L, NotificationType.BUDGET_ALERT, "Rent alert");
+        retried.setAttempts(1);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt()))
+                .thenReturn(Arrays.asList(fresh, retried));
+        doThrow(new RuntimeException("SMTP unavailable")).when(notificationSink).deliver(anyList());
+        
+        // When
+        notificationDispatcher.dispatchBatch();
+        
+        // Then
+        assertEquals(NotificationStatus.PENDING, fresh.getStatus());
+        assertEquals(1, fresh.getAttempts());
+        assertTrue(fresh.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(NotificationStatus.FAILED, retried.getStatus());
+        assertEquals("SMTP unavailable", retried.getLastError());
+    }
+    
+    private NotificationOutbox createNotification(Long userId, NotificationType type, String message) {
+        NotificationOutbox notification = new NotificationOutbox(userId, null, type, "Subject", message);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setAttempts(0);
+        notification.setNextAttemptAt(LocalDateTime.now());
+        return notification;
+    }
+}
\ No newline at end of file
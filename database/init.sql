@@ -1,4 +1,5 @@
 -- Create databases for each microservice
+-- Tables and indexes are created by each service's Flyway migrations (src/main/resources/db/migration)
 CREATE DATABASE IF NOT EXISTS user_db;
 CREATE DATABASE IF NOT EXISTS expense_db;
 CREATE DATABASE IF NOT EXISTS budget_db;
@@ -2,8 +2,10 @@ package com.expensetracker.expenseservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ExpenseServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ExpenseServiceApplication.class, args);
@@ -0,0 +1,27 @@
+package com.expensetracker.expenseservice.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Infrastructure of the reactive read path, enabled with the "reactive" profile.
+ * Tomcat stays on the classpath for the default MVC mode, so Netty is selected explicitly.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfig {
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
\ No newline at end of file
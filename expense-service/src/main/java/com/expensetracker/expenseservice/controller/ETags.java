@@ -0,0 +1,28 @@
+package com.expensetracker.expenseservice.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 200 responses tagged with a strong ETag of their JSON body. Spring answers a GET whose If-None-Match
+ * matches the tag with 304 and no body; clients are told to revalidate rather than reuse the body unchecked.
+ */
+final class ETags {
+    
+    private ETags() {}
+    
+    static <T> ResponseEntity<T> ok(ObjectMapper objectMapper, T body) {
+        try {
+            String etag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to compute ETag: " + e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,21 @@
 package com.expensetracker.expenseservice.controller;
 
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseFileFormat;
+import com.expensetracker.expenseservice.dto.ExpenseImportReport;
 import com.expensetracker.expenseservice.dto.ExpenseRequest;
 import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.dto.LegacyUserIdMigrationReport;
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsRequest;
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.expenseservice.dto.MonthlyTotalsKey;
+import com.expensetracker.expenseservice.dto.RollupVerificationReport;
+import com.expensetracker.expenseservice.service.ExpenseImportService;
+import com.expensetracker.expenseservice.service.ExpenseRollupService;
 import com.expensetracker.expenseservice.service.ExpenseService;
+import com.expensetracker.expenseservice.service.LegacyUserIdMigrationService;
 import com.expensetracker.expenseservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,20 +24,29 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/expenses")
 @Tag(name = "Expense Management", description = "CRUD operations for expense management")
 @SecurityRequirement(name = "bearerAuth")
@@ -38,6 +59,18 @@ public class ExpenseController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+    
+    @Autowired
+    private ExpenseImportService expenseImportService;
+    
+    @Autowired
+    private LegacyUserIdMigrationService legacyUserIdMigrationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @PostMapping
     @Operation(summary = "Create a new expense", description = "Creates a new expense for the authenticated user")
     @ApiResponses(value = {
@@ -103,13 +136,22 @@ public class ExpenseController {
     @Operation(summary = "Get all expenses", description = "Retrieves all expenses for the authenticated user with pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Page<ExpenseResponse>> getAllExpenses(
+    public ResponseEntity<?> getAllExpenses(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
             Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
+        if (after != null) {
+            ExpenseCursor cursor = parseCursor(after);
+            if (cursor == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(expenseService.getAllExpensesAfter(userId, cursor, size));
+        }
         Page<ExpenseResponse> expenses = expenseService.getAllExpenses(userId, page, size);
         return ResponseEntity.ok(expenses);
     }
@@ -118,14 +160,23 @@ public class ExpenseController {
     @Operation(summary = "Get expenses by category", description = "Retrieves expenses filtered by category for the authenticated user")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Page<ExpenseResponse>> getExpensesByCategory(
+    public ResponseEntity<?> getExpensesByCategory(
             @Parameter(description = "Expense category") @PathVariable String category,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
             Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
+        if (after != null) {
+            ExpenseCursor cursor = parseCursor(after);
+            if (cursor == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(expenseService.getExpensesByCategoryAfter(userId, category, cursor, size));
+        }
         Page<ExpenseResponse> expenses = expenseService.getExpensesByCategory(userId, category, page, size);
         return ResponseEntity.ok(expenses);
     }
@@ -137,13 +188,21 @@ public class ExpenseController {
         @ApiResponse(responseCode = "400", description = "Invalid date format"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Page<ExpenseResponse>> getExpensesByDateRange(
+    public ResponseEntity<?> getExpensesByDateRange(
             @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
             Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
+        if (after != null) {
+            ExpenseCursor cursor = parseCursor(after);
+            if (cursor == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(expenseService.getExpensesByDateRangeAfter(userId, startDate, endDate, cursor, size));
+        }
         Page<ExpenseResponse> expenses = expenseService.getExpensesByDateRange(userId, startDate, endDate, page, size);
         return ResponseEntity.ok(expenses);
     }
@@ -155,19 +214,81 @@ public class ExpenseController {
         @ApiResponse(responseCode = "400", description = "Invalid parameters"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Page<ExpenseResponse>> getExpensesByCategoryAndDateRange(
+    public ResponseEntity<?> getExpensesByCategoryAndDateRange(
             @Parameter(description = "Expense category") @RequestParam String category,
             @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
             Authentication authentication) {
         Long userId = userService.getUserIdFromAuthentication(authentication);
+        if (after != null) {
+            ExpenseCursor cursor = parseCursor(after);
+            if (cursor == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(expenseService.getExpensesByCategoryAndDateRangeAfter(
+                    userId, category, startDate, endDate, cursor, size));
+        }
         Page<ExpenseResponse> expenses = expenseService.getExpensesByCategoryAndDateRange(
                 userId, category, startDate, endDate, page, size);
         return ResponseEntity.ok(expenses);
     }
     
+    @GetMapping("/export")
+    @Operation(summary = "Export expenses", description = "Streams the full expense history of the authenticated user as CSV or NDJSON")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @Parameter(description = "Export format (csv or ndjson)") @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+        ExpenseFileFormat exportFormat = ExpenseFileFormat.fromParameter(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        StreamingResponseBody body = outputStream -> expenseService.exportExpenses(userId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+    
+    @PostMapping("/import")
+    @Operation(summary = "Import expenses", description = "Bulk imports expenses from a CSV (with header row) or NDJSON request body, reporting rejected rows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File processed; rejected rows are listed in the report"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format or invalid CSV header"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Import stopped after a batch failed to save")
+    })
+    public ResponseEntity<?> importExpenses(
+            @Parameter(description = "File format (csv or ndjson)") @RequestParam(defaultValue = "csv") String format,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        ExpenseFileFormat importFormat = ExpenseFileFormat.fromParameter(format);
+        if (importFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            Long userId = userService.getUserIdFromAuthentication(authentication);
+            ExpenseImportReport report = expenseImportService.importExpenses(userId, importFormat, body);
+            return ResponseEntity.status(report.isCompleted() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(report);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete an expense", description = "Deletes a specific expense for the authenticated user")
     @ApiResponses(value = {
@@ -191,6 +312,7 @@ public class ExpenseController {
     @Operation(summary = "Get expense summary", description = "Retrieves expense summary including total amounts and categories")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Summary unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<Map<String, Object>> getExpenseSummary(Authentication authentication) {
@@ -200,7 +322,7 @@ public class ExpenseController {
         summary.put("totalExpenses", expenseService.getTotalExpenses(userId));
         summary.put("categories", expenseService.getCategories(userId));
         
-        return ResponseEntity.ok(summary);
+        return ETags.ok(objectMapper, summary);
     }
     
     @GetMapping("/summary/category/{category}")
@@ -218,7 +340,7 @@ public class ExpenseController {
         summary.put("category", category);
         summary.put("totalAmount", expenseService.getTotalExpensesByCategory(userId, category));
         
-        return ResponseEntity.ok(summary);
+        return ETags.ok(objectMapper, summary);
     }
     
     @GetMapping("/summary/date-range")
@@ -239,7 +361,88 @@ public class ExpenseController {
         summary.put("endDate", endDate);
         summary.put("totalAmount", expenseService.getTotalExpensesByDateRange(userId, startDate, endDate));
         
-        return ResponseEntity.ok(summary);
+        return ETags.ok(objectMapper, summary);
+    }
+    
+    @GetMapping("/summary/month")
+    @Operation(summary = "Get monthly expense totals by category", description = "Retrieves the total of every category for a specific month in a single query")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Monthly category totals retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid year or month"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Map<String, Object>> getMonthlyCategoryTotals(
+            @Parameter(description = "Year") @RequestParam int year,
+            @Parameter(description = "Month (1-12)") @RequestParam int month,
+            Authentication authentication) {
+        if (month < 1 || month > 12) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("year", year);
+        summary.put("month", month);
+        summary.put("totals", expenseService.getCategoryTotalsByMonth(userId, year, month));
+        
+        return ETags.ok(objectMapper, summary);
+    }
+    
+    @PostMapping("/summary/month/bulk")
+    @Operation(summary = "Get monthly category totals in bulk", description = "Retrieves category totals for many (user, year, month) keys, one query per distinct set of months. Keys without a user ID default to the authenticated user; other users require the admin role")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Monthly category totals retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid keys"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Access to another user's totals denied")
+    })
+    public ResponseEntity<List<MonthlyCategoryTotalsResponse>> getBulkMonthlyCategoryTotals(
+            @Valid @RequestBody MonthlyCategoryTotalsRequest request,
+            Authentication authentication) {
+        Long callerId = userService.getUserIdFromAuthentication(authentication);
+        boolean admin = userService.isAdmin(authentication);
+        
+        Set<MonthlyTotalsKey> keys = new LinkedHashSet<>();
+        for (MonthlyTotalsKey key : request.getKeys()) {
+            Long userId = key.getUserId() != null ? key.getUserId() : callerId;
+            if (!admin && !userId.equals(callerId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            keys.add(new MonthlyTotalsKey(userId, key.getYear(), key.getMonth()));
+        }
+        
+        return ResponseEntity.ok(expenseService.getMonthlyCategoryTotals(keys));
+    }
+    
+    // Admin endpoints
+    @PostMapping("/admin/rollup/verify")
+    @Operation(summary = "Verify the monthly rollup", description = "Reconciles the monthly rollup against raw expenses and optionally rebuilds mismatching users (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Verification completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<RollupVerificationReport> verifyRollup(
+            @Parameter(description = "Rebuild mismatching users") @RequestParam(defaultValue = "false") boolean repair,
+            Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(expenseRollupService.verifyAll(repair));
+    }
+    
+    @PostMapping("/admin/migrate-legacy-user-ids")
+    @Operation(summary = "Migrate legacy user ids", description = "Moves expenses stored under the username-derived ids of tokens without a uid claim to the user-service ids (Admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Migration completed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Admin role required")
+    })
+    public ResponseEntity<LegacyUserIdMigrationReport> migrateLegacyUserIds(Authentication authentication) {
+        if (!userService.isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(legacyUserIdMigrationService.migrateAll());
     }
     
     @GetMapping("/health")
@@ -247,4 +450,12 @@ public class ExpenseController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Expense Service is running!");
     }
+    
+    private ExpenseCursor parseCursor(String after) {
+        try {
+            return ExpenseCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
\ No newline at end of file
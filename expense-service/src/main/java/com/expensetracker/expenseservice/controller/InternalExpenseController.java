@@ -0,0 +1,59 @@
+package com.expensetracker.expenseservice.controller;
+
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsRequest;
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.expenseservice.dto.MonthlyTotalsKey;
+import com.expensetracker.expenseservice.service.ExpenseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service-to-service endpoints. They are not routed by the API gateway and are authenticated
+ * with the shared internal token instead of a user JWT.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/internal/expenses")
+@Tag(name = "Internal", description = "Service-to-service APIs")
+public class InternalExpenseController {
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+    
+    @PostMapping("/summary/month/bulk")
+    @Operation(summary = "Get monthly category totals of any users", description = "Retrieves category totals for many (user, year, month) keys, with the id of the last expense event they include; every key must name its user")
+    public ResponseEntity<List<MonthlyCategoryTotalsResponse>> getBulkMonthlyCategoryTotals(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @Valid @RequestBody MonthlyCategoryTotalsRequest request) {
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), internalApiToken.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        Set<MonthlyTotalsKey> keys = new LinkedHashSet<>();
+        for (MonthlyTotalsKey key : request.getKeys()) {
+            if (key.getUserId() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            keys.add(key);
+        }
+        
+        return ResponseEntity.ok(expenseService.getMonthlyCategoryTotalsThroughLatestEvent(keys));
+    }
+}
\ No newline at end of file
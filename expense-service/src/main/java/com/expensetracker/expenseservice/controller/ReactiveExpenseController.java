@@ -0,0 +1,193 @@
+package com.expensetracker.expenseservice.controller;
+
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.service.ReactiveExpenseService;
+import com.expensetracker.expenseservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read endpoints of {@link ExpenseController} served by WebFlux on R2DBC, enabled with the "reactive" profile.
+ * Paths, parameters and response bodies are the same as on the MVC path, and summaries carry the same ETags,
+ * so a matching If-None-Match is answered with 304; writes, import and export are not served here and stay on
+ * the MVC replicas.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/expenses")
+@Tag(name = "Expense Management", description = "Reactive read endpoints for expense management")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReactiveExpenseController {
+    
+    @Autowired
+    private ReactiveExpenseService expenseService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get expense by ID", description = "Retrieves a specific expense by ID for the authenticated user")
+    public Mono<ResponseEntity<ExpenseResponse>> getExpenseById(
+            @Parameter(description = "Expense ID") @PathVariable Long id,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        return expenseService.getExpenseById(id, userId)
+                .map(ResponseEntity::ok)
+                .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.notFound().<ExpenseResponse>build()));
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get all expenses", description = "Retrieves all expenses for the authenticated user with pagination")
+    public Mono<ResponseEntity<?>> getAllExpenses(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        return getExpenses(userId, null, null, null, page, size, after);
+    }
+    
+    @GetMapping("/category/{category}")
+    @Operation(summary = "Get expenses by category", description = "Retrieves expenses filtered by category for the authenticated user")
+    public Mono<ResponseEntity<?>> getExpensesByCategory(
+            @Parameter(description = "Expense category") @PathVariable String category,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        return getExpenses(userId, category, null, null, page, size, after);
+    }
+    
+    @GetMapping("/date-range")
+    @Operation(summary = "Get expenses by date range", description = "Retrieves expenses within a specific date range for the authenticated user")
+    public Mono<ResponseEntity<?>> getExpensesByDateRange(
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        return getExpenses(userId, null, startDate, endDate, page, size, after);
+    }
+    
+    @GetMapping("/filter")
+    @Operation(summary = "Get expenses by category and date range", description = "Retrieves expenses filtered by both category and date range")
+    public Mono<ResponseEntity<?>> getExpensesByCategoryAndDateRange(
+            @Parameter(description = "Expense category") @RequestParam String category,
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (yyyy-MM-dd,id) from a previous page's nextCursor; pass empty for the first page. Switches to keyset paging and ignores 'page'") @RequestParam(required = false) String after,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        return getExpenses(userId, category, startDate, endDate, page, size, after);
+    }
+    
+    @GetMapping("/summary")
+    @Operation(summary = "Get expense summary", description = "Retrieves expense summary including total amounts and categories")
+    public Mono<ResponseEntity<Map<String, Object>>> getExpenseSummary(Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        
+        return Mono.zip(expenseService.getTotalExpenses(userId), expenseService.getCategories(userId))
+                .map(result -> {
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("totalExpenses", result.getT1());
+                    summary.put("categories", result.getT2());
+                    return ETags.ok(objectMapper, summary);
+                });
+    }
+    
+    @GetMapping("/summary/category/{category}")
+    @Operation(summary = "Get expense summary by category", description = "Retrieves total expenses for a specific category")
+    public Mono<ResponseEntity<Map<String, Object>>> getExpenseSummaryByCategory(
+            @Parameter(description = "Expense category") @PathVariable String category,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        
+        return expenseService.getTotalExpensesByCategory(userId, category)
+                .map(totalAmount -> {
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("category", category);
+                    summary.put("totalAmount", totalAmount);
+                    return ETags.ok(objectMapper, summary);
+                });
+    }
+    
+    @GetMapping("/summary/date-range")
+    @Operation(summary = "Get expense summary by date range", description = "Retrieves total expenses within a specific date range")
+    public Mono<ResponseEntity<Map<String, Object>>> getExpenseSummaryByDateRange(
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        
+        return expenseService.getTotalExpensesByDateRange(userId, startDate, endDate)
+                .map(totalAmount -> {
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("startDate", startDate);
+                    summary.put("endDate", endDate);
+                    summary.put("totalAmount", totalAmount);
+                    return ETags.ok(objectMapper, summary);
+                });
+    }
+    
+    @GetMapping("/summary/month")
+    @Operation(summary = "Get monthly expense totals by category", description = "Retrieves the total of every category for a specific month in a single query")
+    public Mono<ResponseEntity<Map<String, Object>>> getMonthlyCategoryTotals(
+            @Parameter(description = "Year") @RequestParam int year,
+            @Parameter(description = "Month (1-12)") @RequestParam int month,
+            Authentication authentication) {
+        if (month < 1 || month > 12) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        Long userId = userService.getUserIdFromAuthentication(authentication);
+        
+        return expenseService.getCategoryTotalsByMonth(userId, year, month)
+                .map(totals -> {
+                    Map<String, Object> summary = new HashMap<>();
+                    summary.put("year", year);
+                    summary.put("month", month);
+                    summary.put("totals", totals);
+                    return ETags.ok(objectMapper, summary);
+                });
+    }
+    
+    private Mono<ResponseEntity<?>> getExpenses(Long userId, String category, LocalDate startDate, LocalDate endDate,
+                                                int page, int size, String after) {
+        if (after == null) {
+            return expenseService.getExpenses(userId, category, startDate, endDate, page, size)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok);
+        }
+        
+        ExpenseCursor cursor;
+        try {
+            cursor = ExpenseCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return expenseService.getExpensesAfter(userId, category, startDate, endDate, cursor, size)
+                .<ResponseEntity<?>>map(ResponseEntity::ok);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.expensetracker.expenseservice.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the (expense_date desc, id desc) ordering, written as {@code yyyy-MM-dd,id}.
+ */
+public class ExpenseCursor {
+    
+    /** Position before the first row; sorts after every real expense. */
+    public static final ExpenseCursor START = new ExpenseCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+    
+    private final LocalDate date;
+    private final Long id;
+    
+    public ExpenseCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+    
+    /**
+     * Parse a cursor from its {@code yyyy-MM-dd,id} form; a blank value means the first page.
+     */
+    public static ExpenseCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        int separator = value.indexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor must be in the form yyyy-MM-dd,id");
+        }
+        try {
+            return new ExpenseCursor(
+                    LocalDate.parse(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor must be in the form yyyy-MM-dd,id", e);
+        }
+    }
+    
+    public LocalDate getDate() { return date; }
+    
+    public Long getId() { return id; }
+    
+    @Override
+    public String toString() {
+        return date + "," + id;
+    }
+}
\ No newline at end of file
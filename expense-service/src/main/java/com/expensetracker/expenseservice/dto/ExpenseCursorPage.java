@@ -0,0 +1,44 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One keyset page of expenses, ordered by date and ID descending")
+public class ExpenseCursorPage {
+    
+    @Schema(description = "Expenses on this page")
+    private List<ExpenseResponse> content;
+    
+    @Schema(description = "Requested page size", example = "10")
+    private int size;
+    
+    @Schema(description = "Whether more expenses follow this page", example = "true")
+    private boolean hasNext;
+    
+    @Schema(description = "Value to pass as 'after' to fetch the next page", example = "2024-01-15,123")
+    private String nextCursor;
+    
+    // Constructors
+    public ExpenseCursorPage() {}
+    
+    public ExpenseCursorPage(List<ExpenseResponse> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<ExpenseResponse> getContent() { return content; }
+    public void setContent(List<ExpenseResponse> content) { this.content = content; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.expensetracker.expenseservice.dto;
+
+public enum ExpenseFileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    ExpenseFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+    
+    /**
+     * Resolve a format from its request parameter value, or null when unsupported.
+     */
+    public static ExpenseFileFormat fromParameter(String value) {
+        for (ExpenseFileFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+    
+    public String getContentType() { return contentType; }
+    
+    public String getFileExtension() { return fileExtension; }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A rejected row of an expense import")
+public class ExpenseImportError {
+    
+    @Schema(description = "Line number of the row in the uploaded file", example = "42")
+    private long line;
+    
+    @Schema(description = "Why the row was rejected", example = "Amount must be greater than 0")
+    private String message;
+    
+    // Constructors
+    public ExpenseImportError() {}
+    
+    public ExpenseImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk expense import")
+public class ExpenseImportReport {
+    
+    @Schema(description = "Number of data rows read from the file", example = "100000")
+    private long rowsRead;
+    
+    @Schema(description = "Number of rows stored as expenses", example = "99950")
+    private long rowsImported;
+    
+    @Schema(description = "Number of rows rejected by parsing or validation", example = "50")
+    private long rowsRejected;
+    
+    @Schema(description = "Number of batches committed", example = "100")
+    private int batchesCommitted;
+    
+    @Schema(description = "Total import duration in milliseconds", example = "8200")
+    private long durationMs;
+    
+    @Schema(description = "Throughput in rows per second", example = "12195.1")
+    private double rowsPerSecond;
+    
+    @Schema(description = "Whether the whole file was processed", example = "true")
+    private boolean completed;
+    
+    @Schema(description = "Reason the import stopped early, if it did")
+    private String failureMessage;
+    
+    @Schema(description = "Rejected rows, up to the configured limit")
+    private List<ExpenseImportError> errors = new ArrayList<>();
+    
+    @Schema(description = "Whether more rows were rejected than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+    
+    // Constructors
+    public ExpenseImportReport() {}
+    
+    // Getters and Setters
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+    
+    public long getRowsImported() { return rowsImported; }
+    public void setRowsImported(long rowsImported) { this.rowsImported = rowsImported; }
+    
+    public long getRowsRejected() { return rowsRejected; }
+    public void setRowsRejected(long rowsRejected) { this.rowsRejected = rowsRejected; }
+    
+    public int getBatchesCommitted() { return batchesCommitted; }
+    public void setBatchesCommitted(int batchesCommitted) { this.batchesCommitted = batchesCommitted; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    
+    public String getFailureMessage() { return failureMessage; }
+    public void setFailureMessage(String failureMessage) { this.failureMessage = failureMessage; }
+    
+    public List<ExpenseImportError> getErrors() { return errors; }
+    public void setErrors(List<ExpenseImportError> errors) { this.errors = errors; }
+    
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d rows read, %d imported, %d rejected, %d batches, %d ms (%.1f rows/sec)",
+                rowsRead, rowsImported, rowsRejected, batchesCommitted, durationMs, rowsPerSecond);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.expensetracker.expenseservice.dto;
+
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Schema(description = "Change of a user's spending in one month and category, published to budget-service")
+public class ExpenseSpendingEvent {
+    
+    @Schema(description = "Idempotency key of the event", example = "3f2b8c4e-4f7a-4d55-9a0e-7c1d2b3a4e5f")
+    private String eventId;
+    
+    @Schema(description = "Position of the event in the outbox; totals read with a throughEventId at or above it already include it", example = "1042")
+    private Long sequence;
+    
+    @Schema(description = "What caused the change", example = "CREATED", allowableValues = {"CREATED", "UPDATED", "DELETED", "IMPORTED"})
+    private String eventType;
+    
+    @Schema(description = "Expense ID; absent for the aggregated events of an import", example = "42")
+    private Long expenseId;
+    
+    @Schema(description = "User ID", example = "123")
+    private Long userId;
+    
+    @Schema(description = "Expense category", example = "Food")
+    private String category;
+    
+    @Schema(description = "Expense currency", example = "USD")
+    private String currency;
+    
+    @Schema(description = "Expense date; absent for the aggregated events of an import", example = "2024-01-15")
+    private LocalDate expenseDate;
+    
+    @Schema(description = "Year", example = "2024")
+    private Integer year;
+    
+    @Schema(description = "Month (1-12)", example = "1")
+    private Integer month;
+    
+    @Schema(description = "Amount to add to the spending; negative when spending went down", example = "-25.50")
+    private BigDecimal amountDelta;
+    
+    @Schema(description = "When the change was recorded")
+    private LocalDateTime occurredAt;
+    
+    // Constructors
+    public ExpenseSpendingEvent() {}
+    
+    public ExpenseSpendingEvent(ExpenseEvent event) {
+        this.eventId = event.getEventId();
+        this.sequence = event.getId();
+        this.eventType = event.getEventType().name();
+        this.expenseId = event.getExpenseId();
+        this.userId = event.getUserId();
+        this.category = event.getCategory();
+        this.currency = event.getCurrency();
+        this.expenseDate = event.getExpenseDate();
+        this.year = event.getYear();
+        this.month = event.getMonth();
+        this.amountDelta = event.getAmountDelta();
+        this.occurredAt = event.getCreatedAt();
+    }
+    
+    // Getters and Setters
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+    
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+    
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    
+    public Long getExpenseId() { return expenseId; }
+    public void setExpenseId(Long expenseId) { this.expenseId = expenseId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public LocalDate getExpenseDate() { return expenseDate; }
+    public void setExpenseDate(LocalDate expenseDate) { this.expenseDate = expenseDate; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public BigDecimal getAmountDelta() { return amountDelta; }
+    public void setAmountDelta(BigDecimal amountDelta) { this.amountDelta = amountDelta; }
+    
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request object for bulk monthly category totals")
+public class MonthlyCategoryTotalsRequest {
+    
+    @NotEmpty(message = "At least one key is required")
+    @Size(max = 1000, message = "At most 1000 keys per request")
+    @Valid
+    @Schema(description = "The (user, year, month) keys to aggregate")
+    private List<MonthlyTotalsKey> keys;
+    
+    // Constructors
+    public MonthlyCategoryTotalsRequest() {}
+    
+    public MonthlyCategoryTotalsRequest(List<MonthlyTotalsKey> keys) {
+        this.keys = keys;
+    }
+    
+    // Getters and Setters
+    public List<MonthlyTotalsKey> getKeys() { return keys; }
+    public void setKeys(List<MonthlyTotalsKey> keys) { this.keys = keys; }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+@Schema(description = "A (user, year, month) key for monthly category totals")
+public class MonthlyTotalsKey {
+    
+    @Schema(description = "User ID, defaults to the authenticated user", example = "123")
+    private Long userId;
+    
+    @NotNull(message = "Year is required")
+    @Schema(description = "Year", example = "2024")
+    private Integer year;
+    
+    @NotNull(message = "Month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    @Schema(description = "Month (1-12)", example = "3")
+    private Integer month;
+    
+    // Constructors
+    public MonthlyTotalsKey() {}
+    
+    public MonthlyTotalsKey(Long userId, Integer year, Integer month) {
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MonthlyTotalsKey)) return false;
+        MonthlyTotalsKey that = (MonthlyTotalsKey) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(year, that.year)
+                && Objects.equals(month, that.month);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, year, month);
+    }
+}
\ No newline at end of file
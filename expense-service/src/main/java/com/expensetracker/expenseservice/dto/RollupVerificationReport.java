@@ -0,0 +1,48 @@
+package com.expensetracker.expenseservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of reconciling the monthly rollup against raw expenses")
+public class RollupVerificationReport {
+    
+    @Schema(description = "Number of users checked", example = "1200")
+    private long usersChecked;
+    
+    @Schema(description = "Number of users whose rollup differed from their raw expenses", example = "3")
+    private long usersMismatched;
+    
+    @Schema(description = "Number of users whose rollup was rebuilt", example = "3")
+    private long usersRepaired;
+    
+    @Schema(description = "Total run duration in milliseconds", example = "5400")
+    private long durationMs;
+    
+    // Constructors
+    public RollupVerificationReport() {}
+    
+    public RollupVerificationReport(long usersChecked, long usersMismatched, long usersRepaired, long durationMs) {
+        this.usersChecked = usersChecked;
+        this.usersMismatched = usersMismatched;
+        this.usersRepaired = usersRepaired;
+        this.durationMs = durationMs;
+    }
+    
+    // Getters and Setters
+    public long getUsersChecked() { return usersChecked; }
+    public void setUsersChecked(long usersChecked) { this.usersChecked = usersChecked; }
+    
+    public long getUsersMismatched() { return usersMismatched; }
+    public void setUsersMismatched(long usersMismatched) { this.usersMismatched = usersMismatched; }
+    
+    public long getUsersRepaired() { return usersRepaired; }
+    public void setUsersRepaired(long usersRepaired) { this.usersRepaired = usersRepaired; }
+    
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    
+    @Override
+    public String toString() {
+        return String.format("%d users checked, %d mismatched, %d repaired in %d ms",
+                usersChecked, usersMismatched, usersRepaired, durationMs);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.expensetracker.expenseservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change of a user's spending in one (year, month, category, currency) cell, written to the event outbox
+ * in the transaction of the expense change. ExpenseEventRelay publishes pending rows to budget-service;
+ * the event id is the idempotency key that lets the consumer ignore redeliveries.
+ */
+@Entity
+@Table(name = "expense_events")
+public class ExpenseEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private ExpenseEventType eventType;
+    
+    @Column(name = "expense_id")
+    private Long expenseId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(length = 50, nullable = false)
+    private String category;
+    
+    @Column(length = 3, nullable = false)
+    private String currency;
+    
+    @Column(name = "expense_date")
+    private LocalDate expenseDate;
+    
+    @Column(nullable = false)
+    private Integer year;
+    
+    @Column(nullable = false)
+    private Integer month;
+    
+    @Column(name = "amount_delta", precision = 14, scale = 2, nullable = false)
+    private BigDecimal amountDelta;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (eventId == null) {
+            eventId = UUID.randomUUID().toString();
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+    
+    // Constructors
+    public ExpenseEvent() {}
+    
+    public ExpenseEvent(ExpenseEventType eventType, Long userId, Integer year, Integer month,
+                        String category, String currency, BigDecimal amountDelta) {
+        this.eventType = eventType;
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+        this.category = category;
+        this.currency = currency;
+        this.amountDelta = amountDelta;
+    }
+    
+    /**
+     * The spending change of one expense, snapshotting its current cell.
+     */
+    public static ExpenseEvent forExpense(ExpenseEventType eventType, Expense expense, BigDecimal amountDelta) {
+        ExpenseEvent event = new ExpenseEvent(eventType, expense.getUserId(),
+                expense.getDate().getYear(), expense.getDate().getMonthValue(),
+                expense.getCategory(), expense.getCurrency() != null ? expense.getCurrency() : "USD", amountDelta);
+        event.setExpenseId(expense.getId());
+        event.setExpenseDate(expense.getDate());
+        return event;
+    }
+    
+    /**
+     * Whether both events change the same (user, year, month, category, currency) cell.
+     */
+    public boolean sameCell(ExpenseEvent other) {
+        return userId.equals(other.userId) && year.equals(other.year) && month.equals(other.month)
+                && category.equals(other.category) && currency.equals(other.currency);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+    
+    public ExpenseEventType getEventType() { return eventType; }
+    public void setEventType(ExpenseEventType eventType) { this.eventType = eventType; }
+    
+    public Long getExpenseId() { return expenseId; }
+    public void setExpenseId(Long expenseId) { this.expenseId = expenseId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public LocalDate getExpenseDate() { return expenseDate; }
+    public void setExpenseDate(LocalDate expenseDate) { this.expenseDate = expenseDate; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public BigDecimal getAmountDelta() { return amountDelta; }
+    public void setAmountDelta(BigDecimal amountDelta) { this.amountDelta = amountDelta; }
+    
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+    
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+}
\ No newline at end of file
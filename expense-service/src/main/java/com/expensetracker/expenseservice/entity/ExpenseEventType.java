@@ -0,0 +1,8 @@
+package com.expensetracker.expenseservice.entity;
+
+public enum ExpenseEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    IMPORTED
+}
\ No newline at end of file
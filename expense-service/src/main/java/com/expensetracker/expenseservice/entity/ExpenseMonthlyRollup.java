@@ -0,0 +1,79 @@
+package com.expensetracker.expenseservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated expense totals per user, month, category and currency.
+ * Maintained incrementally by ExpenseService and reconciled by ExpenseRollupService.
+ */
+@Entity
+@Table(name = "expense_monthly_rollup",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "year", "month", "category", "currency"}))
+public class ExpenseMonthlyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Integer year;
+    
+    @Column(nullable = false)
+    private Integer month;
+    
+    @Column(length = 50, nullable = false)
+    private String category;
+    
+    @Column(length = 3, nullable = false)
+    private String currency;
+    
+    @Column(name = "total_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount = 0L;
+    
+    // Constructors
+    public ExpenseMonthlyRollup() {}
+    
+    public ExpenseMonthlyRollup(Long userId, Integer year, Integer month, String category, String currency,
+                                BigDecimal totalAmount, Long expenseCount) {
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+        this.category = category;
+        this.currency = currency;
+        this.totalAmount = totalAmount;
+        this.expenseCount = expenseCount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public Long getExpenseCount() { return expenseCount; }
+    public void setExpenseCount(Long expenseCount) { this.expenseCount = expenseCount; }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.expensetracker.expenseservice.repository;
+
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ExpenseEventRepository extends JpaRepository<ExpenseEvent, Long> {
+    
+    // Lock the oldest unpublished events that are due; rows locked by another relay are skipped, not waited for
+    @Query(value = "SELECT * FROM expense_events WHERE published_at IS NULL AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ExpenseEvent> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    // Highest event id handed out so far
+    @Query("SELECT MAX(e.id) FROM ExpenseEvent e")
+    Long findMaxId();
+    
+    // Delete events published before the retention cutoff
+    @Modifying
+    @Query("DELETE FROM ExpenseEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Move all events of a user to another user id
+    @Modifying
+    @Query("UPDATE ExpenseEvent e SET e.userId = :newUserId WHERE e.userId = :userId")
+    int reassignUserId(@Param("userId") Long userId, @Param("newUserId") Long newUserId);
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.expensetracker.expenseservice.repository;
+
+import com.expensetracker.expenseservice.entity.ExpenseMonthlyRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpenseMonthlyRollupRepository extends JpaRepository<ExpenseMonthlyRollup, Long> {
+    
+    // Atomically add an amount and count to a rollup row, creating it if missing
+    @Modifying
+    @Query(value = "INSERT INTO expense_monthly_rollup " +
+                   "(user_id, year, month, category, currency, total_amount, expense_count) " +
+                   "VALUES (:userId, :year, :month, :category, :currency, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, " +
+                   "expense_count = expense_count + :count",
+           nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+                    @Param("year") Integer year,
+                    @Param("month") Integer month,
+                    @Param("category") String category,
+                    @Param("currency") String currency,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+    
+    // Remove rollup rows that no longer cover any expense
+    @Modifying
+    @Query("DELETE FROM ExpenseMonthlyRollup r WHERE r.userId = :userId AND r.year = :year AND r.month = :month " +
+           "AND r.category = :category AND r.currency = :currency AND r.expenseCount <= 0")
+    void deleteEmpty(@Param("userId") Long userId,
+                     @Param("year") Integer year,
+                     @Param("month") Integer month,
+                     @Param("category") String category,
+                     @Param("currency") String currency);
+    
+    // Rebuild all rollup rows of a user from the raw expenses
+    @Modifying
+    @Query(value = "INSERT INTO expense_monthly_rollup " +
+                   "(user_id, year, month, category, currency, total_amount, expense_count) " +
+                   "SELECT user_id, YEAR(expense_date), MONTH(expense_date), category, COALESCE(currency, 'USD'), " +
+                   "SUM(amount), COUNT(*) FROM expenses WHERE user_id = :userId " +
+                   "GROUP BY user_id, YEAR(expense_date), MONTH(expense_date), category, COALESCE(currency, 'USD')",
+           nativeQuery = true)
+    void rebuildForUser(@Param("userId") Long userId);
+    
+    // Delete all rollup rows of a user
+    @Modifying
+    @Query("DELETE FROM ExpenseMonthlyRollup r WHERE r.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+    
+    // Find all rollup rows of a user
+    List<ExpenseMonthlyRollup> findByUserId(Long userId);
+    
+    // Keyset-page through users with rollup rows but no raw expenses left
+    @Query("SELECT DISTINCT r.userId FROM ExpenseMonthlyRollup r WHERE r.userId > :afterUserId " +
+           "AND NOT EXISTS (SELECT e.id FROM Expense e WHERE e.userId = r.userId) ORDER BY r.userId")
+    List<Long> findOrphanedUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+    
+    // Get total expenses for a user
+    @Query("SELECT SUM(r.totalAmount) FROM ExpenseMonthlyRollup r WHERE r.userId = :userId")
+    BigDecimal getTotalAmountByUserId(@Param("userId") Long userId);
+    
+    // Get total expenses for a user by category
+    @Query("SELECT SUM(r.totalAmount) FROM ExpenseMonthlyRollup r WHERE r.userId = :userId AND r.category = :category")
+    BigDecimal getTotalAmountByUserIdAndCategory(@Param("userId") Long userId, @Param("category") String category);
+    
+    // Get total expenses for a user over a range of whole months, months indexed as year * 12 + month
+    @Query("SELECT SUM(r.totalAmount) FROM ExpenseMonthlyRollup r WHERE r.userId = :userId " +
+           "AND (r.year * 12 + r.month) BETWEEN :fromMonth AND :toMonth")
+    BigDecimal getTotalAmountByUserIdAndMonthRange(
+            @Param("userId") Long userId,
+            @Param("fromMonth") int fromMonth,
+            @Param("toMonth") int toMonth);
+    
+    // Get per-category totals for a user in one month
+    @Query("SELECT r.category, SUM(r.totalAmount) FROM ExpenseMonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.year = :year AND r.month = :month GROUP BY r.category")
+    List<Object[]> getCategoryTotalsByUserIdAndMonth(
+            @Param("userId") Long userId,
+            @Param("year") Integer year,
+            @Param("month") Integer month);
+    
+    // Get per-user, per-month, per-category totals for a set of users in a set of months indexed as year * 12 + month
+    @Query("SELECT r.userId, r.year, r.month, r.category, SUM(r.totalAmount) FROM ExpenseMonthlyRollup r " +
+           "WHERE r.userId IN :userIds AND (r.year * 12 + r.month) IN :months " +
+           "GROUP BY r.userId, r.year, r.month, r.category")
+    List<Object[]> getMonthlyCategoryTotalsByUserIdsAndMonths(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("months") Collection<Integer> months);
+    
+    // Get per-user, per-month, per-category totals for a set of users in a set of months indexed as year * 12 + month,
+    // share-locking their rows against writers
+    @Query(value = "SELECT user_id, year, month, category, SUM(total_amount) FROM expense_monthly_rollup " +
+                   "WHERE user_id IN (:userIds) AND (year * 12 + month) IN (:months) " +
+                   "GROUP BY user_id, year, month, category FOR SHARE",
+           nativeQuery = true)
+    List<Object[]> lockMonthlyCategoryTotalsByUserIdsAndMonths(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("months") Collection<Integer> months);
+    
+    // Get distinct categories for a user
+    @Query("SELECT DISTINCT r.category FROM ExpenseMonthlyRollup r WHERE r.userId = :userId " +
+           "AND r.expenseCount > 0 ORDER BY r.category")
+    List<String> findDistinctCategoriesByUserId(@Param("userId") Long userId);
+}
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.expensetracker.expenseservice.repository;
 
 import com.expensetracker.expenseservice.entity.Expense;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
@@ -32,6 +38,59 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     Page<Expense> findByUserIdAndCategoryAndDateBetweenOrderByDateDesc(
             Long userId, String category, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
+    // Keyset pages ordered by (date desc, id desc); Slice skips the count query
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    Slice<Expense> findSliceByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.category = :category " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    Slice<Expense> findSliceByUserIdAndCategoryAfter(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.date BETWEEN :startDate AND :endDate " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    Slice<Expense> findSliceByUserIdAndDateBetweenAfter(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.category = :category " +
+           "AND e.date BETWEEN :startDate AND :endDate " +
+           "AND (e.date < :afterDate OR (e.date = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.date DESC, e.id DESC")
+    Slice<Expense> findSliceByUserIdAndCategoryAndDateBetweenAfter(
+            @Param("userId") Long userId,
+            @Param("category") String category,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    // Stream every expense of a user for export; rows are fetched in batches through a server-side cursor
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId ORDER BY e.date DESC, e.id DESC")
+    Stream<Expense> streamByUserId(@Param("userId") Long userId);
+    
     // Get total expenses for a user
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.userId = :userId")
     BigDecimal getTotalExpensesByUserId(@Param("userId") Long userId);
@@ -43,14 +102,28 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     // Get total expenses for a user in date range
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.date BETWEEN :startDate AND :endDate")
     BigDecimal getTotalExpensesByUserIdAndDateRange(
-            @Param("userId") Long userId, 
-            @Param("startDate") LocalDate startDate, 
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
     
+    // Get the raw monthly rollup of a user, grouped like expense_monthly_rollup
+    @Query("SELECT YEAR(e.date), MONTH(e.date), e.category, e.currency, SUM(e.amount), COUNT(e) FROM Expense e " +
+           "WHERE e.userId = :userId GROUP BY YEAR(e.date), MONTH(e.date), e.category, e.currency")
+    List<Object[]> getMonthlyRollupByUserId(@Param("userId") Long userId);
+    
+    // Keyset-page through the distinct users that own expenses
+    @Query("SELECT DISTINCT e.userId FROM Expense e WHERE e.userId > :afterUserId ORDER BY e.userId")
+    List<Long> findDistinctUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+    
     // Get distinct categories for a user
     @Query("SELECT DISTINCT e.category FROM Expense e WHERE e.userId = :userId ORDER BY e.category")
     List<String> findDistinctCategoriesByUserId(@Param("userId") Long userId);
     
+    // Move all expenses of a user to another user id
+    @Modifying
+    @Query("UPDATE Expense e SET e.userId = :newUserId WHERE e.userId = :userId")
+    int reassignUserId(@Param("userId") Long userId, @Param("newUserId") Long newUserId);
+    
     // Delete all expenses for a user
     void deleteByUserId(Long userId);
 }
\ No newline at end of file
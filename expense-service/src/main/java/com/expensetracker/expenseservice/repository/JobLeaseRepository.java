@@ -0,0 +1,48 @@
+package com.expensetracker.expenseservice.repository;
+
+import com.expensetracker.expenseservice.entity.JobLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    
+    // Create the lease row if no replica has yet; concurrent inserts are ignored
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_leases (job_name, completed) VALUES (:jobName, false)",
+           nativeQuery = true)
+    void ensureLease(@Param("jobName") String jobName);
+    
+    // Lock a lease row while deciding whether to take it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<JobLease> findByJobName(String jobName);
+    
+    // Extend the lease; updates nothing if the lease was lost
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :leaseUntil, l.updatedAt = :now " +
+           "WHERE l.jobName = :jobName AND l.leaseOwner = :owner")
+    int renew(@Param("jobName") String jobName,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+    
+    // Mark the job done for its run and give up the lease
+    @Modifying
+    @Query("UPDATE JobLease l SET l.completed = true, l.leaseOwner = null, l.leaseUntil = null, l.updatedAt = :now " +
+           "WHERE l.jobName = :jobName AND l.leaseOwner = :owner")
+    int complete(@Param("jobName") String jobName, @Param("owner") String owner, @Param("now") LocalDateTime now);
+    
+    // Give up the lease without completing, so another replica can run the job
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseOwner = null, l.leaseUntil = null " +
+           "WHERE l.jobName = :jobName AND l.leaseOwner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
\ No newline at end of file
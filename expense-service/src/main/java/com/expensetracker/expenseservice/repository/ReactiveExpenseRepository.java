@@ -0,0 +1,176 @@
+package com.expensetracker.expenseservice.repository;
+
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking counterparts of the read queries in {@link ExpenseRepository} and
+ * {@link ExpenseMonthlyRollupRepository}, run through R2DBC for the reactive read path.
+ * Optional filters (category, date range) are added to the WHERE clause only when given.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveExpenseRepository {
+    
+    private static final String EXPENSE_COLUMNS =
+            "id, user_id, amount, category, expense_date, description, currency, created_at, updated_at";
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    // Find expense by ID and user ID (for security)
+    public Mono<ExpenseResponse> findByIdAndUserId(Long id, Long userId) {
+        return databaseClient.sql("SELECT " + EXPENSE_COLUMNS + " FROM expenses WHERE id = :id AND user_id = :userId")
+                .bind("id", id)
+                .bind("userId", userId)
+                .map(ReactiveExpenseRepository::mapExpense)
+                .one();
+    }
+    
+    // Offset page of a user's expenses, optionally filtered by category and date range
+    public Flux<ExpenseResponse> findPage(Long userId, String category, LocalDate startDate, LocalDate endDate,
+                                          long offset, int limit) {
+        String sql = "SELECT " + EXPENSE_COLUMNS + " FROM expenses WHERE " + filter(category, startDate)
+                + " ORDER BY expense_date DESC, id DESC LIMIT :limit OFFSET :offset";
+        return bindFilter(databaseClient.sql(sql), userId, category, startDate, endDate)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveExpenseRepository::mapExpense)
+                .all();
+    }
+    
+    // Count the expenses matched by findPage
+    public Mono<Long> count(Long userId, String category, LocalDate startDate, LocalDate endDate) {
+        String sql = "SELECT COUNT(*) FROM expenses WHERE " + filter(category, startDate);
+        return bindFilter(databaseClient.sql(sql), userId, category, startDate, endDate)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+    
+    // Keyset page ordered by (date desc, id desc); callers ask for one extra row to detect a next page
+    public Flux<ExpenseResponse> findSliceAfter(Long userId, String category, LocalDate startDate, LocalDate endDate,
+                                                ExpenseCursor after, int limit) {
+        String sql = "SELECT " + EXPENSE_COLUMNS + " FROM expenses WHERE " + filter(category, startDate)
+                + " AND (expense_date < :afterDate OR (expense_date = :afterDate AND id < :afterId))"
+                + " ORDER BY expense_date DESC, id DESC LIMIT :limit";
+        return bindFilter(databaseClient.sql(sql), userId, category, startDate, endDate)
+                .bind("afterDate", after.getDate())
+                .bind("afterId", after.getId())
+                .bind("limit", limit)
+                .map(ReactiveExpenseRepository::mapExpense)
+                .all();
+    }
+    
+    // Get total expenses for a user in date range from the raw expenses
+    public Mono<BigDecimal> getTotalExpensesByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("SELECT COALESCE(SUM(amount), 0) FROM expenses "
+                        + "WHERE user_id = :userId AND expense_date BETWEEN :startDate AND :endDate")
+                .bind("userId", userId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+    
+    // Get total expenses for a user from the monthly rollup
+    public Mono<BigDecimal> getTotalAmountByUserId(Long userId) {
+        return databaseClient.sql("SELECT COALESCE(SUM(total_amount), 0) FROM expense_monthly_rollup "
+                        + "WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+    
+    // Get total expenses for a user by category from the monthly rollup
+    public Mono<BigDecimal> getTotalAmountByUserIdAndCategory(Long userId, String category) {
+        return databaseClient.sql("SELECT COALESCE(SUM(total_amount), 0) FROM expense_monthly_rollup "
+                        + "WHERE user_id = :userId AND category = :category")
+                .bind("userId", userId)
+                .bind("category", category)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+    
+    // Get total expenses for a user over a range of whole months, months indexed as year * 12 + month
+    public Mono<BigDecimal> getTotalAmountByUserIdAndMonthRange(Long userId, int fromMonth, int toMonth) {
+        return databaseClient.sql("SELECT COALESCE(SUM(total_amount), 0) FROM expense_monthly_rollup "
+                        + "WHERE user_id = :userId AND (year * 12 + month) BETWEEN :fromMonth AND :toMonth")
+                .bind("userId", userId)
+                .bind("fromMonth", fromMonth)
+                .bind("toMonth", toMonth)
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+    
+    // Get per-category totals for a user in one month
+    public Mono<Map<String, BigDecimal>> getCategoryTotalsByUserIdAndMonth(Long userId, int year, int month) {
+        return databaseClient.sql("SELECT category, COALESCE(SUM(total_amount), 0) AS total "
+                        + "FROM expense_monthly_rollup WHERE user_id = :userId AND year = :year AND month = :month "
+                        + "GROUP BY category")
+                .bind("userId", userId)
+                .bind("year", year)
+                .bind("month", month)
+                .map(row -> Map.entry(row.get("category", String.class), row.get("total", BigDecimal.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+    }
+    
+    // Get distinct categories for a user
+    public Flux<String> findDistinctCategoriesByUserId(Long userId) {
+        return databaseClient.sql("SELECT DISTINCT category FROM expense_monthly_rollup "
+                        + "WHERE user_id = :userId AND expense_count > 0 ORDER BY category")
+                .bind("userId", userId)
+                .map(row -> row.get("category", String.class))
+                .all();
+    }
+    
+    private static String filter(String category, LocalDate startDate) {
+        StringBuilder where = new StringBuilder("user_id = :userId");
+        if (category != null) {
+            where.append(" AND category = :category");
+        }
+        if (startDate != null) {
+            where.append(" AND expense_date BETWEEN :startDate AND :endDate");
+        }
+        return where.toString();
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bindFilter(DatabaseClient.GenericExecuteSpec spec, Long userId,
+                                                                String category, LocalDate startDate, LocalDate endDate) {
+        spec = spec.bind("userId", userId);
+        if (category != null) {
+            spec = spec.bind("category", category);
+        }
+        if (startDate != null) {
+            spec = spec.bind("startDate", startDate).bind("endDate", endDate);
+        }
+        return spec;
+    }
+    
+    private static ExpenseResponse mapExpense(Readable row) {
+        return new ExpenseResponse(
+                row.get("id", Long.class),
+                row.get("user_id", Long.class),
+                row.get("amount", BigDecimal.class),
+                row.get("category", String.class),
+                row.get("expense_date", LocalDate.class),
+                row.get("description", String.class),
+                row.get("currency", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.expensetracker.expenseservice.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated user as read from the JWT: the numeric id ("uid" claim), username and role.
+ */
+public class UserPrincipal implements Principal {
+    
+    private final Long id;
+    private final String username;
+    private final String role;
+    
+    public UserPrincipal(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+    
+    public Long getId() { return id; }
+    
+    public String getUsername() { return username; }
+    
+    public String getRole() { return role; }
+    
+    @Override
+    public String getName() {
+        return username;
+    }
+    
+    @Override
+    public String toString() {
+        return username;
+    }
+}
\ No newline at end of file
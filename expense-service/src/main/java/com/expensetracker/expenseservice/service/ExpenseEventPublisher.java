@@ -0,0 +1,15 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseSpendingEvent;
+
+import java.util.List;
+
+/**
+ * Transport that carries spending events to their consumers.
+ * ExpenseEventRelay hands over one batch per call; throwing leaves the whole batch pending for a retry,
+ * so consumers must treat the event id as an idempotency key.
+ */
+public interface ExpenseEventPublisher {
+    
+    void publish(List<ExpenseSpendingEvent> events);
+}
\ No newline at end of file
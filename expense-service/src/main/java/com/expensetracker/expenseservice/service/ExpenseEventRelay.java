@@ -0,0 +1,108 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseSpendingEvent;
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the expense event outbox in the background.
+ * Each batch is locked with SKIP LOCKED so that replicas publish disjoint batches. A failed batch stays
+ * pending with an exponential backoff; events are never dropped, so budget spending converges once
+ * the consumer is reachable again.
+ */
+@Service
+public class ExpenseEventRelay {
+    
+    @Autowired
+    private ExpenseEventRepository eventRepository;
+    
+    @Autowired
+    private ExpenseEventPublisher eventPublisher;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${expense.events.relay.enabled:true}")
+    private boolean relayEnabled;
+    
+    @Value("${expense.events.relay.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${expense.events.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+    
+    @Value("${expense.events.relay.retry-backoff-seconds:5}")
+    private long retryBackoffSeconds;
+    
+    @Value("${expense.events.relay.max-backoff-seconds:600}")
+    private long maxBackoffSeconds;
+    
+    @Value("${expense.events.retention-days:7}")
+    private int retentionDays;
+    
+    @Scheduled(fixedDelayString = "${expense.events.relay.interval-ms:1000}")
+    public void publishPending() {
+        if (!relayEnabled) {
+            return;
+        }
+        
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer published = transactionTemplate.execute(status -> publishBatch());
+            if (published == null || published < batchSize) {
+                break;
+            }
+        }
+    }
+    
+    @Scheduled(cron = "${expense.events.cleanup-cron:0 45 3 * * *}")
+    public void deletePublished() {
+        int deleted = new TransactionTemplate(transactionManager).execute(status ->
+                eventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        System.out.println("Deleted " + deleted + " published expense events from the outbox");
+    }
+    
+    /**
+     * Lock and publish one batch of due events; must run in a transaction.
+     * Returns the number of events published, or -1 if the batch failed and was rescheduled.
+     */
+    int publishBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpenseEvent> batch = eventRepository.lockDueBatch(now, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            eventPublisher.publish(batch.stream().map(ExpenseSpendingEvent::new).collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            System.err.println("Failed to publish " + batch.size() + " expense events: " + e.getMessage());
+            for (ExpenseEvent event : batch) {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setNextAttemptAt(now.plusSeconds(backoffSeconds(attempts)));
+            }
+            return -1;
+        }
+        
+        for (ExpenseEvent event : batch) {
+            event.setPublishedAt(now);
+        }
+        return batch.size();
+    }
+    
+    private long backoffSeconds(int attempts) {
+        long backoff = retryBackoffSeconds << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffSeconds);
+    }
+}
\ No newline at end of file
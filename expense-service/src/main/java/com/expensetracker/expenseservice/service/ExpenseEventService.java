@@ -0,0 +1,64 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import com.expensetracker.expenseservice.entity.ExpenseEventType;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Records spending deltas in the expense event outbox.
+ * Every method joins the caller's transaction, so an event exists exactly when its expense change commits.
+ */
+@Service
+public class ExpenseEventService {
+    
+    @Autowired
+    private ExpenseEventRepository eventRepository;
+    
+    public void expenseCreated(Expense expense) {
+        eventRepository.save(ExpenseEvent.forExpense(ExpenseEventType.CREATED, expense, expense.getAmount()));
+    }
+    
+    /**
+     * Record an update given the reversal of the expense as it was before the change.
+     * When the month, category and currency are unchanged a single net delta is recorded, or none if it is zero.
+     */
+    public void expenseUpdated(ExpenseEvent reversal, Expense updatedExpense) {
+        ExpenseEvent applied = ExpenseEvent.forExpense(ExpenseEventType.UPDATED, updatedExpense, updatedExpense.getAmount());
+        
+        if (reversal.sameCell(applied)) {
+            BigDecimal netDelta = applied.getAmountDelta().add(reversal.getAmountDelta());
+            if (netDelta.signum() != 0) {
+                applied.setAmountDelta(netDelta);
+                eventRepository.save(applied);
+            }
+            return;
+        }
+        
+        eventRepository.save(reversal);
+        eventRepository.save(applied);
+    }
+    
+    /**
+     * The reversal of an expense's current spending, to be taken before the expense is changed.
+     */
+    public ExpenseEvent reversalOf(Expense expense) {
+        return ExpenseEvent.forExpense(ExpenseEventType.UPDATED, expense, expense.getAmount().negate());
+    }
+    
+    public void expenseDeleted(Expense expense) {
+        eventRepository.save(ExpenseEvent.forExpense(ExpenseEventType.DELETED, expense, expense.getAmount().negate()));
+    }
+    
+    /**
+     * Record the aggregated deltas of an import batch, one event per month, category and currency.
+     */
+    public void expensesImported(Collection<ExpenseEvent> deltas) {
+        eventRepository.saveAll(deltas);
+    }
+}
\ No newline at end of file
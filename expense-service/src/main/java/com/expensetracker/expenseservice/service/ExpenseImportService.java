@@ -0,0 +1,413 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseFileFormat;
+import com.expensetracker.expenseservice.dto.ExpenseImportError;
+import com.expensetracker.expenseservice.dto.ExpenseImportReport;
+import com.expensetracker.expenseservice.dto.ExpenseRequest;
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import com.expensetracker.expenseservice.entity.ExpenseEventType;
+import com.expensetracker.expenseservice.repository.ExpenseMonthlyRollupRepository;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Service
+public class ExpenseImportService {
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @Autowired
+    private ExpenseEventService expenseEventService;
+    
+    @Autowired
+    private ExpenseSummaryCache summaryCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${expense.import.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${expense.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    /**
+     * Import expenses for a user from a CSV or NDJSON stream.
+     * Rows are parsed and validated on the calling thread while the previous batch is written
+     * on a writer thread, each batch in its own transaction, so at most two batches are held in memory.
+     * Invalid rows are skipped and reported; a failing batch stops the import and is reported as incomplete.
+     */
+    public ExpenseImportReport importExpenses(Long userId, ExpenseFileFormat format, InputStream inputStream)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        ExpenseImportReport report = new ExpenseImportReport();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expense-import-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+        RecordSource source = format == ExpenseFileFormat.CSV ? new CsvRecordSource(reader) : new NdjsonRecordSource(reader);
+        
+        try {
+            Future<Integer> pendingWrite = null;
+            List<Expense> batch = new ArrayList<>(batchSize);
+            ParsedRow row;
+            while ((row = source.next()) != null) {
+                report.setRowsRead(report.getRowsRead() + 1);
+                
+                String error = row.error != null ? row.error : validate(row.request);
+                if (error != null) {
+                    reject(report, row.line, error);
+                    continue;
+                }
+                
+                batch.add(toExpense(row.request, userId));
+                if (batch.size() >= batchSize) {
+                    awaitWrite(pendingWrite, report);
+                    List<Expense> toWrite = batch;
+                    pendingWrite = writer.submit(() -> transactionTemplate.execute(status -> writeBatch(toWrite)));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            
+            awaitWrite(pendingWrite, report);
+            if (!batch.isEmpty()) {
+                List<Expense> toWrite = batch;
+                awaitWrite(writer.submit(() -> transactionTemplate.execute(status -> writeBatch(toWrite))), report);
+            }
+            report.setCompleted(true);
+        } catch (ImportAbortedException e) {
+            report.setFailureMessage(e.getMessage());
+        } finally {
+            writer.shutdownNow();
+        }
+        
+        long durationMs = System.currentTimeMillis() - startTime;
+        report.setDurationMs(durationMs);
+        report.setRowsPerSecond(durationMs > 0 ? report.getRowsRead() * 1000.0 / durationMs : report.getRowsRead());
+        System.out.println("Expense import for user " + userId + " finished: " + report);
+        return report;
+    }
+    
+    /**
+     * Insert one batch and apply its rollup deltas, grouped so each (month, category, currency) is updated once.
+     * The same grouped deltas are recorded as spending events for budget-service, and evict the summaries of their month.
+     */
+    private Integer writeBatch(List<Expense> batch) {
+        expenseRepository.saveAll(batch);
+        expenseRepository.flush();
+        
+        Map<List<Object>, RollupDelta> deltas = new LinkedHashMap<>();
+        for (Expense expense : batch) {
+            String currency = ExpenseService.rollupCurrency(expense.getCurrency());
+            List<Object> key = Arrays.asList(
+                    expense.getDate().getYear(), expense.getDate().getMonthValue(), expense.getCategory(), currency);
+            deltas.computeIfAbsent(key, k -> new RollupDelta()).add(expense.getAmount());
+        }
+        List<ExpenseEvent> events = new ArrayList<>(deltas.size());
+        for (Map.Entry<List<Object>, RollupDelta> delta : deltas.entrySet()) {
+            List<Object> key = delta.getKey();
+            rollupRepository.applyDelta(batch.get(0).getUserId(), (Integer) key.get(0), (Integer) key.get(1),
+                    (String) key.get(2), (String) key.get(3), delta.getValue().amount, delta.getValue().count);
+            events.add(new ExpenseEvent(ExpenseEventType.IMPORTED, batch.get(0).getUserId(), (Integer) key.get(0),
+                    (Integer) key.get(1), (String) key.get(2), (String) key.get(3), delta.getValue().amount));
+            
+            YearMonth month = YearMonth.of((Integer) key.get(0), (Integer) key.get(1));
+            summaryCache.evictExpenses(batch.get(0).getUserId(), (String) key.get(2),
+                    month.atDay(1), month.atEndOfMonth(), true);
+        }
+        expenseEventService.expensesImported(events);
+        
+        entityManager.clear();
+        return batch.size();
+    }
+    
+    private void awaitWrite(Future<Integer> pendingWrite, ExpenseImportReport report) {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            Integer written = pendingWrite.get();
+            report.setRowsImported(report.getRowsImported() + (written != null ? written : 0));
+            report.setBatchesCommitted(report.getBatchesCommitted() + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportAbortedException("Import interrupted");
+        } catch (ExecutionException e) {
+            System.err.println("Expense import batch failed: " + e.getCause().getMessage());
+            throw new ImportAbortedException("Batch " + (report.getBatchesCommitted() + 1)
+                    + " failed after " + report.getRowsImported() + " rows were imported: " + e.getCause().getMessage());
+        }
+    }
+    
+    private String validate(ExpenseRequest request) {
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private void reject(ExpenseImportReport report, long line, String message) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ExpenseImportError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+    
+    private Expense toExpense(ExpenseRequest request, Long userId) {
+        Expense expense = new Expense();
+        expense.setUserId(userId);
+        expense.setAmount(request.getAmount());
+        expense.setCategory(request.getCategory());
+        expense.setDate(request.getDate());
+        expense.setDescription(request.getDescription());
+        expense.setCurrency(request.getCurrency());
+        return expense;
+    }
+    
+    /**
+     * Split one CSV record into fields, honouring double-quoted fields and doubled quotes.
+     */
+    static List<String> parseCsvRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private static boolean hasOpenQuote(CharSequence record) {
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+    
+    private static class ParsedRow {
+        private final long line;
+        private final ExpenseRequest request;
+        private final String error;
+        
+        private ParsedRow(long line, ExpenseRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+    
+    private interface RecordSource {
+        ParsedRow next() throws IOException;
+    }
+    
+    /**
+     * Reads CSV with a header row naming the columns; amount, category and date are required,
+     * description and currency are optional and any other column (e.g. from an export) is ignored.
+     */
+    private static class CsvRecordSource implements RecordSource {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long lineNumber;
+        private long recordLine;
+        
+        private CsvRecordSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            List<String> names = parseCsvRecord(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("amount", "category", "date")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+                }
+            }
+        }
+        
+        @Override
+        public ParsedRow next() throws IOException {
+            String record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.isBlank());
+            long line = recordLine;
+            
+            List<String> fields = parseCsvRecord(record);
+            ExpenseRequest request = new ExpenseRequest();
+            try {
+                String amount = field(fields, "amount");
+                request.setAmount(amount.isEmpty() ? null : new BigDecimal(amount));
+            } catch (NumberFormatException e) {
+                return new ParsedRow(line, null, "Invalid amount '" + field(fields, "amount") + "'");
+            }
+            try {
+                String date = field(fields, "date");
+                request.setDate(date.isEmpty() ? null : LocalDate.parse(date));
+            } catch (DateTimeParseException e) {
+                return new ParsedRow(line, null, "Invalid date '" + field(fields, "date") + "', expected yyyy-MM-dd");
+            }
+            request.setCategory(field(fields, "category"));
+            String description = field(fields, "description");
+            request.setDescription(description.isEmpty() ? null : description);
+            String currency = field(fields, "currency");
+            if (!currency.isEmpty()) {
+                request.setCurrency(currency);
+            }
+            return new ParsedRow(line, request, null);
+        }
+        
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < fields.size() ? fields.get(index).trim() : "";
+        }
+        
+        /**
+         * Read one record, joining physical lines while a quoted field is still open.
+         */
+        private String readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            recordLine = lineNumber;
+            StringBuilder record = new StringBuilder(line);
+            while (hasOpenQuote(record)) {
+                String continuation = reader.readLine();
+                if (continuation == null) {
+                    break;
+                }
+                lineNumber++;
+                record.append('\n').append(continuation);
+            }
+            return record.toString();
+        }
+    }
+    
+    private class NdjsonRecordSource implements RecordSource {
+        private final BufferedReader reader;
+        private long lineNumber;
+        
+        private NdjsonRecordSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            
+            try {
+                return new ParsedRow(lineNumber, objectMapper.readValue(line, ExpenseRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+    
+    private static class RollupDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+        
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+    
+    private static class ImportAbortedException extends RuntimeException {
+        private ImportAbortedException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
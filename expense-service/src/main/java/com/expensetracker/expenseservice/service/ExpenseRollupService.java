@@ -0,0 +1,239 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.RollupVerificationReport;
+import com.expensetracker.expenseservice.entity.ExpenseMonthlyRollup;
+import com.expensetracker.expenseservice.repository.ExpenseMonthlyRollupRepository;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds and verifies the expense_monthly_rollup table against the raw expenses.
+ * Every user is reconciled in its own transaction so a full run never holds a long lock, and each user's rollup
+ * rows and raw expenses are compared within one consistent snapshot. The startup rebuild and the nightly
+ * verification run on one replica at a time, under a lease from {@link JobLeaseCoordinator}.
+ */
+@Service
+public class ExpenseRollupService {
+    
+    static final String REBUILD_JOB = "rollup-rebuild";
+    static final String VERIFY_JOB = "rollup-verify";
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ExpenseSummaryCache summaryCache;
+    
+    @Autowired
+    private JobLeaseCoordinator leaseCoordinator;
+    
+    @Value("${expense.rollup.users-per-page:500}")
+    private int usersPerPage;
+    
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+    
+    /**
+     * Populate the rollup on first start against an existing expenses table.
+     * Replicas starting together leave it to the one holding the lease, which checks again for a rollup
+     * another replica may have built meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && expenseRepository.count() > 0) {
+            runLeased(REBUILD_JOB, LocalDate.now().toString(), renewLease -> {
+                if (rollupRepository.count() == 0) {
+                    System.out.println("Expense monthly rollup is empty, rebuilding from raw expenses");
+                    verifyAll(true, renewLease);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Nightly reconciliation, run once per day by whichever replica takes the lease;
+     * mismatching users are rebuilt from their raw expenses
+     */
+    @Scheduled(cron = "${expense.rollup.verify-cron:0 30 3 * * *}")
+    public void scheduledVerify() {
+        runLeased(VERIFY_JOB, LocalDate.now().toString(), renewLease -> verifyAll(true, renewLease));
+    }
+    
+    public RollupVerificationReport verifyAll(boolean repair) {
+        return verifyAll(repair, () -> true);
+    }
+    
+    /**
+     * Run a job under its lease, or skip it if it is done for this run or another replica holds the lease.
+     * The job receives a callback that renews the lease and returns false once it has been lost.
+     */
+    private void runLeased(String jobName, String runKey, Consumer<BooleanSupplier> job) {
+        String owner = instanceId + "/" + UUID.randomUUID();
+        if (!leaseCoordinator.acquire(jobName, runKey, owner)) {
+            System.out.println("Skipping " + jobName + ", already done or running on another replica");
+            return;
+        }
+        
+        try {
+            job.accept(() -> leaseCoordinator.renew(jobName, owner));
+            leaseCoordinator.complete(jobName, owner);
+        } catch (RuntimeException e) {
+            leaseCoordinator.release(jobName, owner);
+            throw e;
+        }
+    }
+    
+    /**
+     * Verify, and optionally repair, every user's rollup rows, calling renewLease after each page of users and
+     * stopping early once it returns false.
+     */
+    private RollupVerificationReport verifyAll(boolean repair, BooleanSupplier renewLease) {
+        long startTime = System.currentTimeMillis();
+        // One snapshot per user: under REPEATABLE READ both reads of verifyUser see the same committed state
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.setReadOnly(true);
+        
+        boolean leaseHeld = true;
+        long usersChecked = 0;
+        long usersMismatched = 0;
+        long usersRepaired = 0;
+        
+        Long afterUserId = Long.MIN_VALUE;
+        while (true) {
+            List<Long> userIds = expenseRepository.findDistinctUserIdsAfter(
+                    afterUserId, PageRequest.of(0, usersPerPage));
+            for (Long userId : userIds) {
+                usersChecked++;
+                Boolean matches = transactionTemplate.execute(status -> verifyUser(userId));
+                if (!Boolean.TRUE.equals(matches)) {
+                    usersMismatched++;
+                    if (repair) {
+                        rebuildUser(userId);
+                        usersRepaired++;
+                    }
+                }
+            }
+            if (userIds.size() < usersPerPage) {
+                break;
+            }
+            if (!renewLease.getAsBoolean()) {
+                leaseHeld = false;
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+        
+        // Users whose expenses were all removed without touching the rollup
+        afterUserId = Long.MIN_VALUE;
+        while (leaseHeld) {
+            List<Long> orphanedUserIds = rollupRepository.findOrphanedUserIdsAfter(
+                    afterUserId, PageRequest.of(0, usersPerPage));
+            for (Long userId : orphanedUserIds) {
+                usersChecked++;
+                usersMismatched++;
+                if (repair) {
+                    rebuildUser(userId);
+                    usersRepaired++;
+                }
+            }
+            if (orphanedUserIds.size() < usersPerPage) {
+                break;
+            }
+            if (!renewLease.getAsBoolean()) {
+                leaseHeld = false;
+                break;
+            }
+            afterUserId = orphanedUserIds.get(orphanedUserIds.size() - 1);
+        }
+        
+        if (!leaseHeld) {
+            System.err.println("Expense monthly rollup verification lost its lease and stopped early");
+        }
+        RollupVerificationReport report = new RollupVerificationReport(
+                usersChecked, usersMismatched, usersRepaired, System.currentTimeMillis() - startTime);
+        System.out.println("Expense monthly rollup verification completed: " + report);
+        return report;
+    }
+    
+    /**
+     * Replace all rollup rows of a user with a fresh aggregation of their raw expenses
+     */
+    public void rebuildUser(Long userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            rollupRepository.deleteAllByUserId(userId);
+            rollupRepository.rebuildForUser(userId);
+        });
+        summaryCache.evictUser(userId);
+    }
+    
+    /**
+     * Compare the rollup rows of a user with the grouped raw expenses.
+     * Callers run it in a REPEATABLE READ transaction, so both reads come from one snapshot and a write committing
+     * in between cannot show up as a mismatch.
+     */
+    public boolean verifyUser(Long userId) {
+        Map<String, Object[]> expected = new HashMap<>();
+        for (Object[] row : expenseRepository.getMonthlyRollupByUserId(userId)) {
+            String key = rollupKey(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    (String) row[2], ExpenseService.rollupCurrency((String) row[3]));
+            Object[] previous = expected.get(key);
+            BigDecimal amount = (BigDecimal) row[4];
+            long count = ((Number) row[5]).longValue();
+            if (previous != null) {
+                // NULL and 'USD' currencies share one rollup row
+                amount = amount.add((BigDecimal) previous[0]);
+                count += (Long) previous[1];
+            }
+            expected.put(key, new Object[] { amount, count });
+        }
+        
+        List<ExpenseMonthlyRollup> actual = rollupRepository.findByUserId(userId);
+        long nonEmpty = actual.stream().filter(rollup -> rollup.getExpenseCount() > 0).count();
+        if (nonEmpty != expected.size()) {
+            return false;
+        }
+        
+        for (ExpenseMonthlyRollup rollup : actual) {
+            if (rollup.getExpenseCount() <= 0) {
+                continue;
+            }
+            Object[] raw = expected.get(rollupKey(rollup.getYear(), rollup.getMonth(),
+                    rollup.getCategory(), rollup.getCurrency()));
+            if (raw == null
+                    || ((BigDecimal) raw[0]).compareTo(rollup.getTotalAmount()) != 0
+                    || !raw[1].equals(rollup.getExpenseCount())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private String rollupKey(int year, int month, String category, String currency) {
+        return year + "-" + month + "|" + category + "|" + currency;
+    }
+}
\ No newline at end of file
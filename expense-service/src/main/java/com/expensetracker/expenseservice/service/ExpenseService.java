@@ -1,27 +1,77 @@
 package com.expensetracker.expenseservice.service;
 
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseCursorPage;
+import com.expensetracker.expenseservice.dto.ExpenseFileFormat;
 import com.expensetracker.expenseservice.dto.ExpenseRequest;
 import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.expenseservice.dto.MonthlyTotalsKey;
 import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import com.expensetracker.expenseservice.repository.ExpenseMonthlyRollupRepository;
 import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ExpenseService {
     
+    private static final String CSV_HEADER = "id,date,category,amount,currency,description,created_at\n";
+    
     @Autowired
     private ExpenseRepository expenseRepository;
     
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @Autowired
+    private ExpenseEventService expenseEventService;
+    
+    @Autowired
+    private ExpenseEventRepository expenseEventRepository;
+    
+    @Autowired
+    private ExpenseSummaryCache summaryCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public ExpenseResponse createExpense(ExpenseRequest request, Long userId) {
         Expense expense = new Expense();
         expense.setUserId(userId);
@@ -32,6 +82,9 @@ public class ExpenseService {
         expense.setCurrency(request.getCurrency());
         
         Expense savedExpense = expenseRepository.save(expense);
+        addToRollup(savedExpense, savedExpense.getAmount(), 1);
+        expenseEventService.expenseCreated(savedExpense);
+        evictSummaries(savedExpense, true);
         return mapToResponse(savedExpense);
     }
     
@@ -39,6 +92,11 @@ public class ExpenseService {
         Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found or access denied"));
         
+        removeFromRollup(expense);
+        ExpenseEvent reversal = expenseEventService.reversalOf(expense);
+        String previousCategory = expense.getCategory();
+        evictSummaries(expense, !previousCategory.equals(request.getCategory()));
+        
         expense.setAmount(request.getAmount());
         expense.setCategory(request.getCategory());
         expense.setDate(request.getDate());
@@ -46,6 +104,9 @@ public class ExpenseService {
         expense.setCurrency(request.getCurrency());
         
         Expense updatedExpense = expenseRepository.save(expense);
+        addToRollup(updatedExpense, updatedExpense.getAmount(), 1);
+        expenseEventService.expenseUpdated(reversal, updatedExpense);
+        evictSummaries(updatedExpense, !previousCategory.equals(updatedExpense.getCategory()));
         return mapToResponse(updatedExpense);
     }
     
@@ -73,8 +134,8 @@ public class ExpenseService {
         return expenses.map(this::mapToResponse);
     }
     
-    public Page<ExpenseResponse> getExpensesByCategoryAndDateRange(Long userId, String category, 
-                                                                 LocalDate startDate, LocalDate endDate, 
+    public Page<ExpenseResponse> getExpensesByCategoryAndDateRange(Long userId, String category,
+                                                                 LocalDate startDate, LocalDate endDate,
                                                                  int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Expense> expenses = expenseRepository.findByUserIdAndCategoryAndDateBetweenOrderByDateDesc(
@@ -82,29 +143,292 @@ public class ExpenseService {
         return expenses.map(this::mapToResponse);
     }
     
+    public ExpenseCursorPage getAllExpensesAfter(Long userId, ExpenseCursor after, int size) {
+        Slice<Expense> expenses = expenseRepository.findSliceByUserIdAfter(
+                userId, after.getDate(), after.getId(), PageRequest.of(0, size));
+        return toCursorPage(expenses, size);
+    }
+    
+    public ExpenseCursorPage getExpensesByCategoryAfter(Long userId, String category, ExpenseCursor after, int size) {
+        Slice<Expense> expenses = expenseRepository.findSliceByUserIdAndCategoryAfter(
+                userId, category, after.getDate(), after.getId(), PageRequest.of(0, size));
+        return toCursorPage(expenses, size);
+    }
+    
+    public ExpenseCursorPage getExpensesByDateRangeAfter(Long userId, LocalDate startDate, LocalDate endDate,
+                                                         ExpenseCursor after, int size) {
+        Slice<Expense> expenses = expenseRepository.findSliceByUserIdAndDateBetweenAfter(
+                userId, startDate, endDate, after.getDate(), after.getId(), PageRequest.of(0, size));
+        return toCursorPage(expenses, size);
+    }
+    
+    public ExpenseCursorPage getExpensesByCategoryAndDateRangeAfter(Long userId, String category,
+                                                                    LocalDate startDate, LocalDate endDate,
+                                                                    ExpenseCursor after, int size) {
+        Slice<Expense> expenses = expenseRepository.findSliceByUserIdAndCategoryAndDateBetweenAfter(
+                userId, category, startDate, endDate, after.getDate(), after.getId(), PageRequest.of(0, size));
+        return toCursorPage(expenses, size);
+    }
+    
+    /**
+     * Write every expense of the user to the output as CSV or NDJSON.
+     * Rows are read from a cursor and detached once written, so memory use does not grow with the row count.
+     */
+    @Transactional(readOnly = true)
+    public long exportExpenses(Long userId, ExpenseFileFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExpenseFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        
+        long rows = 0;
+        try (Stream<Expense> expenses = expenseRepository.streamByUserId(userId)) {
+            Iterator<Expense> iterator = expenses.iterator();
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                if (format == ExpenseFileFormat.CSV) {
+                    writeCsvRow(writer, expense);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(mapToResponse(expense)));
+                    writer.write('\n');
+                }
+                entityManager.detach(expense);
+                rows++;
+            }
+        }
+        
+        writer.flush();
+        System.out.println("Exported " + rows + " expenses for user " + userId + " as " + format);
+        return rows;
+    }
+    
     public void deleteExpense(Long expenseId, Long userId) {
         Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found or access denied"));
         expenseRepository.delete(expense);
+        removeFromRollup(expense);
+        expenseEventService.expenseDeleted(expense);
+        evictSummaries(expense, true);
     }
     
     public BigDecimal getTotalExpenses(Long userId) {
-        BigDecimal total = expenseRepository.getTotalExpensesByUserId(userId);
-        return total != null ? total : BigDecimal.ZERO;
+        return summaryCache.get(SummaryCacheKeys.total(userId), () -> {
+            BigDecimal total = rollupRepository.getTotalAmountByUserId(userId);
+            return total != null ? total : BigDecimal.ZERO;
+        });
     }
     
     public BigDecimal getTotalExpensesByCategory(Long userId, String category) {
-        BigDecimal total = expenseRepository.getTotalExpensesByUserIdAndCategory(userId, category);
-        return total != null ? total : BigDecimal.ZERO;
+        return summaryCache.get(SummaryCacheKeys.categoryTotal(userId, category), () -> {
+            BigDecimal total = rollupRepository.getTotalAmountByUserIdAndCategory(userId, category);
+            return total != null ? total : BigDecimal.ZERO;
+        });
     }
     
     public BigDecimal getTotalExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        return summaryCache.get(SummaryCacheKeys.rangeTotal(userId, startDate, endDate),
+                () -> loadTotalExpensesByDateRange(userId, startDate, endDate));
+    }
+    
+    /**
+     * Whole months inside the range are answered from the monthly rollup;
+     * only partial months at either end are summed from the raw expenses.
+     */
+    private BigDecimal loadTotalExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return BigDecimal.ZERO;
+        }
+        
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        YearMonth fullFrom = firstMonth;
+        YearMonth fullTo = lastMonth;
+        BigDecimal total = BigDecimal.ZERO;
+        
+        if (startDate.getDayOfMonth() != 1) {
+            LocalDate headEnd = endDate.isBefore(firstMonth.atEndOfMonth()) ? endDate : firstMonth.atEndOfMonth();
+            total = total.add(getRawTotal(userId, startDate, headEnd));
+            fullFrom = firstMonth.plusMonths(1);
+        }
+        
+        if (!endDate.equals(lastMonth.atEndOfMonth()) && !fullFrom.isAfter(lastMonth)) {
+            total = total.add(getRawTotal(userId, lastMonth.atDay(1), endDate));
+            fullTo = lastMonth.minusMonths(1);
+        }
+        
+        if (!fullFrom.isAfter(fullTo)) {
+            BigDecimal rollupTotal = rollupRepository.getTotalAmountByUserIdAndMonthRange(
+                    userId, monthIndex(fullFrom), monthIndex(fullTo));
+            if (rollupTotal != null) {
+                total = total.add(rollupTotal);
+            }
+        }
+        
+        return total;
+    }
+    
+    public Map<String, BigDecimal> getCategoryTotalsByMonth(Long userId, Integer year, Integer month) {
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.getCategoryTotalsByUserIdAndMonth(userId, year, month)) {
+            totals.put((String) row[0], row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO);
+        }
+        return totals;
+    }
+    
+    /**
+     * Get the category totals for many (user, year, month) keys with grouped rollup queries.
+     * Users asking for the same months share one query, so a refresh of a single month for many users is one query
+     * and no month outside a user's own keys is read. Every requested key is present in the result, with an empty
+     * map when it has no expenses.
+     */
+    public List<MonthlyCategoryTotalsResponse> getMonthlyCategoryTotals(Collection<MonthlyTotalsKey> keys) {
+        return getGroupedMonthlyCategoryTotals(keys, rollupRepository::getMonthlyCategoryTotalsByUserIdsAndMonths)
+                .entrySet().stream()
+                .map(entry -> new MonthlyCategoryTotalsResponse(
+                        entry.getKey().getUserId(), entry.getKey().getYear(), entry.getKey().getMonth(),
+                        entry.getValue()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get the category totals of the keys together with the id of the last expense event they include.
+     * The rollup rows of the requested months are share-locked by the same grouped queries before the event id is
+     * read. Writers update the rollup before they record their event, so every event of those months up to the
+     * returned id is in the totals and every event recorded later is not. budget-service overwrites its spending
+     * with these totals and skips the events they already include.
+     */
+    public List<MonthlyCategoryTotalsResponse> getMonthlyCategoryTotalsThroughLatestEvent(
+            Collection<MonthlyTotalsKey> keys) {
+        Map<MonthlyTotalsKey, Map<String, BigDecimal>> totalsByKey =
+                getGroupedMonthlyCategoryTotals(keys, rollupRepository::lockMonthlyCategoryTotalsByUserIdsAndMonths);
+        
+        // The first plain read of the transaction, so its snapshot is taken after the locks were granted
+        Long lastEventId = expenseEventRepository.findMaxId();
+        Long throughEventId = lastEventId != null ? lastEventId : 0L;
+        
+        return totalsByKey.entrySet().stream()
+                .map(entry -> {
+                    MonthlyCategoryTotalsResponse response = new MonthlyCategoryTotalsResponse(
+                            entry.getKey().getUserId(), entry.getKey().getYear(), entry.getKey().getMonth(),
+                            entry.getValue());
+                    response.setThroughEventId(throughEventId);
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+    
+    public List<String> getCategories(Long userId) {
+        return summaryCache.get(SummaryCacheKeys.categories(userId),
+                () -> List.copyOf(rollupRepository.findDistinctCategoriesByUserId(userId)));
+    }
+    
+    /**
+     * Run a (user, year, month, category, total) rollup query once per set of users asking for the same months,
+     * and collect its rows under the requested keys, in request order.
+     */
+    private Map<MonthlyTotalsKey, Map<String, BigDecimal>> getGroupedMonthlyCategoryTotals(
+            Collection<MonthlyTotalsKey> keys,
+            BiFunction<Collection<Long>, Collection<Integer>, List<Object[]>> rollupQuery) {
+        Map<MonthlyTotalsKey, Map<String, BigDecimal>> totalsByKey = new LinkedHashMap<>();
+        Map<Long, Set<Integer>> monthsByUser = new TreeMap<>();
+        for (MonthlyTotalsKey key : keys) {
+            totalsByKey.put(key, new LinkedHashMap<>());
+            monthsByUser.computeIfAbsent(key.getUserId(), userId -> new TreeSet<>())
+                    .add(monthIndex(YearMonth.of(key.getYear(), key.getMonth())));
+        }
+        
+        Map<Set<Integer>, List<Long>> usersByMonths = new LinkedHashMap<>();
+        for (Map.Entry<Long, Set<Integer>> user : monthsByUser.entrySet()) {
+            usersByMonths.computeIfAbsent(user.getValue(), months -> new ArrayList<>()).add(user.getKey());
+        }
+        
+        for (Map.Entry<Set<Integer>, List<Long>> group : usersByMonths.entrySet()) {
+            for (Object[] row : rollupQuery.apply(group.getValue(), group.getKey())) {
+                MonthlyTotalsKey key = new MonthlyTotalsKey(
+                        ((Number) row[0]).longValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+                Map<String, BigDecimal> totals = totalsByKey.get(key);
+                if (totals != null) {
+                    totals.put((String) row[3], row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO);
+                }
+            }
+        }
+        return totalsByKey;
+    }
+    
+    private BigDecimal getRawTotal(Long userId, LocalDate startDate, LocalDate endDate) {
         BigDecimal total = expenseRepository.getTotalExpensesByUserIdAndDateRange(userId, startDate, endDate);
         return total != null ? total : BigDecimal.ZERO;
     }
     
-    public List<String> getCategories(Long userId) {
-        return expenseRepository.findDistinctCategoriesByUserId(userId);
+    private void addToRollup(Expense expense, BigDecimal amount, long count) {
+        rollupRepository.applyDelta(
+                expense.getUserId(),
+                expense.getDate().getYear(),
+                expense.getDate().getMonthValue(),
+                expense.getCategory(),
+                rollupCurrency(expense.getCurrency()),
+                amount,
+                count);
+    }
+    
+    private void removeFromRollup(Expense expense) {
+        addToRollup(expense, expense.getAmount().negate(), -1);
+        rollupRepository.deleteEmpty(
+                expense.getUserId(),
+                expense.getDate().getYear(),
+                expense.getDate().getMonthValue(),
+                expense.getCategory(),
+                rollupCurrency(expense.getCurrency()));
+    }
+    
+    private void evictSummaries(Expense expense, boolean categoriesChanged) {
+        summaryCache.evictExpenses(expense.getUserId(), expense.getCategory(), expense.getDate(), expense.getDate(),
+                categoriesChanged);
+    }
+    
+    static String rollupCurrency(String currency) {
+        return currency != null ? currency : "USD";
+    }
+    
+    static int monthIndex(YearMonth yearMonth) {
+        return yearMonth.getYear() * 12 + yearMonth.getMonthValue();
+    }
+    
+    private ExpenseCursorPage toCursorPage(Slice<Expense> expenses, int size) {
+        List<ExpenseResponse> content = expenses.map(this::mapToResponse).getContent();
+        String nextCursor = null;
+        if (expenses.hasNext() && !content.isEmpty()) {
+            ExpenseResponse last = content.get(content.size() - 1);
+            nextCursor = new ExpenseCursor(last.getDate(), last.getId()).toString();
+        }
+        return new ExpenseCursorPage(content, size, expenses.hasNext(), nextCursor);
+    }
+    
+    private void writeCsvRow(Writer writer, Expense expense) throws IOException {
+        writer.write(String.valueOf(expense.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(expense.getDate()));
+        writer.write(',');
+        writer.write(csvField(expense.getCategory()));
+        writer.write(',');
+        writer.write(expense.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(expense.getCurrency()));
+        writer.write(',');
+        writer.write(csvField(expense.getDescription()));
+        writer.write(',');
+        writer.write(expense.getCreatedAt() != null ? expense.getCreatedAt().toString() : "");
+        writer.write('\n');
+    }
+    
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
     
     private ExpenseResponse mapToResponse(Expense expense) {
@@ -0,0 +1,218 @@
+package com.expensetracker.expenseservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Two-level read cache of the expense summaries.
+ * Lookups go to the in-process Caffeine tier, then to the {@link SharedSummaryCache}, then to the database
+ * through a {@link SingleFlight}, so identical concurrent misses run one query; loaded values are written to
+ * both tiers. Writers evict exactly the entries a change can affect, once immediately and once after their
+ * transaction commits. Each eviction also bumps a generation of the user, and a load only writes its value back
+ * if the generation it started under is still current, so a load that read the data before the commit cannot
+ * re-cache it after the eviction. The generation is part of the single-flight key as well, so a reader arriving
+ * after a write never shares a load that started before it. Generations are per replica: the local tiers of other
+ * replicas are not notified and expire after a short TTL, and a load racing the write on another replica can
+ * leave a stale value in the shared tier until it expires.
+ * <p>
+ * Request, hit ratio, size and eviction metrics are published per tier under {@code cache.*} and
+ * {@code expense.summary.cache.*}.
+ */
+@Service
+public class ExpenseSummaryCache {
+    
+    private static final String REQUESTS = "expense.summary.cache.requests";
+    
+    // Users are hashed onto a fixed number of generations; a collision only makes an unrelated load skip its write-back
+    private static final int GENERATION_STRIPES = 4096;
+    
+    @Autowired
+    private SharedSummaryCache sharedCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private SingleFlight singleFlight;
+    
+    @Value("${expense.summary-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${expense.summary-cache.local.max-size:10000}")
+    private long localMaxSize;
+    
+    @Value("${expense.summary-cache.local.ttl-seconds:10}")
+    private long localTtlSeconds;
+    
+    private Cache<String, Object> localCache;
+    
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    
+    private Counter localHits;
+    private Counter localMisses;
+    private Counter sharedHits;
+    private Counter sharedMisses;
+    
+    @PostConstruct
+    void createCache() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "expense-summary", "tier", "local");
+        
+        localHits = meterRegistry.counter(REQUESTS, "tier", "local", "result", "hit");
+        localMisses = meterRegistry.counter(REQUESTS, "tier", "local", "result", "miss");
+        sharedHits = meterRegistry.counter(REQUESTS, "tier", "shared", "result", "hit");
+        sharedMisses = meterRegistry.counter(REQUESTS, "tier", "shared", "result", "miss");
+        registerHitRatio("local", localHits, localMisses);
+        registerHitRatio("shared", sharedHits, sharedMisses);
+    }
+    
+    /**
+     * Get a summary value from the cache, loading and caching it on a miss.
+     * Concurrent misses on the same key share one load, unless an eviction of the user happened in between.
+     * Loaded values must be immutable and non-null. A value whose load overlapped an eviction is returned but not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        int stripe = generationStripe(SummaryCacheKeys.userPrefixOf(key));
+        long generation = generations.get(stripe);
+        // A caller arriving after an eviction must not join a load that started before it
+        String flightKey = key + "@" + generation;
+        if (!enabled) {
+            return singleFlight.execute("expense-summary", flightKey, loader);
+        }
+        
+        Object value = localCache.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return (T) value;
+        }
+        localMisses.increment();
+        
+        value = sharedCache.get(key);
+        if (value != null) {
+            sharedHits.increment();
+            localCache.put(key, value);
+            return (T) value;
+        }
+        sharedMisses.increment();
+        
+        T loaded = singleFlight.execute("expense-summary", flightKey, loader);
+        if (loaded != null && generations.get(stripe) == generation) {
+            sharedCache.put(key, loaded);
+            localCache.put(key, loaded);
+            
+            // An eviction that bumped the generation between the check and the puts may have run before them
+            if (generations.get(stripe) != generation) {
+                localCache.invalidate(key);
+                sharedCache.evict(List.of(key));
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Evict the summaries affected by a change to a user's expenses of one category dated within [from, to]:
+     * the user's total, the category total and every cached date range overlapping the dates.
+     * The category list is evicted only when the change may add or remove a category.
+     */
+    public void evictExpenses(Long userId, String category, LocalDate from, LocalDate to, boolean categoriesChanged) {
+        evictNowAndAfterCommit(userId, () -> {
+            List<String> keys = new ArrayList<>();
+            keys.add(SummaryCacheKeys.total(userId));
+            keys.add(SummaryCacheKeys.categoryTotal(userId, category));
+            if (categoriesChanged) {
+                keys.add(SummaryCacheKeys.categories(userId));
+            }
+            
+            String rangePrefix = SummaryCacheKeys.rangePrefix(userId);
+            addOverlappingRanges(keys, localCache.asMap().keySet(), rangePrefix, from, to);
+            addOverlappingRanges(keys, sharedCache.keys(rangePrefix), rangePrefix, from, to);
+            
+            localCache.invalidateAll(keys);
+            sharedCache.evict(keys);
+        });
+    }
+    
+    /**
+     * Evict every summary of a user, e.g. after their rollup was rebuilt
+     */
+    public void evictUser(Long userId) {
+        evictNowAndAfterCommit(userId, () -> {
+            String prefix = SummaryCacheKeys.userPrefix(userId);
+            List<String> keys = new ArrayList<>(sharedCache.keys(prefix));
+            localCache.asMap().keySet().stream().filter(key -> key.startsWith(prefix)).forEach(keys::add);
+            
+            localCache.invalidateAll(keys);
+            sharedCache.evict(keys);
+        });
+    }
+    
+    private void addOverlappingRanges(List<String> keys, Collection<String> cachedKeys, String rangePrefix,
+                                      LocalDate from, LocalDate to) {
+        for (String key : cachedKeys) {
+            if (key.startsWith(rangePrefix) && SummaryCacheKeys.rangeOverlaps(key, from, to)) {
+                keys.add(key);
+            }
+        }
+    }
+    
+    /**
+     * Run an eviction of a user's entries now and again after the transaction commits.
+     * The user's generation is bumped before each run, so loads in flight at that point do not write back and
+     * later callers do not join them; it is bumped even with the cache disabled, where only the latter applies.
+     */
+    private void evictNowAndAfterCommit(Long userId, Runnable eviction) {
+        int stripe = generationStripe(SummaryCacheKeys.userPrefix(userId));
+        Runnable bumpAndEvict = () -> {
+            generations.incrementAndGet(stripe);
+            if (enabled) {
+                eviction.run();
+            }
+        };
+        
+        bumpAndEvict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpAndEvict.run();
+                }
+            });
+        }
+    }
+    
+    private static int generationStripe(String userPrefix) {
+        return Math.floorMod(userPrefix.hashCode(), GENERATION_STRIPES);
+    }
+    
+    private void registerHitRatio(String tier, Counter hits, Counter misses) {
+        Gauge.builder("expense.summary.cache.hit.ratio", () -> {
+                    double requests = hits.count() + misses.count();
+                    return requests > 0 ? hits.count() / requests : 0.0;
+                })
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseSpendingEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes spending events by posting each batch to budget-service's internal event endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.events.publisher", havingValue = "http", matchIfMissing = true)
+public class HttpExpenseEventPublisher implements ExpenseEventPublisher {
+    
+    static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+    
+    private final RestTemplate restTemplate;
+    
+    private final String eventsUrl;
+    
+    private final String internalApiToken;
+    
+    public HttpExpenseEventPublisher(RestTemplateBuilder restTemplateBuilder,
+                                     @Value("${services.budget-service.url}") String budgetServiceUrl,
+                                     @Value("${internal.api-token}") String internalApiToken,
+                                     @Value("${expense.events.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                     @Value("${expense.events.http.read-timeout-ms:10000}") long readTimeoutMs) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+        this.eventsUrl = budgetServiceUrl + "/internal/expense-events";
+        this.internalApiToken = internalApiToken;
+    }
+    
+    @Override
+    public void publish(List<ExpenseSpendingEvent> events) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(INTERNAL_TOKEN_HEADER, internalApiToken);
+        
+        restTemplate.postForEntity(eventsUrl, new HttpEntity<>(events, headers), Void.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseSpendingEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory stand-in for the event transport, used by tests and local runs without budget-service.
+ * Published events are queued until drained.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.events.publisher", havingValue = "memory")
+public class InMemoryExpenseEventPublisher implements ExpenseEventPublisher {
+    
+    private final Queue<ExpenseSpendingEvent> published = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void publish(List<ExpenseSpendingEvent> events) {
+        published.addAll(events);
+    }
+    
+    /**
+     * Remove and return all events published so far, oldest first.
+     */
+    public List<ExpenseSpendingEvent> drain() {
+        List<ExpenseSpendingEvent> events = new ArrayList<>();
+        ExpenseSpendingEvent event;
+        while ((event = published.poll()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+}
\ No newline at end of file
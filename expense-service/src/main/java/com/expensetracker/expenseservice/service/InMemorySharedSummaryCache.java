@@ -0,0 +1,67 @@
+package com.expensetracker.expenseservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for a shared cache such as Redis, used by tests and single-replica runs.
+ * It is a second, larger and longer-lived Caffeine cache behind the local tier.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.summary-cache.shared.type", havingValue = "memory")
+public class InMemorySharedSummaryCache implements SharedSummaryCache {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${expense.summary-cache.shared.max-size:100000}")
+    private long maxSize;
+    
+    @Value("${expense.summary-cache.shared.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private Cache<String, Object> cache;
+    
+    @PostConstruct
+    void createCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "expense-summary", "tier", "shared");
+    }
+    
+    @Override
+    public Object get(String key) {
+        return cache.getIfPresent(key);
+    }
+    
+    @Override
+    public void put(String key, Object value) {
+        cache.put(key, value);
+    }
+    
+    @Override
+    public void evict(Collection<String> keys) {
+        cache.invalidateAll(keys);
+    }
+    
+    @Override
+    public Collection<String> keys(String prefix) {
+        return cache.asMap().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
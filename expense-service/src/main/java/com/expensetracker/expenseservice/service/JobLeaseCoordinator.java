@@ -0,0 +1,82 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.entity.JobLease;
+import com.expensetracker.expenseservice.repository.JobLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * DB-backed leases for maintenance jobs that every replica schedules but only one may run.
+ * The first replica to take a job's lease runs it, the others skip it, and a job already completed for the
+ * current run is skipped as well. A lease that is not renewed expires, so a replica that stopped mid-run does not
+ * block the job for good.
+ */
+@Service
+public class JobLeaseCoordinator {
+    
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${expense.jobs.lease-seconds:600}")
+    private long leaseSeconds;
+    
+    /**
+     * Try to take the lease of a job for a run.
+     * Returns false when the job is already done for this run or leased by another replica.
+     */
+    public boolean acquire(String jobName, String runKey, String owner) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            leaseRepository.ensureLease(jobName);
+            JobLease lease = leaseRepository.findByJobName(jobName)
+                    .orElseThrow(() -> new RuntimeException("Lease of " + jobName + " not found"));
+            
+            LocalDateTime now = LocalDateTime.now();
+            boolean sameRun = runKey.equals(lease.getRunKey());
+            if (sameRun && Boolean.TRUE.equals(lease.getCompleted())) {
+                return false;
+            }
+            if (lease.getLeaseOwner() != null && lease.getLeaseUntil() != null && lease.getLeaseUntil().isAfter(now)) {
+                return false;
+            }
+            
+            lease.setRunKey(runKey);
+            lease.setCompleted(false);
+            lease.setLeaseOwner(owner);
+            lease.setLeaseUntil(now.plusSeconds(leaseSeconds));
+            leaseRepository.save(lease);
+            return true;
+        }));
+    }
+    
+    /**
+     * Extend a held lease; returns false if it has been lost, in which case the caller must stop
+     */
+    public boolean renew(String jobName, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer renewed = new TransactionTemplate(transactionManager).execute(status ->
+                leaseRepository.renew(jobName, owner, now.plusSeconds(leaseSeconds), now));
+        return renewed != null && renewed == 1;
+    }
+    
+    public void complete(String jobName, String owner) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                leaseRepository.complete(jobName, owner, LocalDateTime.now()));
+    }
+    
+    public void release(String jobName, String owner) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                leaseRepository.release(jobName, owner));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.LegacyUserIdMigrationReport;
+import com.expensetracker.expenseservice.dto.UserIdentity;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves expenses keyed by legacy user ids to the ids issued by user-service.
+ * Tokens without a "uid" claim used to identify the user by their username, parsed as a number or else hashed
+ * ({@link #legacyUserId}), and every expense, rollup row and event was stored under that id. This job lists all
+ * users from user-service, recomputes each legacy id and moves the user's rows to their real id, one user per
+ * transaction, then rebuilds the affected rollups. It is idempotent, so it can be rerun until nothing is moved.
+ * <p>
+ * A legacy id derived from several usernames, or equal to another user's real id, cannot be attributed to one
+ * user; those users are skipped and reported.
+ */
+@Service
+public class LegacyUserIdMigrationService {
+    
+    @Autowired
+    private UserDirectoryClient userDirectoryClient;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private ExpenseEventRepository expenseEventRepository;
+    
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${expense.legacy-user-ids.users-per-page:1000}")
+    private int usersPerPage;
+    
+    public LegacyUserIdMigrationReport migrateAll() {
+        long startTime = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        Map<Long, List<Long>> userIdsByLegacyId = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        long afterId = 0;
+        while (true) {
+            List<UserIdentity> users = userDirectoryClient.getUsersAfter(afterId, usersPerPage);
+            for (UserIdentity user : users) {
+                userIds.add(user.getId());
+                userIdsByLegacyId.computeIfAbsent(legacyUserId(user.getUsername()), id -> new ArrayList<>())
+                        .add(user.getId());
+            }
+            if (users.size() < usersPerPage) {
+                break;
+            }
+            afterId = users.get(users.size() - 1).getId();
+        }
+        
+        long usersMigrated = 0;
+        long usersSkipped = 0;
+        long rowsMoved = 0;
+        for (Map.Entry<Long, List<Long>> entry : userIdsByLegacyId.entrySet()) {
+            Long legacyId = entry.getKey();
+            List<Long> owners = entry.getValue();
+            if (owners.size() == 1 && owners.get(0).equals(legacyId)) {
+                continue;
+            }
+            if (owners.size() > 1 || userIds.contains(legacyId)) {
+                System.err.println("Skipping legacy user id " + legacyId + ": it cannot be attributed to one of users " + owners);
+                usersSkipped += owners.size();
+                continue;
+            }
+            
+            Long userId = owners.get(0);
+            Integer moved = transactionTemplate.execute(status ->
+                    expenseRepository.reassignUserId(legacyId, userId)
+                            + expenseEventRepository.reassignUserId(legacyId, userId));
+            if (moved != null && moved > 0) {
+                expenseRollupService.rebuildUser(legacyId);
+                expenseRollupService.rebuildUser(userId);
+                usersMigrated++;
+                rowsMoved += moved;
+            }
+        }
+        
+        LegacyUserIdMigrationReport report = new LegacyUserIdMigrationReport(
+                userIds.size(), usersMigrated, usersSkipped, rowsMoved, System.currentTimeMillis() - startTime);
+        System.out.println("Legacy user id migration completed: " + report);
+        return report;
+    }
+    
+    /**
+     * The id the services derived from a username before tokens carried the "uid" claim
+     */
+    static Long legacyUserId(String username) {
+        try {
+            return Long.parseLong(username);
+        } catch (NumberFormatException e) {
+            return Math.abs((long) username.hashCode());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.expensetracker.expenseservice.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Shared tier used when none is configured; the summary cache then runs on its local tier alone.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.summary-cache.shared.type", havingValue = "none", matchIfMissing = true)
+public class NoOpSharedSummaryCache implements SharedSummaryCache {
+    
+    @Override
+    public Object get(String key) {
+        return null;
+    }
+    
+    @Override
+    public void put(String key, Object value) {
+    }
+    
+    @Override
+    public void evict(Collection<String> keys) {
+    }
+    
+    @Override
+    public Collection<String> keys(String prefix) {
+        return Collections.emptyList();
+    }
+}
\ No newline at end of file
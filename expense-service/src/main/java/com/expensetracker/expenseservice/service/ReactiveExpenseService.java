@@ -0,0 +1,121 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseCursorPage;
+import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.repository.ReactiveExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of {@link ExpenseService} on R2DBC, used by the reactive profile.
+ * Results match the blocking service: the same page and cursor shapes, and date range totals that read whole
+ * months from the rollup and only the partial months at either end from the raw expenses.
+ * Summaries are not served from {@link ExpenseSummaryCache}, whose loaders block.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveExpenseService {
+    
+    @Autowired
+    private ReactiveExpenseRepository expenseRepository;
+    
+    public Mono<ExpenseResponse> getExpenseById(Long expenseId, Long userId) {
+        return expenseRepository.findByIdAndUserId(expenseId, userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Expense not found or access denied")));
+    }
+    
+    /**
+     * Offset page of a user's expenses; category and the date range are optional filters.
+     */
+    public Mono<Page<ExpenseResponse>> getExpenses(Long userId, String category, LocalDate startDate,
+                                                   LocalDate endDate, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return Mono.zip(
+                        expenseRepository.findPage(userId, category, startDate, endDate, pageable.getOffset(), size)
+                                .collectList(),
+                        expenseRepository.count(userId, category, startDate, endDate))
+                .<Page<ExpenseResponse>>map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+    
+    /**
+     * Keyset page of a user's expenses; one extra row is fetched to tell whether another page follows.
+     */
+    public Mono<ExpenseCursorPage> getExpensesAfter(Long userId, String category, LocalDate startDate,
+                                                    LocalDate endDate, ExpenseCursor after, int size) {
+        return expenseRepository.findSliceAfter(userId, category, startDate, endDate, after, size + 1)
+                .collectList()
+                .map(rows -> toCursorPage(rows, size));
+    }
+    
+    public Mono<BigDecimal> getTotalExpenses(Long userId) {
+        return expenseRepository.getTotalAmountByUserId(userId);
+    }
+    
+    public Mono<BigDecimal> getTotalExpensesByCategory(Long userId, String category) {
+        return expenseRepository.getTotalAmountByUserIdAndCategory(userId, category);
+    }
+    
+    public Mono<BigDecimal> getTotalExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Mono.just(BigDecimal.ZERO);
+        }
+        
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        YearMonth fullFrom = firstMonth;
+        YearMonth fullTo = lastMonth;
+        Mono<BigDecimal> head = Mono.just(BigDecimal.ZERO);
+        Mono<BigDecimal> tail = Mono.just(BigDecimal.ZERO);
+        Mono<BigDecimal> months = Mono.just(BigDecimal.ZERO);
+        
+        if (startDate.getDayOfMonth() != 1) {
+            LocalDate headEnd = endDate.isBefore(firstMonth.atEndOfMonth()) ? endDate : firstMonth.atEndOfMonth();
+            head = expenseRepository.getTotalExpensesByUserIdAndDateRange(userId, startDate, headEnd);
+            fullFrom = firstMonth.plusMonths(1);
+        }
+        
+        if (!endDate.equals(lastMonth.atEndOfMonth()) && !fullFrom.isAfter(lastMonth)) {
+            tail = expenseRepository.getTotalExpensesByUserIdAndDateRange(userId, lastMonth.atDay(1), endDate);
+            fullTo = lastMonth.minusMonths(1);
+        }
+        
+        if (!fullFrom.isAfter(fullTo)) {
+            months = expenseRepository.getTotalAmountByUserIdAndMonthRange(
+                    userId, ExpenseService.monthIndex(fullFrom), ExpenseService.monthIndex(fullTo));
+        }
+        
+        return Mono.zip(head, tail, months)
+                .map(totals -> totals.getT1().add(totals.getT2()).add(totals.getT3()));
+    }
+    
+    public Mono<Map<String, BigDecimal>> getCategoryTotalsByMonth(Long userId, int year, int month) {
+        return expenseRepository.getCategoryTotalsByUserIdAndMonth(userId, year, month);
+    }
+    
+    public Mono<List<String>> getCategories(Long userId) {
+        return expenseRepository.findDistinctCategoriesByUserId(userId).collectList();
+    }
+    
+    private ExpenseCursorPage toCursorPage(List<ExpenseResponse> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<ExpenseResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            ExpenseResponse last = content.get(content.size() - 1);
+            nextCursor = new ExpenseCursor(last.getDate(), last.getId()).toString();
+        }
+        return new ExpenseCursorPage(content, size, hasNext, nextCursor);
+    }
+}
\ No newline at end of file
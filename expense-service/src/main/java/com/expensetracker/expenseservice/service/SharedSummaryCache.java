@@ -0,0 +1,26 @@
+package com.expensetracker.expenseservice.service;
+
+import java.util.Collection;
+
+/**
+ * Shared tier of the expense summary cache, visible to every replica of the service.
+ * Values are immutable summary results; implementations apply their own expiry.
+ */
+public interface SharedSummaryCache {
+    
+    /**
+     * Get a cached value, or null if absent or expired
+     */
+    Object get(String key);
+    
+    void put(String key, Object value);
+    
+    void evict(Collection<String> keys);
+    
+    /**
+     * Get the cached keys starting with the given prefix.
+     * Prefixes are always per user; a networked implementation should keep a per-user key index
+     * rather than scan its whole keyspace.
+     */
+    Collection<String> keys(String prefix);
+}
\ No newline at end of file
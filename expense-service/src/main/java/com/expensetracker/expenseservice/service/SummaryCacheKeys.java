@@ -0,0 +1,57 @@
+package com.expensetracker.expenseservice.service;
+
+import java.time.LocalDate;
+
+/**
+ * Keys of the expense summary cache.
+ * Every key starts with the user's prefix so that all entries of a user, or all of their date-range totals,
+ * can be found by prefix; date-range keys end with the range so that the ranges touched by a change can be selected.
+ */
+final class SummaryCacheKeys {
+    
+    private static final String NAMESPACE = "expense-summary:";
+    private static final String RANGE = "range:";
+    
+    private SummaryCacheKeys() {}
+    
+    static String userPrefix(Long userId) {
+        return NAMESPACE + userId + ":";
+    }
+    
+    /**
+     * The user prefix a key starts with
+     */
+    static String userPrefixOf(String key) {
+        return key.substring(0, key.indexOf(':', NAMESPACE.length()) + 1);
+    }
+    
+    static String total(Long userId) {
+        return userPrefix(userId) + "total";
+    }
+    
+    static String categoryTotal(Long userId, String category) {
+        return userPrefix(userId) + "category:" + category;
+    }
+    
+    static String categories(Long userId) {
+        return userPrefix(userId) + "categories";
+    }
+    
+    static String rangePrefix(Long userId) {
+        return userPrefix(userId) + RANGE;
+    }
+    
+    static String rangeTotal(Long userId, LocalDate startDate, LocalDate endDate) {
+        return rangePrefix(userId) + startDate + ":" + endDate;
+    }
+    
+    /**
+     * Whether the date range of a range key overlaps [from, to]
+     */
+    static boolean rangeOverlaps(String rangeKey, LocalDate from, LocalDate to) {
+        String[] dates = rangeKey.substring(rangeKey.lastIndexOf(RANGE) + RANGE.length()).split(":");
+        LocalDate startDate = LocalDate.parse(dates[0]);
+        LocalDate endDate = LocalDate.parse(dates[1]);
+        return !startDate.isAfter(to) && !endDate.isBefore(from);
+    }
+}
\ No newline at end of file
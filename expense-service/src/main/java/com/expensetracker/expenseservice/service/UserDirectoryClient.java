@@ -0,0 +1,50 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.UserIdentity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads user ids and usernames from user-service's internal user directory, authenticated with the internal token.
+ */
+@Component
+public class UserDirectoryClient {
+    
+    private final RestTemplate restTemplate;
+    
+    private final String usersUrl;
+    
+    private final String internalApiToken;
+    
+    public UserDirectoryClient(RestTemplateBuilder restTemplateBuilder,
+                               @Value("${services.user-service.url}") String userServiceUrl,
+                               @Value("${internal.api-token}") String internalApiToken) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(2))
+                .setReadTimeout(Duration.ofSeconds(30))
+                .build();
+        this.usersUrl = userServiceUrl + "/internal/users?afterId={afterId}&limit={limit}";
+        this.internalApiToken = internalApiToken;
+    }
+    
+    /**
+     * Keyset-page through the users, ordered by id
+     */
+    public List<UserIdentity> getUsersAfter(long afterId, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpExpenseEventPublisher.INTERNAL_TOKEN_HEADER, internalApiToken);
+        
+        UserIdentity[] users = restTemplate.exchange(usersUrl, HttpMethod.GET, new HttpEntity<>(headers),
+                UserIdentity[].class, afterId, limit).getBody();
+        return users != null ? Arrays.asList(users) : List.of();
+    }
+}
\ No newline at end of file
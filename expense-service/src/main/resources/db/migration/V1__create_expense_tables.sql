@@ -0,0 +1,28 @@
+-- Raw expenses
+CREATE TABLE expenses (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(12,2) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    expense_date DATE NOT NULL,
+    description VARCHAR(500),
+    currency VARCHAR(3),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Pre-aggregated totals per user, month, category and currency
+CREATE TABLE expense_monthly_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(14,2) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    -- Upsert target and every rollup read, all of which filter on user_id first
+    CONSTRAINT uk_expense_monthly_rollup UNIQUE (user_id, year, month, category, currency)
+) ENGINE=InnoDB;
@@ -0,0 +1,8 @@
+-- findByUserIdOrderByDateDesc, findByUserIdAndDateBetweenOrderByDateDesc,
+-- getTotalExpensesByUserIdAndDateRange (covering: amount is in the index),
+-- getTotalExpensesByUserId, findDistinctUserIdsAfter
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date, amount);
+
+-- findByUserIdAndCategoryOrderByDateDesc, findByUserIdAndCategoryAndDateBetweenOrderByDateDesc,
+-- getTotalExpensesByUserIdAndCategory (covering), findDistinctCategoriesByUserId (covering)
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category, expense_date, amount);
@@ -0,0 +1,8 @@
+-- Keyset paging orders by (expense_date DESC, id DESC). InnoDB only appends the primary key
+-- after the last indexed column, so id is placed explicitly before amount: the listing and
+-- cursor queries walk the index backwards without a filesort, and the sums stay covering.
+DROP INDEX idx_expenses_user_date ON expenses;
+CREATE INDEX idx_expenses_user_date_id ON expenses (user_id, expense_date, id, amount);
+
+DROP INDEX idx_expenses_user_category_date ON expenses;
+CREATE INDEX idx_expenses_user_category_date_id ON expenses (user_id, category, expense_date, id, amount);
@@ -0,0 +1,9 @@
+-- Expense ids come from a pooled table generator instead of AUTO_INCREMENT so Hibernate can batch inserts.
+-- Hibernate reserves the 1000 ids below next_val on each fetch, so the seed starts one block past the current maximum.
+CREATE TABLE expense_id_sequence (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO expense_id_sequence (sequence_name, next_val)
+SELECT 'expenses', COALESCE(MAX(id), 0) + 1001 FROM expenses;
@@ -0,0 +1,23 @@
+-- Outbox of spending deltas published to budget-service by ExpenseEventRelay
+CREATE TABLE expense_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    expense_id BIGINT,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    expense_date DATE,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    amount_delta DECIMAL(14,2) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_expense_events_event_id UNIQUE (event_id)
+) ENGINE=InnoDB;
+
+-- lockDueBatch, deletePublishedBefore
+CREATE INDEX idx_expense_events_published_next_attempt ON expense_events (published_at, next_attempt_at);
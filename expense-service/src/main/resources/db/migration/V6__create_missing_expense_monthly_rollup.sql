@@ -0,0 +1,15 @@
+-- Schemas created by Hibernate before Flyway are baselined at V1 without running it, so they lack the rollup
+-- table V1 creates; add it there (ExpenseRollupService rebuilds it from the raw expenses on startup). No-op on
+-- schemas created by V1.
+CREATE TABLE IF NOT EXISTS expense_monthly_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(14,2) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_expense_monthly_rollup UNIQUE (user_id, year, month, category, currency)
+) ENGINE=InnoDB;
@@ -0,0 +1,11 @@
+-- Lease of each maintenance job that only one replica may run at a time
+CREATE TABLE job_leases (
+    job_name VARCHAR(50) NOT NULL,
+    run_key VARCHAR(50),
+    completed BIT NOT NULL,
+    lease_owner VARCHAR(100),
+    lease_until DATETIME(6),
+    updated_at DATETIME(6),
+    -- ensureLease (INSERT IGNORE), findByJobName, renew, complete, release
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB;
\ No newline at end of file
@@ -99,7 +99,7 @@ class ExpenseControllerIntegrationTest {
         
         mockMvc.perform(get("/api/expenses/{id}", savedExpense.getId()))
                 .andExpect(status().isOk())
-                .andExpected(jsonPath("$.id").value(savedExpense.getId()))
+                .andExpect(jsonPath("$.id").value(savedExpense.getId()))
                 .andExpect(jsonPath("$.amount").value(25.50))
                 .andExpect(jsonPath("$.category").value("Food"));
     }
@@ -127,6 +127,20 @@ class ExpenseControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements").value(5));
     }
     
+    @Test
+    @WithMockUser(username = "1")
+    void getExpenseSummary_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/expenses/summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/expenses/summary")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+    
     @Test
     void createExpense_ShouldReturnUnauthorized_WhenNoAuth() throws Exception {
         ExpenseRequest request = new ExpenseRequest();
@@ -140,4 +154,22 @@ class ExpenseControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
     }
+    
+    @Test
+    void getInternalBulkTotals_ShouldRequireInternalToken() throws Exception {
+        String keys = "{\"keys\":[{\"userId\":2,\"year\":2024,\"month\":1}]}";
+        
+        mockMvc.perform(post("/internal/expenses/summary/month/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(keys))
+                .andExpect(status().isUnauthorized());
+        
+        mockMvc.perform(post("/internal/expenses/summary/month/bulk")
+                .header("X-Internal-Token", "internalToken1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(keys))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(2))
+                .andExpect(jsonPath("$[0].totals").isEmpty());
+    }
 }
\ No newline at end of file
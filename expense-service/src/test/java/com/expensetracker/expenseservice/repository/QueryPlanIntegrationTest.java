@@ -0,0 +1,260 @@
+package com.expensetracker.expenseservice.repository;
+
+import com.expensetracker.expenseservice.entity.Expense;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against MySQL, calls every ExpenseRepository / ExpenseMonthlyRollupRepository query
+ * and asserts via EXPLAIN that the SQL Hibernate actually sent is served by an index. The statements are read
+ * back with their bound values from the server's general log, labelled per call by {@link LabellingStatementInspector}.
+ * Plain INSERT ... VALUES statements read no rows and are not explained.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanIntegrationTest {
+    
+    // Root can read mysql.general_log
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withCommand("--general-log=1", "--log-output=TABLE");
+    
+    private static final Pattern LABELLED = Pattern.compile(
+            Pattern.quote(LabellingStatementInspector.PREFIX) + "([^ ]+) \\*/ (.*)", Pattern.DOTALL);
+    
+    private static Connection connection;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                LabellingStatementInspector.class::getName);
+    }
+    
+    @BeforeAll
+    static void setUp() throws Exception {
+        Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .load()
+                .migrate();
+        
+        connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        connection.setAutoCommit(false);
+        
+        String[] categories = {"Food", "Travel", "Rent", "Utilities", "Health"};
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO expenses (user_id, amount, category, expense_date, currency) VALUES (?, ?, ?, ?, 'USD')")) {
+            for (int i = 0; i < 20000; i++) {
+                insert.setLong(1, i % 200);
+                insert.setBigDecimal(2, new BigDecimal("12.50"));
+                insert.setString(3, categories[i % categories.length]);
+                insert.setDate(4, Date.valueOf(LocalDate.of(2022, 1, 1).plusDays(i % 900)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO expense_monthly_rollup " +
+                    "(user_id, year, month, category, currency, total_amount, expense_count) " +
+                    "SELECT user_id, YEAR(expense_date), MONTH(expense_date), category, currency, SUM(amount), COUNT(*) " +
+                    "FROM expenses GROUP BY user_id, YEAR(expense_date), MONTH(expense_date), category, currency");
+            connection.commit();
+            statement.execute("ANALYZE TABLE expenses, expense_monthly_rollup");
+        }
+    }
+    
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+    
+    @Test
+    void repositoryQueries_ShouldNotScanFullTable() throws Exception {
+        Map<String, Set<String>> statements = captureRepositoryStatements();
+        List<String> fullScans = new ArrayList<>();
+        
+        for (Map.Entry<String, Set<String>> call : statements.entrySet()) {
+            for (String sql : call.getValue()) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (plan.next()) {
+                        if ("ALL".equals(plan.getString("type")) && !"INSERT".equals(plan.getString("select_type"))) {
+                            fullScans.add(call.getKey() + " on " + plan.getString("table"));
+                        }
+                    }
+                }
+            }
+        }
+        
+        assertTrue(fullScans.isEmpty(), "Full table scans: " + fullScans);
+    }
+    
+    @Test
+    void keysetQueries_ShouldNotFilesort() throws Exception {
+        Map<String, Set<String>> statements = captureRepositoryStatements();
+        List<String> filesorts = new ArrayList<>();
+        
+        for (Map.Entry<String, Set<String>> call : statements.entrySet()) {
+            if (!call.getKey().startsWith("findSlice")) {
+                continue;
+            }
+            for (String sql : call.getValue()) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (plan.next()) {
+                        String extra = plan.getString("Extra");
+                        if (extra != null && extra.contains("Using filesort")) {
+                            filesorts.add(call.getKey());
+                        }
+                    }
+                }
+            }
+        }
+        
+        assertTrue(filesorts.isEmpty(), "Keyset queries sorting in memory: " + filesorts);
+    }
+    
+    /**
+     * Call every repository query and return the statements each call sent, keyed by call
+     */
+    private Map<String, Set<String>> captureRepositoryStatements() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        LocalDate afterDate = LocalDate.of(2023, 6, 1);
+        PageRequest page = PageRequest.of(0, 10);
+        
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("findByUserIdOrderByDateDesc", () -> expenseRepository.findByUserIdOrderByDateDesc(7L, page));
+        calls.put("findByIdAndUserId", () -> expenseRepository.findByIdAndUserId(42L, 7L));
+        calls.put("findByUserIdAndCategoryOrderByDateDesc",
+                () -> expenseRepository.findByUserIdAndCategoryOrderByDateDesc(7L, "Food", page));
+        calls.put("findByUserIdAndDateBetweenOrderByDateDesc",
+                () -> expenseRepository.findByUserIdAndDateBetweenOrderByDateDesc(7L, from, to, page));
+        calls.put("findByUserIdAndCategoryAndDateBetweenOrderByDateDesc",
+                () -> expenseRepository.findByUserIdAndCategoryAndDateBetweenOrderByDateDesc(7L, "Food", from, to, page));
+        calls.put("findSliceByUserIdAfter",
+                () -> expenseRepository.findSliceByUserIdAfter(7L, afterDate, 9000L, page));
+        calls.put("findSliceByUserIdAndCategoryAfter",
+                () -> expenseRepository.findSliceByUserIdAndCategoryAfter(7L, "Food", afterDate, 9000L, page));
+        calls.put("findSliceByUserIdAndDateBetweenAfter",
+                () -> expenseRepository.findSliceByUserIdAndDateBetweenAfter(
+                        7L, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), afterDate, 9000L, page));
+        calls.put("findSliceByUserIdAndCategoryAndDateBetweenAfter",
+                () -> expenseRepository.findSliceByUserIdAndCategoryAndDateBetweenAfter(
+                        7L, "Food", LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), afterDate, 9000L, page));
+        calls.put("streamByUserId", () -> {
+            try (Stream<Expense> expenses = expenseRepository.streamByUserId(7L)) {
+                expenses.limit(1).count();
+            }
+        });
+        calls.put("getTotalExpensesByUserId", () -> expenseRepository.getTotalExpensesByUserId(7L));
+        calls.put("getTotalExpensesByUserIdAndCategory",
+                () -> expenseRepository.getTotalExpensesByUserIdAndCategory(7L, "Food"));
+        calls.put("getTotalExpensesByUserIdAndDateRange",
+                () -> expenseRepository.getTotalExpensesByUserIdAndDateRange(7L, from, to));
+        calls.put("getMonthlyRollupByUserId", () -> expenseRepository.getMonthlyRollupByUserId(7L));
+        calls.put("findDistinctUserIdsAfter",
+                () -> expenseRepository.findDistinctUserIdsAfter(50L, PageRequest.of(0, 20)));
+        calls.put("findDistinctCategoriesByUserId", () -> expenseRepository.findDistinctCategoriesByUserId(7L));
+        calls.put("rollup.findByUserId", () -> rollupRepository.findByUserId(7L));
+        calls.put("rollup.findOrphanedUserIdsAfter",
+                () -> rollupRepository.findOrphanedUserIdsAfter(50L, PageRequest.of(0, 20)));
+        calls.put("rollup.getTotalAmountByUserId", () -> rollupRepository.getTotalAmountByUserId(7L));
+        calls.put("rollup.getTotalAmountByUserIdAndCategory",
+                () -> rollupRepository.getTotalAmountByUserIdAndCategory(7L, "Food"));
+        calls.put("rollup.getTotalAmountByUserIdAndMonthRange",
+                () -> rollupRepository.getTotalAmountByUserIdAndMonthRange(7L, 2024 * 12 + 1, 2024 * 12 + 12));
+        calls.put("rollup.getCategoryTotalsByUserIdAndMonth",
+                () -> rollupRepository.getCategoryTotalsByUserIdAndMonth(7L, 2024, 1));
+        calls.put("rollup.getMonthlyCategoryTotalsByUserIdsAndMonths",
+                () -> rollupRepository.getMonthlyCategoryTotalsByUserIdsAndMonths(
+                        List.of(3L, 7L, 11L), List.of(2024 * 12 + 1, 2024 * 12 + 12)));
+        calls.put("rollup.lockMonthlyCategoryTotalsByUserIdsAndMonths",
+                () -> rollupRepository.lockMonthlyCategoryTotalsByUserIdsAndMonths(
+                        List.of(3L, 7L, 11L), List.of(2024 * 12 + 1, 2024 * 12 + 3)));
+        calls.put("rollup.findDistinctCategoriesByUserId", () -> rollupRepository.findDistinctCategoriesByUserId(7L));
+        // Writes last, on users no read above looks at; the test transaction rolls them back
+        calls.put("rollup.applyDelta",
+                () -> rollupRepository.applyDelta(13L, 2024, 1, "Food", "USD", new BigDecimal("1.00"), 1));
+        calls.put("rollup.deleteEmpty", () -> rollupRepository.deleteEmpty(13L, 2024, 1, "Food", "USD"));
+        calls.put("rollup.deleteAllByUserId", () -> rollupRepository.deleteAllByUserId(13L));
+        calls.put("rollup.rebuildForUser", () -> rollupRepository.rebuildForUser(13L));
+        calls.put("reassignUserId", () -> expenseRepository.reassignUserId(14L, 1014L));
+        calls.put("deleteByUserId", () -> expenseRepository.deleteByUserId(15L));
+        
+        for (Map.Entry<String, Runnable> call : calls.entrySet()) {
+            LabellingStatementInspector.run(call.getKey(), () -> {
+                call.getValue().run();
+                expenseRepository.flush();
+            });
+        }
+        
+        Set<String> sent = new LinkedHashSet<>();
+        Map<String, Set<String>> statements = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet log = statement.executeQuery("SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log " +
+                     "WHERE command_type IN ('Query', 'Execute') ORDER BY event_time")) {
+            while (log.next()) {
+                Matcher labelled = LABELLED.matcher(log.getString(1));
+                if (!labelled.matches()) {
+                    continue;
+                }
+                sent.add(labelled.group(1));
+                String sql = labelled.group(2).trim();
+                String lower = sql.toLowerCase();
+                if (lower.startsWith("insert") && !lower.contains(" select ")) {
+                    continue;
+                }
+                statements.computeIfAbsent(labelled.group(1), label -> new LinkedHashSet<>()).add(sql);
+            }
+        }
+        
+        Set<String> silent = new LinkedHashSet<>(calls.keySet());
+        silent.removeAll(sent);
+        assertTrue(silent.isEmpty(), "Calls that sent no statement: " + silent);
+        return statements;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.entity.ExpenseEvent;
+import com.expensetracker.expenseservice.entity.ExpenseEventType;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseEventServiceTest {
+    
+    @Mock
+    private ExpenseEventRepository eventRepository;
+    
+    @InjectMocks
+    private ExpenseEventService expenseEventService;
+    
+    @Test
+    void expenseUpdated_ShouldRecordNetDeltaWhenCellIsUnchanged() {
+        // Given
+        Expense expense = createExpense("Food", LocalDate.of(2024, 1, 5), "25.50");
+        ExpenseEvent reversal = expenseEventService.reversalOf(expense);
+        expense.setAmount(new BigDecimal("30.00"));
+        expense.setDate(LocalDate.of(2024, 1, 20));
+        
+        // When
+        expenseEventService.expenseUpdated(reversal, expense);
+        
+        // Then
+        ArgumentCaptor<ExpenseEvent> event = ArgumentCaptor.forClass(ExpenseEvent.class);
+        verify(eventRepository, times(1)).save(event.capture());
+        assertEquals(ExpenseEventType.UPDATED, event.getValue().getEventType());
+        assertEquals(new BigDecimal("4.50"), event.getValue().getAmountDelta());
+    }
+    
+    @Test
+    void expenseUpdated_ShouldRecordReversalAndNewDeltaWhenCategoryChanges() {
+        // Given
+        Expense expense = createExpense("Food", LocalDate.of(2024, 1, 5), "25.50");
+        ExpenseEvent reversal = expenseEventService.reversalOf(expense);
+        expense.setCategory("Travel");
+        
+        // When
+        expenseEventService.expenseUpdated(reversal, expense);
+        
+        // Then
+        ArgumentCaptor<ExpenseEvent> events = ArgumentCaptor.forClass(ExpenseEvent.class);
+        verify(eventRepository, times(2)).save(events.capture());
+        List<ExpenseEvent> saved = events.getAllValues();
+        assertEquals("Food", saved.get(0).getCategory());
+        assertEquals(new BigDecimal("-25.50"), saved.get(0).getAmountDelta());
+        assertEquals("Travel", saved.get(1).getCategory());
+        assertEquals(new BigDecimal("25.50"), saved.get(1).getAmountDelta());
+    }
+    
+    @Test
+    void expenseUpdated_ShouldRecordNothingWhenSpendingIsUnchanged() {
+        // Given
+        Expense expense = createExpense("Food", LocalDate.of(2024, 1, 5), "25.50");
+        ExpenseEvent reversal = expenseEventService.reversalOf(expense);
+        expense.setDescription("Renamed");
+        
+        // When
+        expenseEventService.expenseUpdated(reversal, expense);
+        
+        // Then
+        verify(eventRepository, never()).save(any(ExpenseEvent.class));
+    }
+    
+    private Expense createExpense(String category, LocalDate date, String amount) {
+        Expense expense = new Expense();
+        expense.setId(1L);
+        expense.setUserId(1L);
+        expense.setCategory(category);
+        expense.setDate(date);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCurrency("USD");
+        return expense;
+    }
+}
\ No newline at end of file
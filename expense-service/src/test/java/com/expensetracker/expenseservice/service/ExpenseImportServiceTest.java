@@ -0,0 +1,104 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseFileFormat;
+import com.expensetracker.expenseservice.dto.ExpenseImportReport;
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.repository.ExpenseMonthlyRollupRepository;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportServiceTest {
+    
+    @Mock
+    private ExpenseRepository expenseRepository;
+    
+    @Mock
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @Mock
+    private ExpenseEventService expenseEventService;
+    
+    @Mock
+    private ExpenseSummaryCache summaryCache;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @InjectMocks
+    private ExpenseImportService expenseImportService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(expenseImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(expenseImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(expenseImportService, "maxReportedErrors", 10);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void importExpenses_ShouldWriteValidRowsInBatchesAndReportRejectedRows() throws Exception {
+        // Given
+        String csv = "date,category,amount,currency,description\n" +
+                "2024-01-05,Food,10.00,USD,Lunch\n" +
+                "2024-01-06,Food,-3.00,USD,Refund\n" +
+                "2024-01-07,Travel,20.50,,\"Taxi, airport\"\n" +
+                "not-a-date,Food,5.00,USD,Snack\n" +
+                "2024-02-01,Food,7.25,EUR,Coffee\n";
+        
+        // When
+        ExpenseImportReport report = expenseImportService.importExpenses(1L, ExpenseFileFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        
+        // Then
+        assertTrue(report.isCompleted());
+        assertEquals(5, report.getRowsRead());
+        assertEquals(3, report.getRowsImported());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(2, report.getBatchesCommitted());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals(5, report.getErrors().get(1).getLine());
+        
+        ArgumentCaptor<List<Expense>> batches = ArgumentCaptor.forClass(List.class);
+        verify(expenseRepository, times(2)).saveAll(batches.capture());
+        List<Expense> firstBatch = batches.getAllValues().get(0);
+        assertEquals(2, firstBatch.size());
+        assertEquals("Taxi, airport", firstBatch.get(1).getDescription());
+        assertEquals("USD", firstBatch.get(1).getCurrency());
+        verify(rollupRepository).applyDelta(1L, 2024, 1, "Food", "USD", new BigDecimal("10.00"), 1L);
+        verify(rollupRepository).applyDelta(1L, 2024, 1, "Travel", "USD", new BigDecimal("20.50"), 1L);
+        verify(rollupRepository).applyDelta(1L, 2024, 2, "Food", "EUR", new BigDecimal("7.25"), 1L);
+        verify(expenseEventService, times(2)).expensesImported(anyCollection());
+    }
+    
+    @Test
+    void importExpenses_ShouldRejectCsvWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> expenseImportService.importExpenses(1L,
+                ExpenseFileFormat.CSV, new ByteArrayInputStream("date,amount\n".getBytes(StandardCharsets.UTF_8))));
+        verify(expenseRepository, never()).saveAll(anyList());
+    }
+}
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.expensetracker.expenseservice.service;
 
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseCursorPage;
+import com.expensetracker.expenseservice.dto.ExpenseFileFormat;
 import com.expensetracker.expenseservice.dto.ExpenseRequest;
 import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.dto.MonthlyCategoryTotalsResponse;
+import com.expensetracker.expenseservice.dto.MonthlyTotalsKey;
 import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import com.expensetracker.expenseservice.repository.ExpenseMonthlyRollupRepository;
 import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,15 +23,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +53,21 @@ class ExpenseServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
     
+    @Mock
+    private ExpenseMonthlyRollupRepository rollupRepository;
+    
+    @Mock
+    private ExpenseEventService expenseEventService;
+    
+    @Mock
+    private ExpenseEventRepository expenseEventRepository;
+    
+    @Mock
+    private ExpenseSummaryCache summaryCache;
+    
+    @Mock
+    private EntityManager entityManager;
+    
     @InjectMocks
     private ExpenseService expenseService;
     
@@ -40,8 +76,11 @@ class ExpenseServiceTest {
     private Long userId;
     
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
         userId = 1L;
+        lenient().when(summaryCache.get(anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(1)).get());
         
         expenseRequest = new ExpenseRequest();
         expenseRequest.setAmount(new BigDecimal("25.50"));
@@ -80,6 +119,11 @@ class ExpenseServiceTest {
         assertEquals(expense.getDescription(), result.getDescription());
         
         verify(expenseRepository, times(1)).save(any(Expense.class));
+        verify(rollupRepository, times(1)).applyDelta(
+                userId, expense.getDate().getYear(), expense.getDate().getMonthValue(),
+                "Food", "USD", new BigDecimal("25.50"), 1L);
+        verify(expenseEventService, times(1)).expenseCreated(expense);
+        verify(summaryCache, times(1)).evictExpenses(userId, "Food", expense.getDate(), expense.getDate(), true);
     }
     
     @Test
@@ -96,6 +140,7 @@ class ExpenseServiceTest {
         assertEquals(expense.getId(), result.getId());
         verify(expenseRepository, times(1)).findByIdAndUserId(1L, userId);
         verify(expenseRepository, times(1)).save(expense);
+        verify(summaryCache, times(2)).evictExpenses(userId, "Food", expense.getDate(), expense.getDate(), false);
     }
     
     @Test
@@ -156,6 +201,42 @@ class ExpenseServiceTest {
         verify(expenseRepository, times(1)).findByUserIdOrderByDateDesc(userId, pageable);
     }
     
+    @Test
+    void getAllExpensesAfter_ShouldReturnCursorOfLastExpenseWhenMoreFollow() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<Expense> slice = new SliceImpl<>(Arrays.asList(expense), pageable, true);
+        when(expenseRepository.findSliceByUserIdAfter(
+                userId, ExpenseCursor.START.getDate(), ExpenseCursor.START.getId(), pageable)).thenReturn(slice);
+        
+        // When
+        ExpenseCursorPage result = expenseService.getAllExpensesAfter(userId, ExpenseCursor.START, 1);
+        
+        // Then
+        assertTrue(result.isHasNext());
+        assertEquals(1, result.getContent().size());
+        assertEquals(expense.getDate() + "," + expense.getId(), result.getNextCursor());
+        verify(expenseRepository, never()).findByUserIdOrderByDateDesc(any(), any());
+    }
+    
+    @Test
+    void exportExpenses_ShouldWriteCsvRowsAndDetachEachExpense() throws Exception {
+        // Given
+        expense.setDescription("Dinner, with \"friends\"");
+        when(expenseRepository.streamByUserId(userId)).thenReturn(Stream.of(expense));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // When
+        long rows = expenseService.exportExpenses(userId, ExpenseFileFormat.CSV, output);
+        
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, rows);
+        assertEquals("id,date,category,amount,currency,description,created_at", lines[0]);
+        assertTrue(lines[1].startsWith("1," + expense.getDate() + ",Food,25.50,USD,\"Dinner, with \"\"friends\"\"\","));
+        verify(entityManager).detach(expense);
+    }
+    
     @Test
     void deleteExpense_ShouldDeleteExpense() {
         // Given
@@ -167,6 +248,10 @@ class ExpenseServiceTest {
         // Then
         verify(expenseRepository, times(1)).findByIdAndUserId(1L, userId);
         verify(expenseRepository, times(1)).delete(expense);
+        verify(rollupRepository, times(1)).applyDelta(
+                userId, expense.getDate().getYear(), expense.getDate().getMonthValue(),
+                "Food", "USD", new BigDecimal("-25.50"), -1L);
+        verify(expenseEventService, times(1)).expenseDeleted(expense);
     }
     
     @Test
@@ -187,26 +272,104 @@ class ExpenseServiceTest {
     void getTotalExpenses_ShouldReturnTotalAmount() {
         // Given
         BigDecimal expectedTotal = new BigDecimal("100.00");
-        when(expenseRepository.getTotalExpensesByUserId(userId)).thenReturn(expectedTotal);
+        when(rollupRepository.getTotalAmountByUserId(userId)).thenReturn(expectedTotal);
         
         // When
         BigDecimal result = expenseService.getTotalExpenses(userId);
         
         // Then
         assertEquals(expectedTotal, result);
-        verify(expenseRepository, times(1)).getTotalExpensesByUserId(userId);
+        verify(rollupRepository, times(1)).getTotalAmountByUserId(userId);
+        verify(expenseRepository, never()).getTotalExpensesByUserId(userId);
     }
     
     @Test
     void getTotalExpenses_ShouldReturnZero_WhenNoExpenses() {
         // Given
-        when(expenseRepository.getTotalExpensesByUserId(userId)).thenReturn(null);
+        when(rollupRepository.getTotalAmountByUserId(userId)).thenReturn(null);
         
         // When
         BigDecimal result = expenseService.getTotalExpenses(userId);
         
         // Then
         assertEquals(BigDecimal.ZERO, result);
-        verify(expenseRepository, times(1)).getTotalExpensesByUserId(userId);
+        verify(rollupRepository, times(1)).getTotalAmountByUserId(userId);
+    }
+    
+    @Test
+    void getMonthlyCategoryTotals_ShouldReturnEveryRequestedKey() {
+        // Given
+        MonthlyTotalsKey january = new MonthlyTotalsKey(userId, 2024, 1);
+        MonthlyTotalsKey december = new MonthlyTotalsKey(userId, 2024, 12);
+        MonthlyTotalsKey otherUser = new MonthlyTotalsKey(2L, 2024, 6);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { userId, 2024, 1, "Food", new BigDecimal("40.00") });
+        rows.add(new Object[] { userId, 2024, 1, "Travel", new BigDecimal("60.00") });
+        when(rollupRepository.getMonthlyCategoryTotalsByUserIdsAndMonths(
+                List.of(userId), new TreeSet<>(List.of(2024 * 12 + 1, 2024 * 12 + 12))))
+                .thenReturn(rows);
+        when(rollupRepository.getMonthlyCategoryTotalsByUserIdsAndMonths(List.of(2L), Set.of(2024 * 12 + 6)))
+                .thenReturn(new ArrayList<>());
+        
+        // When
+        List<MonthlyCategoryTotalsResponse> result =
+                expenseService.getMonthlyCategoryTotals(Arrays.asList(january, december, otherUser));
+        
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(new BigDecimal("40.00"), result.get(0).getTotals().get("Food"));
+        assertEquals(new BigDecimal("60.00"), result.get(0).getTotals().get("Travel"));
+        assertTrue(result.get(1).getTotals().isEmpty());
+        assertTrue(result.get(2).getTotals().isEmpty());
+        verify(rollupRepository, times(2)).getMonthlyCategoryTotalsByUserIdsAndMonths(anyCollection(), anyCollection());
+    }
+    
+    @Test
+    void getMonthlyCategoryTotalsThroughLatestEvent_ShouldLockUsersOfSameMonthsTogetherThenReadLastEventId() {
+        // Given
+        MonthlyTotalsKey january = new MonthlyTotalsKey(userId, 2024, 1);
+        MonthlyTotalsKey otherUser = new MonthlyTotalsKey(2L, 2024, 1);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 2L, 2024, 1, "Food", new BigDecimal("40.00") });
+        when(rollupRepository.lockMonthlyCategoryTotalsByUserIdsAndMonths(
+                List.of(userId, 2L), new TreeSet<>(List.of(2024 * 12 + 1))))
+                .thenReturn(rows);
+        when(expenseEventRepository.findMaxId()).thenReturn(1042L);
+        
+        // When
+        List<MonthlyCategoryTotalsResponse> result = expenseService.getMonthlyCategoryTotalsThroughLatestEvent(
+                Arrays.asList(january, otherUser));
+        
+        // Then
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).getTotals().isEmpty());
+        assertEquals(new BigDecimal("40.00"), result.get(1).getTotals().get("Food"));
+        assertTrue(result.stream().allMatch(response -> response.getThroughEventId() == 1042L));
+        InOrder inOrder = inOrder(rollupRepository, expenseEventRepository);
+        inOrder.verify(rollupRepository, times(1)).lockMonthlyCategoryTotalsByUserIdsAndMonths(
+                anyCollection(), anyCollection());
+        inOrder.verify(expenseEventRepository).findMaxId();
+    }
+    
+    @Test
+    void getTotalExpensesByDateRange_ShouldUseRollupForWholeMonths() {
+        // Given
+        when(expenseRepository.getTotalExpensesByUserIdAndDateRange(
+                userId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 31)))
+                .thenReturn(new BigDecimal("10.00"));
+        when(expenseRepository.getTotalExpensesByUserIdAndDateRange(
+                userId, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 10)))
+                .thenReturn(new BigDecimal("5.00"));
+        when(rollupRepository.getTotalAmountByUserIdAndMonthRange(userId, 2024 * 12 + 2, 2024 * 12 + 3))
+                .thenReturn(new BigDecimal("100.00"));
+        
+        // When
+        BigDecimal result = expenseService.getTotalExpensesByDateRange(
+                userId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10));
+        
+        // Then
+        assertEquals(new BigDecimal("115.00"), result);
+        verify(expenseRepository, times(2)).getTotalExpensesByUserIdAndDateRange(
+                eq(userId), any(LocalDate.class), any(LocalDate.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.expensetracker.expenseservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseSummaryCacheTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private ExpenseSummaryCache summaryCache;
+    
+    private InMemorySharedSummaryCache sharedCache;
+    
+    @BeforeEach
+    void setUp() {
+        sharedCache = new InMemorySharedSummaryCache();
+        ReflectionTestUtils.setField(sharedCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(sharedCache, "maxSize", 1000L);
+        ReflectionTestUtils.setField(sharedCache, "ttlSeconds", 300L);
+        sharedCache.createCache();
+        
+        SingleFlight singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", meterRegistry);
+        
+        summaryCache = new ExpenseSummaryCache();
+        ReflectionTestUtils.setField(summaryCache, "sharedCache", sharedCache);
+        ReflectionTestUtils.setField(summaryCache, "singleFlight", singleFlight);
+        ReflectionTestUtils.setField(summaryCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(summaryCache, "enabled", true);
+        ReflectionTestUtils.setField(summaryCache, "localMaxSize", 1000L);
+        ReflectionTestUtils.setField(summaryCache, "localTtlSeconds", 10L);
+        summaryCache.createCache();
+    }
+    
+    @Test
+    void get_ShouldLoadOnceAndServeRepeatsFromLocalTier() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<BigDecimal> loader = () -> {
+            loads.incrementAndGet();
+            return new BigDecimal("100.00");
+        };
+        
+        // When
+        summaryCache.get(SummaryCacheKeys.total(1L), loader);
+        BigDecimal total = summaryCache.get(SummaryCacheKeys.total(1L), loader);
+        
+        // Then
+        assertEquals(new BigDecimal("100.00"), total);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("expense.summary.cache.hit.ratio").tag("tier", "local").gauge().value());
+        assertNotNull(sharedCache.get(SummaryCacheKeys.total(1L)));
+    }
+    
+    @Test
+    void get_ShouldNotCacheLoadOverlappingEviction() {
+        // Given
+        String key = SummaryCacheKeys.total(1L);
+        Supplier<BigDecimal> staleLoader = () -> {
+            // A writer commits while the load is reading
+            summaryCache.evictExpenses(1L, "Food", LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15), false);
+            return new BigDecimal("100.00");
+        };
+        
+        // When
+        BigDecimal stale = summaryCache.get(key, staleLoader);
+        BigDecimal fresh = summaryCache.get(key, () -> new BigDecimal("175.00"));
+        
+        // Then
+        assertEquals(new BigDecimal("100.00"), stale);
+        assertEquals(new BigDecimal("175.00"), fresh);
+        assertEquals(new BigDecimal("175.00"), sharedCache.get(key));
+    }
+    
+    @Test
+    void get_ShouldNotJoinLoadStartedBeforeEviction() throws Exception {
+        // Given
+        String key = SummaryCacheKeys.total(1L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<BigDecimal> before = executor.submit(() -> summaryCache.get(key, () -> {
+            loading.countDown();
+            await(release);
+            return new BigDecimal("100.00");
+        }));
+        await(loading);
+        
+        // When
+        summaryCache.evictExpenses(1L, "Food", LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15), false);
+        BigDecimal after = summaryCache.get(key, () -> new BigDecimal("175.00"));
+        release.countDown();
+        
+        // Then
+        assertEquals(new BigDecimal("175.00"), after);
+        assertEquals(new BigDecimal("100.00"), before.get());
+        assertEquals(new BigDecimal("175.00"), sharedCache.get(key));
+        executor.shutdown();
+    }
+    
+    @Test
+    void evictExpenses_ShouldEvictOnlyAffectedSummaries() {
+        // Given
+        String januaryRange = SummaryCacheKeys.rangeTotal(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        String februaryRange = SummaryCacheKeys.rangeTotal(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        String foodTotal = SummaryCacheKeys.categoryTotal(1L, "Food");
+        String rentTotal = SummaryCacheKeys.categoryTotal(1L, "Rent");
+        String otherUserTotal = SummaryCacheKeys.total(2L);
+        for (String key : new String[] { januaryRange, februaryRange, foodTotal, rentTotal, otherUserTotal }) {
+            summaryCache.get(key, () -> BigDecimal.ONE);
+        }
+        
+        // When
+        summaryCache.evictExpenses(1L, "Food", LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15), false);
+        
+        // Then
+        assertNull(sharedCache.get(januaryRange));
+        assertNull(sharedCache.get(foodTotal));
+        assertNotNull(sharedCache.get(februaryRange));
+        assertNotNull(sharedCache.get(rentTotal));
+        assertNotNull(sharedCache.get(otherUserTotal));
+        
+        AtomicInteger reloads = new AtomicInteger();
+        summaryCache.get(januaryRange, () -> BigDecimal.valueOf(reloads.incrementAndGet()));
+        summaryCache.get(februaryRange, () -> BigDecimal.valueOf(reloads.incrementAndGet()));
+        assertEquals(1, reloads.get());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
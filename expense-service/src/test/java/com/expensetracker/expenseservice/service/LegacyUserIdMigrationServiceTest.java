@@ -0,0 +1,85 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.LegacyUserIdMigrationReport;
+import com.expensetracker.expenseservice.dto.UserIdentity;
+import com.expensetracker.expenseservice.repository.ExpenseEventRepository;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LegacyUserIdMigrationServiceTest {
+    
+    @Mock
+    private UserDirectoryClient userDirectoryClient;
+    
+    @Mock
+    private ExpenseRepository expenseRepository;
+    
+    @Mock
+    private ExpenseEventRepository expenseEventRepository;
+    
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private LegacyUserIdMigrationService legacyUserIdMigrationService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(legacyUserIdMigrationService, "usersPerPage", 1000);
+    }
+    
+    @Test
+    void migrateAll_ShouldMoveRowsFromHashedAndNumericUsernamesToUserIds() {
+        // Given
+        long aliceLegacyId = Math.abs((long) "alice".hashCode());
+        when(userDirectoryClient.getUsersAfter(0L, 1000)).thenReturn(List.of(
+                new UserIdentity(1L, "alice"), new UserIdentity(2L, "42")));
+        when(expenseRepository.reassignUserId(aliceLegacyId, 1L)).thenReturn(3);
+        when(expenseEventRepository.reassignUserId(aliceLegacyId, 1L)).thenReturn(1);
+        when(expenseRepository.reassignUserId(42L, 2L)).thenReturn(0);
+        when(expenseEventRepository.reassignUserId(42L, 2L)).thenReturn(0);
+        
+        // When
+        LegacyUserIdMigrationReport report = legacyUserIdMigrationService.migrateAll();
+        
+        // Then
+        assertEquals(2, report.getUsersScanned());
+        assertEquals(1, report.getUsersMigrated());
+        assertEquals(4, report.getRowsMoved());
+        verify(expenseRollupService).rebuildUser(aliceLegacyId);
+        verify(expenseRollupService).rebuildUser(1L);
+        verify(expenseRollupService, never()).rebuildUser(2L);
+    }
+    
+    @Test
+    void migrateAll_ShouldSkipUsernamesWhoseLegacyIdsCollide() {
+        // Given: "Aa" and "BB" share a String hash code
+        when(userDirectoryClient.getUsersAfter(0L, 1000)).thenReturn(List.of(
+                new UserIdentity(1L, "Aa"), new UserIdentity(2L, "BB")));
+        
+        // When
+        LegacyUserIdMigrationReport report = legacyUserIdMigrationService.migrateAll();
+        
+        // Then
+        assertEquals(2, report.getUsersSkipped());
+        assertEquals(0, report.getUsersMigrated());
+        verify(expenseRepository, never()).reassignUserId(anyLong(), anyLong());
+    }
+}
\ No newline at end of file
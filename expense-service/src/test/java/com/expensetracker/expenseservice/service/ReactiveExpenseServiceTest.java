@@ -0,0 +1,77 @@
+package com.expensetracker.expenseservice.service;
+
+import com.expensetracker.expenseservice.dto.ExpenseCursor;
+import com.expensetracker.expenseservice.dto.ExpenseCursorPage;
+import com.expensetracker.expenseservice.dto.ExpenseResponse;
+import com.expensetracker.expenseservice.repository.ReactiveExpenseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveExpenseServiceTest {
+    
+    @Mock
+    private ReactiveExpenseRepository expenseRepository;
+    
+    @InjectMocks
+    private ReactiveExpenseService expenseService;
+    
+    private final Long userId = 1L;
+    
+    @Test
+    void getExpensesAfter_ShouldFetchOneExtraRowToDetectNextPage() {
+        // Given
+        ExpenseCursor after = ExpenseCursor.START;
+        when(expenseRepository.findSliceAfter(userId, "Food", null, null, after, 3))
+                .thenReturn(Flux.just(
+                        createResponse(9L, LocalDate.of(2024, 1, 20)),
+                        createResponse(7L, LocalDate.of(2024, 1, 15)),
+                        createResponse(8L, LocalDate.of(2024, 1, 10))));
+        
+        // When
+        ExpenseCursorPage result = expenseService.getExpensesAfter(userId, "Food", null, null, after, 2).block();
+        
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals("2024-01-15,7", result.getNextCursor());
+    }
+    
+    @Test
+    void getTotalExpensesByDateRange_ShouldUseRollupForWholeMonths() {
+        // Given
+        when(expenseRepository.getTotalExpensesByUserIdAndDateRange(
+                userId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 31)))
+                .thenReturn(Mono.just(new BigDecimal("10.00")));
+        when(expenseRepository.getTotalExpensesByUserIdAndDateRange(
+                userId, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 10)))
+                .thenReturn(Mono.just(new BigDecimal("5.00")));
+        when(expenseRepository.getTotalAmountByUserIdAndMonthRange(userId, 2024 * 12 + 2, 2024 * 12 + 3))
+                .thenReturn(Mono.just(new BigDecimal("100.00")));
+        
+        // When
+        BigDecimal result = expenseService.getTotalExpensesByDateRange(
+                userId, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10)).block();
+        
+        // Then
+        assertEquals(new BigDecimal("115.00"), result);
+    }
+    
+    private ExpenseResponse createResponse(Long id, LocalDate date) {
+        return new ExpenseResponse(id, userId, new BigDecimal("12.50"), "Food", date, null, "USD",
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
\ No newline at end of file
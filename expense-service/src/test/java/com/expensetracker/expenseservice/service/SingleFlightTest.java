@@ -0,0 +1,105 @@
+package com.expensetracker.expenseservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private SingleFlight singleFlight;
+    
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", meterRegistry);
+    }
+    
+    @Test
+    void execute_ShouldShareOneLoadBetweenConcurrentCalls() throws Exception {
+        // Given
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BigDecimal> leader = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("range-total", "range:1", () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new BigDecimal("42.00");
+                }), callers);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        
+        // When
+        CompletableFuture<BigDecimal> follower = CompletableFuture.supplyAsync(() ->
+                singleFlight.execute("range-total", "range:1", () -> {
+                    loads.incrementAndGet();
+                    return BigDecimal.ZERO;
+                }), callers);
+        while (deduplicated() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        
+        // Then
+        assertEquals(new BigDecimal("42.00"), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(new BigDecimal("42.00"), follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("result", "executed").counter().count());
+        callers.shutdown();
+    }
+    
+    @Test
+    void execute_ShouldLoadAgainOnceThePreviousLoadCompleted() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        
+        // When
+        singleFlight.execute("range-total", "range:1", loads::incrementAndGet);
+        singleFlight.execute("range-total", "range:1", loads::incrementAndGet);
+        
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, deduplicated());
+    }
+    
+    @Test
+    void execute_ShouldPropagateLoaderFailure() {
+        // When / Then
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+                singleFlight.execute("range-total", "range:1", () -> {
+                    throw new RuntimeException("database unavailable");
+                }));
+        assertEquals("database unavailable", thrown.getMessage());
+        Integer reloaded = singleFlight.execute("range-total", "range:1", () -> 1);
+        assertEquals(1, reloaded);
+    }
+    
+    private double deduplicated() {
+        return meterRegistry.find("singleflight.calls").tag("result", "deduplicated").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -3,11 +3,14 @@ package com.expensetracker.userservice.controller;
 import com.expensetracker.userservice.dto.AuthResponse;
 import com.expensetracker.userservice.dto.LoginRequest;
 import com.expensetracker.userservice.dto.RegisterRequest;
+import com.expensetracker.userservice.exception.PasswordHashingRejectedException;
 import com.expensetracker.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +29,8 @@ public class AuthController {
         try {
             AuthResponse response = userService.registerUser(registerRequest);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -37,11 +42,19 @@ public class AuthController {
         try {
             AuthResponse response = userService.authenticateUser(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    private ResponseEntity<AuthResponse> hashingUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Health check endpoint")
     public ResponseEntity<String> healthCheck() {
@@ -0,0 +1,53 @@
+package com.expensetracker.userservice.controller;
+
+import com.expensetracker.userservice.dto.UserIdentity;
+import com.expensetracker.userservice.repository.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service-to-service endpoints. They are not routed by the API gateway and are authenticated
+ * with the shared internal token instead of a user JWT.
+ */
+@RestController
+@RequestMapping("/internal")
+@Tag(name = "Internal", description = "Service-to-service APIs")
+public class InternalUserController {
+    
+    private static final int MAX_LIMIT = 5000;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${internal.api-token}")
+    private String internalApiToken;
+    
+    @GetMapping("/users")
+    @Operation(summary = "List user identities", description = "Keyset-page through user ids and usernames, ordered by id")
+    public ResponseEntity<List<UserIdentity>> getUserIdentities(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), internalApiToken.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        List<UserIdentity> identities = userRepository.findIdentitiesAfter(
+                        afterId, PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)))).stream()
+                .map(row -> new UserIdentity((Long) row[0], (String) row[1]))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(identities);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.expensetracker.userservice.dto;
+
+public class UserIdentity {
+    
+    private Long id;
+    private String username;
+    
+    // Constructors
+    public UserIdentity() {}
+    
+    public UserIdentity(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+}
\ No newline at end of file
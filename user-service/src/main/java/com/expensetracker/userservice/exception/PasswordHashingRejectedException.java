@@ -0,0 +1,12 @@
+package com.expensetracker.userservice.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot take or finish a hash in time.
+ * Mapped to 503 so that clients back off instead of piling onto the request threads.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.expensetracker.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of authenticated users, consulted by the authentication provider before the database.
+ * A cached user whose password no longer matches is reloaded by the provider, and local updates evict
+ * their user; changes made on other replicas are picked up once the entry expires.
+ */
+@Component
+public class CaffeineUserCache implements UserCache {
+    
+    @Value("${auth.user-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private Cache<String, UserDetails> cache;
+    
+    @PostConstruct
+    void createCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+    
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+    
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+}
\ No newline at end of file
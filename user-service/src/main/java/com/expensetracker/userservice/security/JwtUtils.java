@@ -1,5 +1,6 @@
 package com.expensetracker.userservice.security;
 
+import com.expensetracker.userservice.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +16,9 @@ import java.util.function.Function;
 @Component
 public class JwtUtils {
     
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
@@ -29,6 +33,17 @@ public class JwtUtils {
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
     
+    /**
+     * Issue a token carrying the user's numeric id ("uid") and role ("role"),
+     * so downstream services resolve identity from the token alone.
+     */
+    public String generateTokenForUser(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        return createToken(claims, user.getUsername());
+    }
+    
     public String generateTokenFromUsername(String username) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, username);
@@ -7,17 +7,24 @@ import com.expensetracker.userservice.entity.User;
 import com.expensetracker.userservice.repository.UserRepository;
 import com.expensetracker.userservice.security.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+    
+    // Unique constraint names of the users table
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
     
     @Autowired
     private UserRepository userRepository;
@@ -31,29 +38,43 @@ public class UserService implements UserDetailsService {
     @Autowired
     private JwtUtils jwtUtils;
     
+    @Autowired
+    private UserCache userCache;
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
     
+    /**
+     * Store a password rehashed with the current BCrypt cost; called by the authentication provider on login
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User updatedUser = (User) user;
+        updatedUser.setPassword(newPassword);
+        return saveUser(updatedUser);
+    }
+    
+    /**
+     * Register a user with a single insert; the unique constraints on username and email
+     * reject duplicates, so no existence queries precede it.
+     */
     public AuthResponse registerUser(RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new RuntimeException("Username is already taken!");
-        }
-        
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
-        }
-        
         User user = new User(
                 registerRequest.getUsername(),
                 registerRequest.getEmail(),
                 passwordEncoder.encode(registerRequest.getPassword())
         );
         
-        User savedUser = userRepository.save(user);
-        String jwt = jwtUtils.generateTokenFromUsername(savedUser.getUsername());
+        User savedUser;
+        try {
+            savedUser = saveUser(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(duplicateUserMessage(e), e);
+        }
+        String jwt = jwtUtils.generateTokenForUser(savedUser);
         
         return new AuthResponse(
                 jwt,
@@ -72,11 +93,9 @@ public class UserService implements UserDetailsService {
                 )
         );
         
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String jwt = jwtUtils.generateJwtToken(userDetails);
-        
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // The principal is the User loaded (or taken from the user cache) by the authentication provider
+        User user = (User) authentication.getPrincipal();
+        String jwt = jwtUtils.generateTokenForUser(user);
         
         return new AuthResponse(
                 jwt,
@@ -86,4 +105,24 @@ public class UserService implements UserDetailsService {
                 user.getRole().name()
         );
     }
+    
+    /**
+     * Save a user and evict it from the user cache, so the next login sees the change
+     */
+    public User saveUser(User user) {
+        User savedUser = userRepository.saveAndFlush(user);
+        userCache.removeUserFromCache(savedUser.getUsername());
+        return savedUser;
+    }
+    
+    private String duplicateUserMessage(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.contains(USERNAME_CONSTRAINT)) {
+            return "Username is already taken!";
+        }
+        if (message != null && message.contains(EMAIL_CONSTRAINT)) {
+            return "Email is already in use!";
+        }
+        return "Username or email is already in use!";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- Users and their credentials
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL DEFAULT 'USER',
+    enabled BIT NOT NULL DEFAULT 1,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    -- findByUsername, existsByUsername
+    CONSTRAINT uk_users_username UNIQUE (username),
+    -- findByEmail, existsByEmail
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
@@ -0,0 +1,39 @@
+-- Schemas created by Hibernate before Flyway are baselined at V1 without running it, so their unique
+-- constraints on username and email carry generated names. Registration tells duplicate usernames from
+-- duplicate emails by constraint name, so give them the names V1 uses. No-op on schemas created by V1.
+
+-- username
+SET @named = (SELECT COUNT(*) FROM information_schema.statistics
+              WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'uk_users_username');
+SET @generated = (SELECT MIN(s.index_name) FROM information_schema.statistics s
+                  WHERE s.table_schema = DATABASE() AND s.table_name = 'users' AND s.non_unique = 0
+                    AND s.column_name = 'username' AND s.index_name <> 'PRIMARY'
+                    AND (SELECT COUNT(*) FROM information_schema.statistics c
+                         WHERE c.table_schema = s.table_schema AND c.table_name = s.table_name
+                           AND c.index_name = s.index_name) = 1);
+SET @ddl = CASE
+    WHEN @named > 0 THEN 'SELECT 1'
+    WHEN @generated IS NOT NULL THEN CONCAT('ALTER TABLE users RENAME INDEX `', @generated, '` TO uk_users_username')
+    ELSE 'ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username)'
+END;
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- email
+SET @named = (SELECT COUNT(*) FROM information_schema.statistics
+              WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'uk_users_email');
+SET @generated = (SELECT MIN(s.index_name) FROM information_schema.statistics s
+                  WHERE s.table_schema = DATABASE() AND s.table_name = 'users' AND s.non_unique = 0
+                    AND s.column_name = 'email' AND s.index_name <> 'PRIMARY'
+                    AND (SELECT COUNT(*) FROM information_schema.statistics c
+                         WHERE c.table_schema = s.table_schema AND c.table_name = s.table_name
+                           AND c.index_name = s.index_name) = 1);
+SET @ddl = CASE
+    WHEN @named > 0 THEN 'SELECT 1'
+    WHEN @generated IS NOT NULL THEN CONCAT('ALTER TABLE users RENAME INDEX `', @generated, '` TO uk_users_email')
+    ELSE 'ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email)'
+END;
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;